@@ -0,0 +1,101 @@
+package graph;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Многопоточная нагрузка: писатели добавляют и удаляют рёбра, читатели
+// проверяют рёбра и соседей. ConcurrentGraph сравнивается с SimpleGraph под
+// одним общим замком. Число потоков в группе меняется ключом -tg, например
+// -tg 4,4 для четырёх писателей и четырёх читателей
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentGraphBenchmark {
+    @Param({"10000"})
+    public int vertices;
+
+    private ConcurrentGraph<Integer> concurrent;
+    private SimpleGraph<Integer> locked;
+
+    @Setup(Level.Iteration)
+    public void buildGraphs() {
+        concurrent = new ConcurrentGraph<>(true, vertices);
+        locked = GraphGenerator.sparse(vertices, 8, true, 42);
+        for (int v = 0; v < vertices; v++) {
+            MyArrayList<Integer> adjacent = locked.getAdjacent(v);
+            for (int i = 0; i < adjacent.size(); i++) {
+                concurrent.addEdge(v, adjacent.get(i), locked.getEdgeWeight(v, adjacent.get(i)));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadRandom {
+        final SplittableRandom random = new SplittableRandom(Thread.currentThread().getId());
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(2)
+    public void concurrentWrite(ThreadRandom r) {
+        int from = r.random.nextInt(vertices);
+        int to = r.random.nextInt(vertices);
+        if (r.random.nextInt(4) == 0) {
+            concurrent.removeEdge(from, to);
+        } else {
+            concurrent.addEdge(from, to, 1);
+        }
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(2)
+    public boolean concurrentRead(ThreadRandom r) {
+        int v = r.random.nextInt(vertices);
+        return concurrent.containsEdge(v, r.random.nextInt(vertices)) || concurrent.getAdjacent(v).isEmpty();
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(2)
+    public void lockedWrite(ThreadRandom r) {
+        int from = r.random.nextInt(vertices);
+        int to = r.random.nextInt(vertices);
+        synchronized (locked) {
+            if (r.random.nextInt(4) == 0) {
+                locked.removeEdge(from, to);
+            } else {
+                locked.addEdge(from, to, 1);
+            }
+        }
+    }
+
+    @Benchmark
+    @Group("locked")
+    @GroupThreads(2)
+    public boolean lockedRead(ThreadRandom r) {
+        int v = r.random.nextInt(vertices);
+        int to = r.random.nextInt(vertices);
+        synchronized (locked) {
+            return locked.containsEdge(v, to) || locked.getAdjacent(v).isEmpty();
+        }
+    }
+}
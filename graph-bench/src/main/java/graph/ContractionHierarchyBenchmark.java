@@ -0,0 +1,83 @@
+package graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Запросы на решётке (модель дорожной сети): обычный Дейкстра, двунаправленный
+// поиск и иерархия сжатия; отдельно - время предобработки
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ContractionHierarchyBenchmark {
+    private static final int PAIRS = 64;
+
+    @Param({"10000", "40000"})
+    public int vertices;
+
+    private SimpleGraph<Integer> graph;
+    private ContractionHierarchy<Integer> hierarchy;
+    private int[] from;
+    private int[] to;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        graph = GraphGenerator.grid((int) Math.sqrt(vertices), 42);
+        hierarchy = ContractionHierarchy.build(graph);
+        Random random = new Random(7);
+        int n = graph.getVertexCount();
+        from = new int[PAIRS];
+        to = new int[PAIRS];
+        for (int i = 0; i < PAIRS; i++) {
+            from[i] = random.nextInt(n);
+            to[i] = random.nextInt(n);
+        }
+    }
+
+    private int pair() {
+        next = (next + 1) % PAIRS;
+        return next;
+    }
+
+    @Benchmark
+    public Integer dijkstra() {
+        int i = pair();
+        return graph.dijkstra(from[i]).get(to[i]);
+    }
+
+    @Benchmark
+    public PathResult<Integer> bidirectional() {
+        int i = pair();
+        return graph.shortestPath(from[i], to[i]);
+    }
+
+    @Benchmark
+    public PathResult<Integer> hierarchyPath() {
+        int i = pair();
+        return hierarchy.shortestPath(from[i], to[i]);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public ContractionHierarchy<Integer> preprocessing() {
+        return ContractionHierarchy.build(graph);
+    }
+}
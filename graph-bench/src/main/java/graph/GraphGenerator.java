@@ -0,0 +1,49 @@
+package graph;
+
+import java.util.Random;
+
+// Генератор случайных графов для бенчмарков; при одинаковом seed графы совпадают
+final class GraphGenerator {
+    private GraphGenerator() {
+    }
+
+    // Разреженный граф: у каждой вершины примерно degree исходящих рёбер
+    static SimpleGraph<Integer> sparse(int vertices, int degree, boolean directed, long seed) {
+        return random(vertices, (long) vertices * degree, directed, seed);
+    }
+
+    // Плотный граф: доля density от всех возможных рёбер
+    static SimpleGraph<Integer> dense(int vertices, double density, boolean directed, long seed) {
+        return random(vertices, (long) (density * vertices * (vertices - 1)), directed, seed);
+    }
+
+    // Решётка side x side со случайными весами - похожа на дорожную сеть
+    static SimpleGraph<Integer> grid(int side, long seed) {
+        Random random = new Random(seed);
+        SimpleGraph<Integer> graph = new SimpleGraph<>(false);
+        for (int y = 0; y < side; y++) {
+            for (int x = 0; x < side; x++) {
+                int v = y * side + x;
+                if (x + 1 < side) graph.addEdge(v, v + 1, 1 + random.nextInt(100));
+                if (y + 1 < side) graph.addEdge(v, v + side, 1 + random.nextInt(100));
+            }
+        }
+        return graph;
+    }
+
+    private static SimpleGraph<Integer> random(int vertices, long edges, boolean directed, long seed) {
+        Random random = new Random(seed);
+        SimpleGraph<Integer> graph = new SimpleGraph<>(directed);
+        for (int i = 0; i < vertices; i++) {
+            graph.addVertex(i);
+        }
+        for (long e = 0; e < edges; e++) {
+            int from = random.nextInt(vertices);
+            int to = random.nextInt(vertices);
+            if (from != to) {
+                graph.addEdge(from, to, 1 + random.nextInt(100));
+            }
+        }
+        return graph;
+    }
+}
@@ -0,0 +1,83 @@
+package graph;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Построение графа через addEdge и удаление вершин
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GraphMutationBenchmark {
+    @Param({"1000", "10000"})
+    public int vertices;
+
+    @Param({"4", "32"})
+    public int degree;
+
+    private int[] from;
+    private int[] to;
+
+    // Свежий граф для каждого вызова removeVertex; addEdge этой подготовки не ждёт
+    @State(Scope.Thread)
+    public static class Removal {
+        @Param({"1000", "10000"})
+        public int vertices;
+
+        @Param({"4", "32"})
+        public int degree;
+
+        SimpleGraph<Integer> graph;
+
+        @Setup(Level.Invocation)
+        public void buildGraph() {
+            graph = GraphGenerator.sparse(vertices, degree, true, 42);
+        }
+    }
+
+    @Setup
+    public void generateEdges() {
+        Random random = new Random(42);
+        int edges = vertices * degree;
+        from = new int[edges];
+        to = new int[edges];
+        for (int i = 0; i < edges; i++) {
+            from[i] = random.nextInt(vertices);
+            to[i] = random.nextInt(vertices);
+        }
+    }
+
+    @Benchmark
+    public SimpleGraph<Integer> addEdge() {
+        SimpleGraph<Integer> g = new SimpleGraph<>(true);
+        for (int i = 0; i < from.length; i++) {
+            g.addEdge(from[i], to[i], 1);
+        }
+        return g;
+    }
+
+    // Удаление сотни вершин из готового графа
+    @Benchmark
+    public SimpleGraph<Integer> removeVertex(Removal state) {
+        SimpleGraph<Integer> graph = state.graph;
+        for (int v = 0; v < 100; v++) {
+            graph.removeVertex(v);
+        }
+        return graph;
+    }
+}
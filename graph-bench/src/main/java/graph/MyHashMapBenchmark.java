@@ -0,0 +1,57 @@
+package graph;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Заполнение и чтение MyHashMap разного размера
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MyHashMapBenchmark {
+    @Param({"1000", "100000", "1000000"})
+    public int size;
+
+    private String[] keys;
+    private MyHashMap<String, Integer> filled;
+
+    @Setup
+    public void setUp() {
+        keys = new String[size];
+        filled = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            keys[i] = "v" + i;
+            filled.put(keys[i], i);
+        }
+    }
+
+    @Benchmark
+    public MyHashMap<String, Integer> put() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        for (int i = 0; i < size; i++) {
+            map.put(keys[i], i);
+        }
+        return map;
+    }
+
+    @Benchmark
+    public void get(Blackhole bh) {
+        for (int i = 0; i < size; i++) {
+            bh.consume(filled.get(keys[i]));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package graph;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// Кратчайшие пути на разреженных и плотных графах.
+// Флойд-Уоршелл кубический, поэтому размеры графов здесь умеренные
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShortestPathBenchmark {
+    @Param({"sparse", "dense"})
+    public String shape;
+
+    @Param({"200", "1000"})
+    public int vertices;
+
+    private SimpleGraph<Integer> graph;
+
+    @Setup
+    public void setUp() {
+        graph = shape.equals("sparse")
+            ? GraphGenerator.sparse(vertices, 8, true, 42)
+            : GraphGenerator.dense(vertices, 0.3, true, 42);
+    }
+
+    @Benchmark
+    public int[][] floydWarshall() {
+        return graph.floydWarshall();
+    }
+
+    @Benchmark
+    public MyHashMap<Integer, Integer> bellmanFord() {
+        return graph.bellmanFord(0);
+    }
+
+    @Benchmark
+    public MyHashMap<Integer, Integer> dijkstra() {
+        return graph.dijkstra(0);
+    }
+}
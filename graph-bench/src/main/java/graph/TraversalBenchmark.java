@@ -0,0 +1,87 @@
+package graph;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// DFS и BFS на разреженных и плотных графах: SimpleGraph, CSR и BFS с переключением направления,
+// а также 64 обхода подряд против одного многоисточникового BFS
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TraversalBenchmark {
+    @Param({"sparse", "dense"})
+    public String shape;
+
+    @Param({"2000", "20000"})
+    public int vertices;
+
+    private SimpleGraph<Integer> graph;
+    private CsrGraph<Integer> csr;
+    private DirectionOptimizingBfs directionOptimizing;
+    private MultiSourceBfs multiSource;
+    private int[] levels;
+    private int[] sources;
+
+    @Setup
+    public void setUp() {
+        graph = shape.equals("sparse")
+            ? GraphGenerator.sparse(vertices, 8, false, 42)
+            : GraphGenerator.sparse(vertices, vertices / 50, false, 42);
+        csr = graph.toCsr();
+        directionOptimizing = new DirectionOptimizingBfs(csr);
+        multiSource = new MultiSourceBfs(csr);
+        levels = new int[vertices];
+        sources = new int[64];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = (int) ((long) i * vertices / sources.length);
+        }
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> dfs() {
+        return graph.getDFSResult(0);
+    }
+
+    @Benchmark
+    public MyArrayList<Integer> bfs() {
+        return graph.getBFSResult(0);
+    }
+
+    @Benchmark
+    public int[] csrBfs() {
+        return csr.bfsById(0);
+    }
+
+    @Benchmark
+    public int directionOptimizingBfs() {
+        return directionOptimizing.run(0, levels, null);
+    }
+
+    @Benchmark
+    public int csrBfs64() {
+        int total = 0;
+        for (int source : sources) {
+            total += csr.bfsById(source).length;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public int[][] multiSourceBfs64() {
+        return multiSource.run(sources);
+    }
+}
@@ -0,0 +1,12 @@
+package graph;
+
+// Наблюдатель за долгим алгоритмом: получает отчёты о ходе вычисления и
+// может его прервать. Методы вызываются из потока, в котором идёт алгоритм.
+// Если isCancelled() вернул true или поток прерван, алгоритм бросает
+// java.util.concurrent.CancellationException
+public interface AlgorithmProgress {
+    // Выполнено done шагов из total; total = 0, если число шагов заранее неизвестно
+    void update(long done, long total);
+
+    boolean isCancelled();
+}
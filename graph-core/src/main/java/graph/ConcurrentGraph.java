@@ -0,0 +1,467 @@
+package graph;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+// Потокобезопасный граф для одновременной загрузки рёбер и выполнения запросов.
+//
+// Запись: изменения строки смежности вершины выполняются под замком её полосы
+// (STRIPES замков на все вершины), ребро между двумя вершинами берёт оба замка
+// в порядке номеров полос. Писатели, работающие с разными вершинами, не мешают
+// друг другу.
+//
+// Чтение: getAdjacent, containsEdge и getEdgeWeight не берут замков. Строка
+// смежности (ConcurrentRow) - таблица с открытой адресацией, в которой ключи
+// только добавляются в пустые ячейки и никогда не сдвигаются; при росте или
+// удалении писатель строит новую строку и публикует её через volatile-ссылку.
+// Читатель всегда видит целую строку - старую или новую.
+//
+// Алгоритмы (обходы, кратчайшие пути) работают на CSR-снимке, который
+// собирается из текущих строк без остановки писателей
+public class ConcurrentGraph<V> implements Graph<V> {
+    private static final int STRIPES = 64;
+
+    private final ConcurrentHashMap<V, Node<V>> vertices;
+    private final Object[] stripes = new Object[STRIPES];
+    private final AtomicInteger arcCount = new AtomicInteger();
+    private final boolean directed;
+
+    public ConcurrentGraph() {
+        this(false);
+    }
+
+    public ConcurrentGraph(boolean directed) {
+        this(directed, 16);
+    }
+
+    public ConcurrentGraph(boolean directed, int expectedVertices) {
+        this.directed = directed;
+        vertices = new ConcurrentHashMap<>(Math.max(expectedVertices, 16));
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Object();
+        }
+    }
+
+    // Вершина: исходящие дуги и, для ориентированного графа, входящие.
+    // removed выставляется под замком полосы, после этого дуги к вершине не добавляются
+    private static class Node<V> {
+        volatile ConcurrentRow<V> out = new ConcurrentRow<>(4);
+        volatile ConcurrentRow<V> in;
+        boolean removed;
+    }
+
+    private Object stripe(Object v) {
+        return stripes[stripeIndex(v)];
+    }
+
+    private int stripeIndex(Object v) {
+        int h = v.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (STRIPES - 1);
+    }
+
+    private Node<V> node(V v) {
+        Node<V> existing = vertices.get(v);
+        if (existing != null) return existing;
+        Node<V> created = new Node<>();
+        if (directed) created.in = new ConcurrentRow<>(4);
+        existing = vertices.putIfAbsent(v, created);
+        return existing != null ? existing : created;
+    }
+
+    public void addVertex(V v) {
+        if (v == null) throw new IllegalArgumentException("Вершина не может быть null");
+        node(v);
+    }
+
+    public void addEdge(V from, V to, int weight) {
+        if (from == null || to == null) throw new IllegalArgumentException("Вершины не могут быть null");
+        int a = stripeIndex(from);
+        int b = stripeIndex(to);
+        Object first = stripes[Math.min(a, b)];
+        Object second = stripes[Math.max(a, b)];
+        while (true) {
+            Node<V> fromNode = node(from);
+            Node<V> toNode = node(to);
+            Node<V> removing;
+            synchronized (first) {
+                synchronized (second) {
+                    removing = fromNode.removed ? fromNode : toNode.removed ? toNode : null;
+                    if (removing == null) {
+                        if (putArc(fromNode, to, weight)) arcCount.incrementAndGet();
+                        if (directed) {
+                            toNode.in = toNode.in.with(from, weight);
+                        } else if (putArc(toNode, from, weight)) {
+                            arcCount.incrementAndGet();
+                        }
+                        return;
+                    }
+                }
+            }
+            // Вершина удаляется: ждём, пока её уберут из таблицы, и создаём заново
+            awaitRemoval(removing == fromNode ? from : to, removing);
+        }
+    }
+
+    // Ожидание на замке полосы вершины; removeVertex будит ожидающих, когда
+    // убирает вершину из таблицы. Оба замка addEdge к этому моменту отпущены,
+    // иначе чистка дуг соседей не смогла бы их взять
+    private void awaitRemoval(V v, Node<V> node) {
+        Object lock = stripe(v);
+        boolean interrupted = false;
+        synchronized (lock) {
+            while (vertices.get(v) == node) {
+                try {
+                    lock.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    // Вызывается под замком полосы вершины node; true, если дуга новая
+    private boolean putArc(Node<V> node, V to, int weight) {
+        ConcurrentRow<V> row = node.out;
+        boolean added = !row.containsKey(to);
+        node.out = row.with(to, weight);
+        return added;
+    }
+
+    private boolean removeArc(Node<V> node, V to) {
+        ConcurrentRow<V> row = node.out;
+        if (!row.containsKey(to)) return false;
+        node.out = row.without(to);
+        return true;
+    }
+
+    // Вершина помечается удалённой под своим замком, затем дуги к ней
+    // убираются из строк соседей под их замками: O(степень вершины).
+    // Из таблицы вершина убирается последней, чтобы до конца чистки под тем же
+    // ключом не появилась новая вершина, чьи дуги чистка бы задела
+    public void removeVertex(V v) {
+        Node<V> node = v == null ? null : vertices.get(v);
+        if (node == null) return;
+        ConcurrentRow<V> out;
+        ConcurrentRow<V> in;
+        synchronized (stripe(v)) {
+            if (node.removed) return;
+            node.removed = true;
+            out = node.out;
+            in = directed ? node.in : out;
+            arcCount.addAndGet(-out.size());
+        }
+
+        for (int slot = 0; slot < in.capacity(); slot++) {
+            V from = in.keyAt(slot);
+            if (from == null || from.equals(v)) continue;
+            Node<V> fromNode = vertices.get(from);
+            if (fromNode == null) continue;
+            synchronized (stripe(from)) {
+                if (!fromNode.removed && removeArc(fromNode, v)) arcCount.decrementAndGet();
+            }
+        }
+        if (directed) {
+            for (int slot = 0; slot < out.capacity(); slot++) {
+                V to = out.keyAt(slot);
+                if (to == null || to.equals(v)) continue;
+                Node<V> toNode = vertices.get(to);
+                if (toNode == null) continue;
+                synchronized (stripe(to)) {
+                    if (!toNode.removed) toNode.in = toNode.in.without(v);
+                }
+            }
+        }
+        Object lock = stripe(v);
+        synchronized (lock) {
+            vertices.remove(v, node);
+            lock.notifyAll();
+        }
+    }
+
+    public void removeEdge(V from, V to) {
+        if (from == null || to == null) return;
+        Node<V> fromNode = vertices.get(from);
+        Node<V> toNode = vertices.get(to);
+        if (fromNode == null || toNode == null) return;
+        int a = stripeIndex(from);
+        int b = stripeIndex(to);
+        synchronized (stripes[Math.min(a, b)]) {
+            synchronized (stripes[Math.max(a, b)]) {
+                if (fromNode.removed || toNode.removed) return;
+                if (removeArc(fromNode, to)) arcCount.decrementAndGet();
+                if (directed) {
+                    toNode.in = toNode.in.without(from);
+                } else if (removeArc(toNode, from)) {
+                    arcCount.decrementAndGet();
+                }
+            }
+        }
+    }
+
+    public MyArrayList<V> getAdjacent(V v) {
+        Node<V> node = v == null ? null : vertices.get(v);
+        if (node == null) return new MyArrayList<>();
+        return node.out.keySet();
+    }
+
+    public MyArrayList<V> getVertices() {
+        MyArrayList<V> result = new MyArrayList<>(Math.max(vertices.size(), 1));
+        for (V v : vertices.keySet()) {
+            result.add(v);
+        }
+        return result;
+    }
+
+    public boolean containsVertex(V v) {
+        return v != null && vertices.containsKey(v);
+    }
+
+    public boolean containsEdge(V from, V to) {
+        Node<V> node = from == null ? null : vertices.get(from);
+        return node != null && node.out.containsKey(to);
+    }
+
+    public Integer getEdgeWeight(V from, V to) {
+        Node<V> node = from == null ? null : vertices.get(from);
+        if (node == null) return null;
+        ConcurrentRow<V> row = node.out;
+        int slot = row.find(to);
+        return slot < 0 ? null : row.valueAt(slot);
+    }
+
+    public void dfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        System.out.println("DFS обход из " + start + ": " + toCsr().getDFSResult(start));
+    }
+
+    public void bfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        System.out.println("BFS обход из " + start + ": " + toCsr().getBFSResult(start));
+    }
+
+    public MyHashMap<V, Integer> dijkstra(V start) {
+        return toCsr().dijkstra(start);
+    }
+
+    // Номера строк и столбцов - номера вершин в снимке toCsr()
+    public int[][] floydWarshall() {
+        return toCsr().floydWarshall();
+    }
+
+    public MyHashMap<V, Integer> bellmanFord(V start) {
+        return toCsr().bellmanFord(start);
+    }
+
+    // Поиск идёт прямо по строкам смежности, без CSR-снимка
+    public PathResult<V> shortestPath(V from, V to) {
+        return PointToPoint.bidirectional(arcs(), from, to, containsVertex(from), containsVertex(to));
+    }
+
+    public PathResult<V> shortestPath(V from, V to, ToIntFunction<V> heuristic) {
+        return PointToPoint.astar(arcs(), from, to, heuristic, containsVertex(from), containsVertex(to));
+    }
+
+    private PointToPoint.ArcSource<V> arcs() {
+        return new PointToPoint.ArcSource<V>() {
+            public void forEachOut(V v, ObjIntConsumer<V> action) {
+                Node<V> node = vertices.get(v);
+                if (node != null) forEachArc(node.out, action);
+            }
+
+            public void forEachIn(V v, ObjIntConsumer<V> action) {
+                Node<V> node = vertices.get(v);
+                if (node != null) forEachArc(directed ? node.in : node.out, action);
+            }
+        };
+    }
+
+    private static <V> void forEachArc(ConcurrentRow<V> row, ObjIntConsumer<V> action) {
+        for (int slot = 0; slot < row.capacity(); slot++) {
+            V to = row.keyAt(slot);
+            if (to != null) action.accept(to, row.valueAt(slot));
+        }
+    }
+
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    public int getEdgeCount() {
+        return directed ? arcCount.get() : arcCount.get() / 2;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    // CSR-снимок текущего состояния. Писатели не останавливаются, поэтому
+    // снимок согласован построчно: каждая строка берётся целиком на момент
+    // чтения, дуги к вершинам, добавленным после начала сборки, пропускаются
+    public CsrGraph<V> toCsr() {
+        MyArrayList<V> list = getVertices();
+        int n = list.size();
+        Object[] idToVertex = new Object[n];
+        MyObjIntMap<V> ids = new MyObjIntMap<>(n);
+        MyArrayList<ConcurrentRow<V>> rows = new MyArrayList<>(Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            V vertex = list.get(i);
+            idToVertex[i] = vertex;
+            ids.put(vertex, i);
+            Node<V> node = vertices.get(vertex);
+            rows.add(node != null ? node.out : new ConcurrentRow<>(1));
+        }
+
+        int[][] rowTargets = new int[n][];
+        int[][] rowWeights = new int[n][];
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            ConcurrentRow<V> row = rows.get(i);
+            int[] t = new int[row.capacity()];
+            int[] w = new int[row.capacity()];
+            int count = 0;
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                int id = to == null ? -1 : ids.get(to, -1);
+                if (id >= 0) {
+                    t[count] = id;
+                    w[count] = row.valueAt(slot);
+                    count++;
+                }
+            }
+            rowTargets[i] = t;
+            rowWeights[i] = w;
+            offsets[i + 1] = offsets[i] + count;
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            int count = offsets[i + 1] - offsets[i];
+            System.arraycopy(rowTargets[i], 0, targets, offsets[i], count);
+            System.arraycopy(rowWeights[i], 0, weights, offsets[i], count);
+        }
+        return new CsrGraph<>(idToVertex, ids, offsets, targets, weights, directed);
+    }
+}
+
+// Строка смежности для ConcurrentGraph: открытая адресация с линейным
+// пробированием. Изменяется только под замком владельца; новый ключ пишется
+// в пустую ячейку после веса, поэтому читатель без замка видит ключ только
+// вместе с его весом. Ключи внутри одной строки не перемещаются - рост и
+// удаление возвращают новую строку
+class ConcurrentRow<K> {
+    private final AtomicReferenceArray<K> keys;
+    private final AtomicIntegerArray values;
+    private volatile int size;
+
+    ConcurrentRow(int expectedSize) {
+        int capacity = 4;
+        while (capacity < expectedSize * 2) {
+            capacity <<= 1;
+        }
+        keys = new AtomicReferenceArray<>(capacity);
+        values = new AtomicIntegerArray(capacity);
+    }
+
+    private int slot(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (keys.length() - 1);
+    }
+
+    int find(Object key) {
+        if (key == null) return -1;
+        int mask = keys.length() - 1;
+        int slot = slot(key);
+        K current;
+        while ((current = keys.get(slot)) != null) {
+            if (current.equals(key)) return slot;
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    boolean containsKey(Object key) {
+        return find(key) >= 0;
+    }
+
+    // Строка с добавленным ключом: эта же, если хватило места, иначе увеличенная копия
+    ConcurrentRow<K> with(K key, int value) {
+        int existing = find(key);
+        if (existing >= 0) {
+            values.set(existing, value);
+            return this;
+        }
+        if ((size + 1) * 2 > keys.length()) {
+            ConcurrentRow<K> grown = new ConcurrentRow<>(size + 1);
+            grown.copyFrom(this, null);
+            grown.insert(key, value);
+            return grown;
+        }
+        insert(key, value);
+        return this;
+    }
+
+    // Копия строки без ключа; читатели старой строки её не замечают
+    ConcurrentRow<K> without(Object key) {
+        if (find(key) < 0) return this;
+        ConcurrentRow<K> copy = new ConcurrentRow<>(size - 1);
+        copy.copyFrom(this, key);
+        return copy;
+    }
+
+    private void insert(K key, int value) {
+        int mask = keys.length() - 1;
+        int slot = slot(key);
+        while (keys.get(slot) != null) {
+            slot = (slot + 1) & mask;
+        }
+        values.set(slot, value);
+        keys.set(slot, key);
+        size++;
+    }
+
+    private void copyFrom(ConcurrentRow<K> other, Object skip) {
+        for (int slot = 0; slot < other.capacity(); slot++) {
+            K key = other.keyAt(slot);
+            if (key != null && !key.equals(skip)) {
+                insert(key, other.valueAt(slot));
+            }
+        }
+    }
+
+    int capacity() {
+        return keys.length();
+    }
+
+    K keyAt(int slot) {
+        return keys.get(slot);
+    }
+
+    int valueAt(int slot) {
+        return values.get(slot);
+    }
+
+    int size() {
+        return size;
+    }
+
+    MyArrayList<K> keySet() {
+        MyArrayList<K> result = new MyArrayList<>(Math.max(size, 1));
+        for (int slot = 0; slot < keys.length(); slot++) {
+            K key = keys.get(slot);
+            if (key != null) result.add(key);
+        }
+        return result;
+    }
+}
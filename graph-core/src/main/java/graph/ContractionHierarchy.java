@@ -0,0 +1,679 @@
+package graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+// Иерархия сжатия (contraction hierarchy) для быстрых запросов "от A до B".
+//
+// Предобработка: вершины по очереди "сжимаются" в порядке важности (сначала
+// те, что добавляют меньше всего коротких путей-ярлыков). При сжатии v для
+// каждой пары соседей u -> v -> x проверяется, есть ли путь u -> x не дольше
+// без v (ограниченный поиск свидетеля); если нет, добавляется ярлык u -> x.
+// Номер вершины в порядке сжатия - её ранг.
+//
+// Запрос: двунаправленный Дейкстра, где прямой поиск идёт только по дугам к
+// вершинам большего ранга, а обратный - только от них. Оба поиска поднимаются
+// вверх по иерархии и обходят лишь небольшую её часть. Ярлыки в ответе
+// разворачиваются в исходные рёбра.
+//
+// Иерархия строится по снимку графа и после изменения графа не обновляется.
+// Отрицательные веса не поддерживаются
+public class ContractionHierarchy<V> {
+    public static final int INF = PathResult.INF;
+
+    private static final int MAGIC = 0x48435247;
+    private static final int VERSION = 1;
+    // Ограничение поиска свидетеля: если он не нашёлся быстро, ярлык добавляется.
+    // Лишний ярлык не портит ответы, только немного замедляет запросы
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+
+    private final Object[] vertices;
+    private final MyObjIntMap<V> ids;
+    private final int[] rank;
+    // Дуги вверх из вершины: u -> target, rank[u] < rank[target]
+    private final int[] upOffsets;
+    private final int[] upTargets;
+    private final int[] upWeights;
+    private final int[] upMiddles;
+    // Дуги сверху в вершину: source -> u, rank[source] > rank[u]
+    private final int[] downOffsets;
+    private final int[] downSources;
+    private final int[] downWeights;
+    private final int[] downMiddles;
+    private final int shortcuts;
+
+    private final ThreadLocal<Query> queries;
+
+    private ContractionHierarchy(Object[] vertices, MyObjIntMap<V> ids, int[] rank,
+                                 int[] upOffsets, int[] upTargets, int[] upWeights, int[] upMiddles,
+                                 int[] downOffsets, int[] downSources, int[] downWeights, int[] downMiddles) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.rank = rank;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddles = upMiddles;
+        this.downOffsets = downOffsets;
+        this.downSources = downSources;
+        this.downWeights = downWeights;
+        this.downMiddles = downMiddles;
+        int count = 0;
+        for (int a = 0; a < upMiddles.length; a++) {
+            if (upMiddles[a] >= 0) count++;
+        }
+        for (int a = 0; a < downMiddles.length; a++) {
+            if (downMiddles[a] >= 0) count++;
+        }
+        this.shortcuts = count;
+        int n = vertices.length;
+        this.queries = ThreadLocal.withInitial(() -> new Query(n));
+    }
+
+    public static <V> ContractionHierarchy<V> build(SimpleGraph<V> graph) {
+        return build(graph.toCsr());
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <V> ContractionHierarchy<V> build(CsrGraph<V> graph) {
+        int n = graph.getVertexCount();
+        Object[] vertices = new Object[n];
+        MyObjIntMap<V> ids = new MyObjIntMap<>(n);
+        for (int v = 0; v < n; v++) {
+            vertices[v] = graph.vertexOf(v);
+            ids.put(graph.vertexOf(v), v);
+        }
+        return new Builder(graph).build(vertices, ids);
+    }
+
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    // Число ярлыков, добавленных при предобработке
+    public int getShortcutCount() {
+        return shortcuts;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V vertexOf(int id) {
+        return (V) vertices[id];
+    }
+
+    public int distance(V from, V to) {
+        return shortestPath(from, to).getDistance();
+    }
+
+    public PathResult<V> shortestPath(V from, V to) {
+        int s = ids.get(from, -1);
+        int t = ids.get(to, -1);
+        if (s < 0 || t < 0) return new PathResult<>(INF, new MyArrayList<>(), 0);
+        return run(queries.get(), s, t);
+    }
+
+    // Состояние запроса; массивы не очищаются между запросами, вместо этого
+    // значение считается заданным, только если его метка равна номеру запроса.
+    // Класс статический: значение ThreadLocal не должно ссылаться на иерархию,
+    // иначе поток, выполнивший запрос, удерживает её навсегда
+    private static final class Query {
+        final int[] distF;
+        final int[] distB;
+        final int[] stampF;
+        final int[] stampB;
+        // Номер дуги, по которой вершина достигнута (в up- или down-массивах)
+        final int[] arcF;
+        final int[] arcB;
+        final int[] parentF;
+        final int[] parentB;
+        final MyLazyMinHeap forward = new MyLazyMinHeap();
+        final MyLazyMinHeap backward = new MyLazyMinHeap();
+        int stamp;
+
+        Query(int n) {
+            distF = new int[n];
+            distB = new int[n];
+            stampF = new int[n];
+            stampB = new int[n];
+            arcF = new int[n];
+            arcB = new int[n];
+            parentF = new int[n];
+            parentB = new int[n];
+        }
+
+        private void reachF(int v, int dist, int arc, int parent) {
+            stampF[v] = stamp;
+            distF[v] = dist;
+            arcF[v] = arc;
+            parentF[v] = parent;
+        }
+
+        private void reachB(int v, int dist, int arc, int parent) {
+            stampB[v] = stamp;
+            distB[v] = dist;
+            arcB[v] = arc;
+            parentB[v] = parent;
+        }
+    }
+
+    private PathResult<V> run(Query q, int s, int t) {
+        q.stamp++;
+        q.forward.clear();
+        q.backward.clear();
+        q.reachF(s, 0, -1, -1);
+        q.reachB(t, 0, -1, -1);
+        q.forward.add(s, 0);
+        q.backward.add(t, 0);
+
+        long best = s == t ? 0 : INF;
+        int meet = s == t ? s : -1;
+        int settled = 0;
+        while (true) {
+            boolean forwardDone = q.forward.isEmpty() || q.forward.peekKey() >= best;
+            boolean backwardDone = q.backward.isEmpty() || q.backward.peekKey() >= best;
+            if (forwardDone && backwardDone) break;
+            boolean fromStart = !forwardDone && (backwardDone || q.forward.peekKey() <= q.backward.peekKey());
+
+            if (fromStart) {
+                long key = q.forward.peekKey();
+                int u = q.forward.poll();
+                if (key > q.distF[u]) continue;
+                settled++;
+                for (int a = upOffsets[u]; a < upOffsets[u + 1]; a++) {
+                    int v = upTargets[a];
+                    long candidate = key + upWeights[a];
+                    if (q.stampF[v] != q.stamp || candidate < q.distF[v]) {
+                        q.reachF(v, (int) candidate, a, u);
+                        q.forward.add(v, candidate);
+                    }
+                    if (q.stampB[v] == q.stamp && (long) q.distF[v] + q.distB[v] < best) {
+                        best = (long) q.distF[v] + q.distB[v];
+                        meet = v;
+                    }
+                }
+            } else {
+                long key = q.backward.peekKey();
+                int u = q.backward.poll();
+                if (key > q.distB[u]) continue;
+                settled++;
+                for (int a = downOffsets[u]; a < downOffsets[u + 1]; a++) {
+                    int v = downSources[a];
+                    long candidate = key + downWeights[a];
+                    if (q.stampB[v] != q.stamp || candidate < q.distB[v]) {
+                        q.reachB(v, (int) candidate, a, u);
+                        q.backward.add(v, candidate);
+                    }
+                    if (q.stampF[v] == q.stamp && (long) q.distF[v] + q.distB[v] < best) {
+                        best = (long) q.distF[v] + q.distB[v];
+                        meet = v;
+                    }
+                }
+            }
+        }
+        if (meet < 0) return new PathResult<>(INF, new MyArrayList<>(), settled);
+        return new PathResult<>((int) best, path(q, s, meet), settled);
+    }
+
+    // Путь s -> meet по прямому дереву, meet -> t по обратному, ярлыки развёрнуты
+    private MyArrayList<V> path(Query q, int s, int meet) {
+        MyStack<Integer> head = new MyStack<>();
+        for (int v = meet; v != s; v = q.parentF[v]) {
+            head.push(q.arcF[v]);
+        }
+        IntList ids = new IntList();
+        ids.add(s);
+        int at = s;
+        while (!head.isEmpty()) {
+            int a = head.pop();
+            int to = upTargets[a];
+            unpack(at, to, upMiddles[a], ids);
+            at = to;
+        }
+        for (int v = meet; q.parentB[v] >= 0; v = q.parentB[v]) {
+            int to = q.parentB[v];
+            unpack(v, to, downMiddles[q.arcB[v]], ids);
+        }
+
+        MyArrayList<V> result = new MyArrayList<>(ids.size);
+        for (int i = 0; i < ids.size; i++) {
+            result.add(vertexOf(ids.data[i]));
+        }
+        return result;
+    }
+
+    // Добавляет в ids вершины дуги from -> to без from, раскрывая ярлыки.
+    // Ярлык через middle состоит из дуг from -> middle и middle -> to, а ранг
+    // middle меньше рангов концов: первая лежит в down-дугах middle, вторая - в up-дугах
+    private void unpack(int from, int to, int middle, IntList ids) {
+        IntList stack = new IntList();
+        stack.add(from);
+        stack.add(to);
+        stack.add(middle);
+        while (stack.size > 0) {
+            int mid = stack.data[--stack.size];
+            int b = stack.data[--stack.size];
+            int a = stack.data[--stack.size];
+            if (mid < 0) {
+                ids.add(b);
+                continue;
+            }
+            // Сначала обрабатывается левая половина, поэтому она кладётся последней
+            stack.add(mid);
+            stack.add(b);
+            stack.add(upMiddle(mid, b));
+            stack.add(a);
+            stack.add(mid);
+            stack.add(downMiddle(mid, a));
+        }
+    }
+
+    private int upMiddle(int u, int target) {
+        for (int a = upOffsets[u]; a < upOffsets[u + 1]; a++) {
+            if (upTargets[a] == target) return upMiddles[a];
+        }
+        throw new IllegalStateException("Иерархия повреждена: нет дуги " + u + " -> " + target);
+    }
+
+    private int downMiddle(int u, int source) {
+        for (int a = downOffsets[u]; a < downOffsets[u + 1]; a++) {
+            if (downSources[a] == source) return downMiddles[a];
+        }
+        throw new IllegalStateException("Иерархия повреждена: нет дуги " + source + " -> " + u);
+    }
+
+    // Запись в файл: MAGIC, VERSION, n, имена вершин (String.valueOf), ранги,
+    // up- и down-дуги, в конце CRC32 всего предыдущего
+    public void write(Path file) throws IOException {
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), 1 << 16), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            int n = vertices.length;
+            out.writeInt(n);
+            for (int v = 0; v < n; v++) {
+                out.writeUTF(String.valueOf(vertices[v]));
+            }
+            writeInts(out, rank);
+            writeInts(out, upOffsets);
+            writeInts(out, upTargets);
+            writeInts(out, upWeights);
+            writeInts(out, upMiddles);
+            writeInts(out, downOffsets);
+            writeInts(out, downSources);
+            writeInts(out, downWeights);
+            writeInts(out, downMiddles);
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+    }
+
+    // Вершины прочитанной иерархии - строки, как они были записаны. Длины из
+    // файла сверяются с его размером до выделения массивов, а после проверки
+    // CRC - между собой, так что повреждённый файл даёт IllegalArgumentException
+    public static ContractionHierarchy<String> read(Path file) throws IOException {
+        // Имя занимает не меньше 2 байт, элемент массива - 4
+        long fileSize = Files.size(file);
+        CRC32 crc = new CRC32();
+        try (DataInputStream in = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file), 1 << 16), crc))) {
+            if (in.readInt() != MAGIC) {
+                throw new IllegalArgumentException("Файл " + file + " не является иерархией сжатия");
+            }
+            int version = in.readInt();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("Неподдерживаемая версия иерархии: " + version);
+            }
+            int n = in.readInt();
+            if (n < 0 || n > fileSize / 2) {
+                throw new IllegalArgumentException("Иерархия повреждена: неверное число вершин " + n);
+            }
+            Object[] vertices = new Object[n];
+            MyObjIntMap<String> ids = new MyObjIntMap<>(n);
+            for (int v = 0; v < n; v++) {
+                String name = in.readUTF();
+                if (ids.containsKey(name)) {
+                    throw new IllegalArgumentException("Иерархия повреждена: повторяется вершина " + name);
+                }
+                vertices[v] = name;
+                ids.put(name, v);
+            }
+            int[] rank = readInts(in, fileSize);
+            int[] upOffsets = readInts(in, fileSize);
+            int[] upTargets = readInts(in, fileSize);
+            int[] upWeights = readInts(in, fileSize);
+            int[] upMiddles = readInts(in, fileSize);
+            int[] downOffsets = readInts(in, fileSize);
+            int[] downSources = readInts(in, fileSize);
+            int[] downWeights = readInts(in, fileSize);
+            int[] downMiddles = readInts(in, fileSize);
+            long expected = crc.getValue();
+            if (in.readLong() != expected) {
+                throw new IllegalArgumentException("Иерархия повреждена: не совпадает контрольная сумма");
+            }
+            checkRanks(rank, n);
+            checkArcs(upOffsets, upTargets, upWeights, upMiddles, rank);
+            checkArcs(downOffsets, downSources, downWeights, downMiddles, rank);
+            return new ContractionHierarchy<>(vertices, ids, rank, upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles);
+        }
+    }
+
+    private static void writeInts(DataOutputStream out, int[] array) throws IOException {
+        out.writeInt(array.length);
+        for (int i = 0; i < array.length; i++) {
+            out.writeInt(array[i]);
+        }
+    }
+
+    private static int[] readInts(DataInputStream in, long fileSize) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > fileSize / 4) {
+            throw new IllegalArgumentException("Иерархия повреждена: неверная длина массива " + length);
+        }
+        int[] array = new int[length];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = in.readInt();
+        }
+        return array;
+    }
+
+    // Ранги - перестановка чисел 0..n-1
+    private static void checkRanks(int[] rank, int n) {
+        if (rank.length != n) {
+            throw new IllegalArgumentException("Иерархия повреждена: неверное число рангов");
+        }
+        boolean[] seen = new boolean[n];
+        for (int v = 0; v < n; v++) {
+            int r = rank[v];
+            if (r < 0 || r >= n || seen[r]) {
+                throw new IllegalArgumentException("Иерархия повреждена: неверный ранг вершины " + v);
+            }
+            seen[r] = true;
+        }
+    }
+
+    // Дуги в формате CSR: n + 1 неубывающих смещений от 0 до числа дуг. Дуга
+    // ведёт к вершине большего ранга, вес не отрицателен, середина ярлыка (-1 -
+    // исходное ребро) ниже рангом обоих концов - иначе запрос или разворачивание
+    // ярлыков могли бы не завершиться
+    private static void checkArcs(int[] offsets, int[] ends, int[] weights, int[] middles, int[] rank) {
+        int n = rank.length;
+        int m = ends.length;
+        if (offsets.length != n + 1 || weights.length != m || middles.length != m
+                || offsets[0] != 0 || offsets[n] != m) {
+            throw new IllegalArgumentException("Иерархия повреждена: несогласованные размеры массивов дуг");
+        }
+        for (int v = 0; v < n; v++) {
+            if (offsets[v] > offsets[v + 1]) {
+                throw new IllegalArgumentException("Иерархия повреждена: неверные смещения дуг вершины " + v);
+            }
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                int end = ends[a];
+                int middle = middles[a];
+                if (end < 0 || end >= n || rank[end] <= rank[v] || weights[a] < 0
+                        || middle < -1 || middle >= n || (middle >= 0 && rank[middle] >= rank[v])) {
+                    throw new IllegalArgumentException("Иерархия повреждена: неверная дуга " + a);
+                }
+            }
+        }
+    }
+
+    // Растущий массив int
+    private static final class IntList {
+        int[] data = new int[16];
+        int size;
+
+        void add(int value) {
+            if (size == data.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(data, 0, grown, 0, size);
+                data = grown;
+            }
+            data[size++] = value;
+        }
+    }
+
+    // Список дуг вершины в изменяемом при сжатии графе; на каждого соседа
+    // хранится одна дуга - с наименьшим весом
+    private static final class ArcList {
+        int[] to = new int[4];
+        int[] weight = new int[4];
+        int[] middle = new int[4];
+        int size;
+
+        // true, если дуга добавлена или её вес уменьшился
+        boolean put(int target, int w, int mid) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == target) {
+                    if (w >= weight[i]) return false;
+                    weight[i] = w;
+                    middle[i] = mid;
+                    return true;
+                }
+            }
+            if (size == to.length) {
+                to = grow(to);
+                weight = grow(weight);
+                middle = grow(middle);
+            }
+            to[size] = target;
+            weight[size] = w;
+            middle[size] = mid;
+            size++;
+            return true;
+        }
+
+        void remove(int target) {
+            for (int i = 0; i < size; i++) {
+                if (to[i] == target) {
+                    size--;
+                    to[i] = to[size];
+                    weight[i] = weight[size];
+                    middle[i] = middle[size];
+                    return;
+                }
+            }
+        }
+
+        private static int[] grow(int[] array) {
+            int[] grown = new int[array.length * 2];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+    }
+
+    // Предобработка: порядок сжатия с ленивым пересчётом приоритетов
+    private static final class Builder {
+        final int n;
+        final ArcList[] out;
+        final ArcList[] in;
+        final boolean[] contracted;
+        final int[] contractedNeighbors;
+        // Глубина вершины в иерархии: на 1 больше, чем у сжатых соседей
+        final int[] level;
+        final int[] rank;
+
+        // Поиск свидетеля
+        final int[] witnessDist;
+        final int[] witnessStamp;
+        final MyLazyMinHeap witnessHeap = new MyLazyMinHeap();
+        int stamp;
+
+        // Итоговые дуги: вверх из вершины и сверху в вершину
+        final ArcList[] up;
+        final ArcList[] down;
+
+        Builder(CsrGraph<?> graph) {
+            n = graph.getVertexCount();
+            out = new ArcList[n];
+            in = new ArcList[n];
+            up = new ArcList[n];
+            down = new ArcList[n];
+            for (int v = 0; v < n; v++) {
+                out[v] = new ArcList();
+                in[v] = new ArcList();
+            }
+            for (int u = 0; u < n; u++) {
+                for (int a = graph.firstArc(u); a < graph.endArc(u); a++) {
+                    int v = graph.target(a);
+                    int w = graph.weight(a);
+                    if (w < 0) {
+                        throw new IllegalArgumentException("Иерархия сжатия не поддерживает отрицательные веса");
+                    }
+                    if (u == v) continue;
+                    out[u].put(v, w, -1);
+                    in[v].put(u, w, -1);
+                }
+            }
+            contracted = new boolean[n];
+            contractedNeighbors = new int[n];
+            level = new int[n];
+            rank = new int[n];
+            witnessDist = new int[n];
+            witnessStamp = new int[n];
+        }
+
+        <V> ContractionHierarchy<V> build(Object[] vertices, MyObjIntMap<V> ids) {
+            MyLazyMinHeap order = new MyLazyMinHeap();
+            for (int v = 0; v < n; v++) {
+                order.add(v, priority(v));
+            }
+            int next = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+                if (contracted[v]) continue;
+                // Приоритет мог устареть: если после пересчёта вершина уже не
+                // лучшая, она возвращается в очередь
+                long current = priority(v);
+                if (!order.isEmpty() && current > order.peekKey()) {
+                    order.add(v, current);
+                    continue;
+                }
+                rank[v] = next++;
+                contract(v);
+            }
+            return assemble(vertices, ids);
+        }
+
+        // Разность рёбер (ярлыки минус удаляемые дуги), число уже сжатых соседей
+        // и глубина - чтобы сжатие шло равномерно по графу и иерархия была низкой
+        long priority(int v) {
+            int added = addShortcuts(v, false);
+            return 2L * (added - out[v].size - in[v].size) + contractedNeighbors[v] + level[v];
+        }
+
+        void contract(int v) {
+            addShortcuts(v, true);
+            ArcList vOut = out[v];
+            ArcList vIn = in[v];
+            up[v] = vOut;
+            down[v] = vIn;
+            contracted[v] = true;
+            for (int i = 0; i < vOut.size; i++) {
+                int x = vOut.to[i];
+                in[x].remove(v);
+                contractedNeighbors[x]++;
+                level[x] = Math.max(level[x], level[v] + 1);
+            }
+            for (int i = 0; i < vIn.size; i++) {
+                int u = vIn.to[i];
+                out[u].remove(v);
+                contractedNeighbors[u]++;
+                level[u] = Math.max(level[u], level[v] + 1);
+            }
+            out[v] = null;
+            in[v] = null;
+        }
+
+        // Число ярлыков, нужных при сжатии v; при apply они добавляются в граф
+        int addShortcuts(int v, boolean apply) {
+            ArcList vIn = in[v];
+            ArcList vOut = out[v];
+            if (vIn.size == 0 || vOut.size == 0) return 0;
+            int maxOut = 0;
+            for (int j = 0; j < vOut.size; j++) {
+                maxOut = Math.max(maxOut, vOut.weight[j]);
+            }
+
+            int added = 0;
+            for (int i = 0; i < vIn.size; i++) {
+                int u = vIn.to[i];
+                int uv = vIn.weight[i];
+                witnessSearch(u, v, (long) uv + maxOut);
+                for (int j = 0; j < vOut.size; j++) {
+                    int x = vOut.to[j];
+                    if (x == u) continue;
+                    long viaV = (long) uv + vOut.weight[j];
+                    if (witnessStamp[x] == stamp && witnessDist[x] <= viaV) continue;
+                    if (viaV >= INF) continue;
+                    added++;
+                    if (apply && out[u].put(x, (int) viaV, v)) {
+                        in[x].put(u, (int) viaV, v);
+                    }
+                }
+            }
+            return added;
+        }
+
+        // Дейкстра из source по несжатым вершинам в обход skip, до расстояния limit
+        void witnessSearch(int source, int skip, long limit) {
+            stamp++;
+            witnessHeap.clear();
+            witnessStamp[source] = stamp;
+            witnessDist[source] = 0;
+            witnessHeap.add(source, 0);
+            int settled = 0;
+            while (!witnessHeap.isEmpty() && settled < WITNESS_SETTLE_LIMIT) {
+                long key = witnessHeap.peekKey();
+                if (key > limit) break;
+                int u = witnessHeap.poll();
+                if (key > witnessDist[u]) continue;
+                settled++;
+                ArcList arcs = out[u];
+                for (int i = 0; i < arcs.size; i++) {
+                    int x = arcs.to[i];
+                    if (x == skip) continue;
+                    long candidate = key + arcs.weight[i];
+                    if (witnessStamp[x] != stamp || candidate < witnessDist[x]) {
+                        witnessStamp[x] = stamp;
+                        witnessDist[x] = (int) Math.min(candidate, INF);
+                        witnessHeap.add(x, candidate);
+                    }
+                }
+            }
+        }
+
+        <V> ContractionHierarchy<V> assemble(Object[] vertices, MyObjIntMap<V> ids) {
+            int[] upOffsets = new int[n + 1];
+            int[] downOffsets = new int[n + 1];
+            for (int v = 0; v < n; v++) {
+                upOffsets[v + 1] = upOffsets[v] + up[v].size;
+                downOffsets[v + 1] = downOffsets[v] + down[v].size;
+            }
+            int[] upTargets = new int[upOffsets[n]];
+            int[] upWeights = new int[upOffsets[n]];
+            int[] upMiddles = new int[upOffsets[n]];
+            int[] downSources = new int[downOffsets[n]];
+            int[] downWeights = new int[downOffsets[n]];
+            int[] downMiddles = new int[downOffsets[n]];
+            for (int v = 0; v < n; v++) {
+                System.arraycopy(up[v].to, 0, upTargets, upOffsets[v], up[v].size);
+                System.arraycopy(up[v].weight, 0, upWeights, upOffsets[v], up[v].size);
+                System.arraycopy(up[v].middle, 0, upMiddles, upOffsets[v], up[v].size);
+                System.arraycopy(down[v].to, 0, downSources, downOffsets[v], down[v].size);
+                System.arraycopy(down[v].weight, 0, downWeights, downOffsets[v], down[v].size);
+                System.arraycopy(down[v].middle, 0, downMiddles, downOffsets[v], down[v].size);
+            }
+            return new ContractionHierarchy<>(vertices, ids, rank, upOffsets, upTargets, upWeights, upMiddles,
+                downOffsets, downSources, downWeights, downMiddles);
+        }
+    }
+}
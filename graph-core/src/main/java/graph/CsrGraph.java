@@ -0,0 +1,206 @@
+package graph;
+
+// Неизменяемый снимок графа в формате CSR (compressed sparse row).
+// Вершины пронумерованы 0..n-1, рёбра вершины u лежат в targets/weights
+// на отрезке [offsets[u], offsets[u + 1]), поэтому обход соседей - это
+// последовательное чтение массивов без хеширования
+public class CsrGraph<V> implements IdGraph {
+    public static final int INF = Integer.MAX_VALUE;
+
+    private final Object[] vertices;
+    private final MyObjIntMap<V> ids;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final boolean directed;
+
+    CsrGraph(Object[] vertices, MyObjIntMap<V> ids, int[] offsets, int[] targets, int[] weights, boolean directed) {
+        this.vertices = vertices;
+        this.ids = ids;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.directed = directed;
+    }
+
+    public int getVertexCount() {
+        return vertices.length;
+    }
+
+    // Количество хранимых дуг (в неориентированном графе каждое ребро хранится дважды)
+    public int getArcCount() {
+        return targets.length;
+    }
+
+    public int getEdgeCount() {
+        return directed ? targets.length : targets.length / 2;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int idOf(V v) {
+        return ids.get(v, -1);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V vertexOf(int id) {
+        return (V) vertices[id];
+    }
+
+    public int degree(int u) {
+        return offsets[u + 1] - offsets[u];
+    }
+
+    public int firstArc(int u) {
+        return offsets[u];
+    }
+
+    public int endArc(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int arc) {
+        return targets[arc];
+    }
+
+    public int weight(int arc) {
+        return weights[arc];
+    }
+
+    // Граф с развёрнутыми дугами (входящие рёбра становятся исходящими).
+    // Неориентированный граф симметричен, поэтому возвращается он сам
+    public CsrGraph<V> transpose() {
+        if (!directed) return this;
+
+        int n = vertices.length;
+        int[] inOffsets = new int[n + 1];
+        for (int a = 0; a < targets.length; a++) {
+            inOffsets[targets[a] + 1]++;
+        }
+        for (int i = 0; i < n; i++) {
+            inOffsets[i + 1] += inOffsets[i];
+        }
+
+        int[] fill = new int[n];
+        int[] inTargets = new int[targets.length];
+        int[] inWeights = new int[targets.length];
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                int pos = inOffsets[v] + fill[v]++;
+                inTargets[pos] = u;
+                inWeights[pos] = weights[a];
+            }
+        }
+        return new CsrGraph<>(vertices, ids, inOffsets, inTargets, inWeights, true);
+    }
+
+    // Вес ребра или null, если ребра нет
+    public Integer getEdgeWeight(V from, V to) {
+        int u = idOf(from);
+        int v = idOf(to);
+        if (u < 0 || v < 0) return null;
+        for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+            if (targets[a] == v) return weights[a];
+        }
+        return null;
+    }
+
+    // Порядок обхода в глубину в виде номеров вершин
+    public int[] dfsById(int start) {
+        return IdGraphAlgorithms.dfs(this, start);
+    }
+
+    // Порядок обхода в ширину в виде номеров вершин
+    public int[] bfsById(int start) {
+        return IdGraphAlgorithms.bfs(this, start);
+    }
+
+    public MyArrayList<V> getDFSResult(V start) {
+        int s = idOf(start);
+        return s < 0 ? new MyArrayList<>() : toVertices(dfsById(s));
+    }
+
+    public MyArrayList<V> getBFSResult(V start) {
+        int s = idOf(start);
+        return s < 0 ? new MyArrayList<>() : toVertices(bfsById(s));
+    }
+
+    // Дейкстра по номерам вершин; prev может быть null
+    public int[] dijkstraById(int source, int[] prev) {
+        return IdGraphAlgorithms.dijkstra(this, source, prev);
+    }
+
+    public MyHashMap<V, Integer> dijkstra(V start) {
+        int s = idOf(start);
+        if (s < 0) return toDistanceMap(IdGraphAlgorithms.filledWithInf(vertices.length));
+        return toDistanceMap(dijkstraById(s, null));
+    }
+
+    // Беллман-Форд по номерам вершин
+    public int[] bellmanFordById(int source) {
+        int[] dist = new int[vertices.length];
+        bellmanFordById(source, dist, null);
+        return dist;
+    }
+
+    // Беллман-Форд с очередью (SPFA); возвращает вершину на достижимом
+    // цикле отрицательного веса или -1, если такого цикла нет
+    public int bellmanFordById(int source, int[] dist, int[] prev) {
+        return IdGraphAlgorithms.bellmanFord(this, source, dist, prev);
+    }
+
+    // Вершины отрицательного цикла в порядке обхода рёбер, начиная с witness
+    public int[] negativeCycleById(int[] prev, int witness) {
+        return IdGraphAlgorithms.negativeCycle(prev, witness);
+    }
+
+    public MyHashMap<V, Integer> bellmanFord(V start) {
+        int s = idOf(start);
+        if (s < 0) return toDistanceMap(IdGraphAlgorithms.filledWithInf(vertices.length));
+        return toDistanceMap(bellmanFordById(s));
+    }
+
+    // Флойд-Уоршелл; если next != null, туда записывается матрица следующих вершин
+    public int[][] floydWarshall(int[][] next) {
+        return IdGraphAlgorithms.floydWarshall(this, next);
+    }
+
+    public int[][] floydWarshall() {
+        return floydWarshall(null);
+    }
+
+    // Алгоритм Джонсона: та же матрица, что у floydWarshall(), но быстрее на
+    // разреженных графах. Бросает IllegalStateException при отрицательном цикле
+    public int[][] johnson(AlgorithmProgress progress) {
+        return Johnson.matrix(this, progress);
+    }
+
+    public int[][] johnson() {
+        return johnson(null);
+    }
+
+    // Строки матрицы Джонсона по мере готовности, без хранения всей матрицы;
+    // столбцы - номера вершин
+    public void johnson(DistanceRowConsumer<V> rows, AlgorithmProgress progress) {
+        Johnson.run(this, (row, source) -> rows.accept(vertexOf(source), row), progress);
+    }
+
+    private MyHashMap<V, Integer> toDistanceMap(int[] dist) {
+        MyHashMap<V, Integer> result = new MyHashMap<>(dist.length);
+        for (int i = 0; i < dist.length; i++) {
+            result.put(vertexOf(i), dist[i]);
+        }
+        return result;
+    }
+
+    private MyArrayList<V> toVertices(int[] order) {
+        MyArrayList<V> result = new MyArrayList<>(Math.max(order.length, 1));
+        for (int i = 0; i < order.length; i++) {
+            result.add(vertexOf(order[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,48 @@
+package graph;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+
+// Явное освобождение прямых буферов. Без него память вне кучи возвращается
+// только после сборки мусора маленьких объектов ByteBuffer, а при большой куче
+// сборки редки и allocateDirect падает с "Direct buffer memory" раньше.
+// Используется Unsafe.invokeCleaner из модуля jdk.unsupported. Зависимость от
+// внутреннего API остаётся; класс ищется во время выполнения лишь затем, чтобы
+// javac не выдавал на него неподавляемых предупреждений. Если модуля нет,
+// буфер остаётся на попечение сборщика мусора
+final class DirectMemory {
+    private static final MethodHandle CLEANER = findCleaner();
+
+    private DirectMemory() {
+    }
+
+    private static MethodHandle findCleaner() {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+            MethodHandle cleaner = MethodHandles.lookup().findVirtual(unsafeClass, "invokeCleaner",
+                MethodType.methodType(void.class, ByteBuffer.class));
+            return cleaner.bindTo(field.get(null));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    // После вызова к буферу и его копиям (duplicate, slice) обращаться нельзя
+    static void free(ByteBuffer buffer) {
+        if (CLEANER == null || buffer == null || !buffer.isDirect()) return;
+        try {
+            CLEANER.invokeExact(buffer);
+        } catch (IllegalArgumentException e) {
+            // Копия (duplicate, slice) своей памяти не владеет: её освободит владелец
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Не удалось освободить память буфера", e);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package graph;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// BFS по номерам вершин CSR-снимка с переключением направления (Beamer et al.).
+// Пока фронт маленький, соседи фронта просматриваются сверху вниз (top-down);
+// когда рёбра фронта начинают составлять заметную долю непосещённых рёбер,
+// наоборот, каждая непосещённая вершина ищет родителя во фронте (bottom-up).
+// Посещённые вершины хранятся в битовом множестве, результат - массивы
+// уровней и родителей. Большие фронты обрабатываются параллельно
+public class DirectionOptimizingBfs {
+    // Пороги переключения из статьи Beamer et al.
+    private static final int ALPHA = 14;
+    private static final int BETA = 24;
+    // Размер куска фронта для одной параллельной задачи
+    private static final int CHUNK = 1024;
+
+    private final CsrGraph<?> out;
+    private final CsrGraph<?> in;
+    private final boolean parallel;
+
+    public DirectionOptimizingBfs(CsrGraph<?> graph) {
+        this(graph, true);
+    }
+
+    public DirectionOptimizingBfs(CsrGraph<?> graph, boolean parallel) {
+        this.out = graph;
+        this.in = graph.transpose();
+        this.parallel = parallel;
+    }
+
+    // Заполняет levels (расстояние в рёбрах) и parents; -1 - вершина недостижима.
+    // parents может быть null. Возвращает число достигнутых вершин
+    public int run(int source, int[] levels, int[] parents) {
+        int n = out.getVertexCount();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("Вершины " + source + " нет в графе");
+        }
+        for (int i = 0; i < n; i++) {
+            levels[i] = -1;
+            if (parents != null) parents[i] = -1;
+        }
+
+        AtomicLongArray visited = new AtomicLongArray(words(n));
+        setBit(visited, source);
+        levels[source] = 0;
+        if (parents != null) parents[source] = source;
+
+        int[] frontier = new int[] {source};
+        int frontierSize = 1;
+        long[] frontierBits = null;
+        boolean bottomUp = false;
+
+        long frontierEdges = out.degree(source);
+        long unexploredEdges = out.getArcCount() - frontierEdges;
+        int reached = 1;
+        int level = 0;
+
+        while (frontierSize > 0) {
+            if (!bottomUp && frontierEdges > unexploredEdges / ALPHA) {
+                frontierBits = toBits(frontier, frontierSize, n);
+                bottomUp = true;
+            } else if (bottomUp && frontierSize < n / BETA) {
+                frontier = fromBits(frontierBits, frontierSize);
+                bottomUp = false;
+            }
+
+            if (bottomUp) {
+                long[] next = new long[words(n)];
+                frontierSize = bottomUpStep(frontierBits, next, visited, levels, parents, level + 1);
+                frontierBits = next;
+                frontierEdges = 0;
+                for (int w = 0; w < next.length; w++) {
+                    long word = next[w];
+                    while (word != 0) {
+                        frontierEdges += out.degree((w << 6) + Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                frontier = topDownStep(frontier, frontierSize, visited, levels, parents, level + 1);
+                frontierSize = frontier.length;
+                frontierEdges = 0;
+                for (int i = 0; i < frontierSize; i++) {
+                    frontierEdges += out.degree(frontier[i]);
+                }
+            }
+            unexploredEdges -= frontierEdges;
+            reached += frontierSize;
+            level++;
+        }
+        return reached;
+    }
+
+    // Сверху вниз: каждая вершина фронта захватывает непосещённых соседей
+    private int[] topDownStep(int[] frontier, int size, AtomicLongArray visited,
+                              int[] levels, int[] parents, int level) {
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        int[][] parts = new int[chunks][];
+        IntStream tasks = IntStream.range(0, chunks);
+        if (parallel && chunks > 1) tasks = tasks.parallel();
+        tasks.forEach(c -> {
+            int from = c * CHUNK;
+            int to = Math.min(size, from + CHUNK);
+            int[] local = new int[16];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int a = out.firstArc(u); a < out.endArc(u); a++) {
+                    int v = out.target(a);
+                    if (!getBit(visited, v) && claimBit(visited, v)) {
+                        levels[v] = level;
+                        if (parents != null) parents[v] = u;
+                        if (count == local.length) {
+                            int[] grown = new int[count * 2];
+                            System.arraycopy(local, 0, grown, 0, count);
+                            local = grown;
+                        }
+                        local[count++] = v;
+                    }
+                }
+            }
+            int[] part = new int[count];
+            System.arraycopy(local, 0, part, 0, count);
+            parts[c] = part;
+        });
+
+        int total = 0;
+        for (int c = 0; c < chunks; c++) {
+            total += parts[c].length;
+        }
+        int[] next = new int[total];
+        int pos = 0;
+        for (int c = 0; c < chunks; c++) {
+            System.arraycopy(parts[c], 0, next, pos, parts[c].length);
+            pos += parts[c].length;
+        }
+        return next;
+    }
+
+    // Снизу вверх: каждая непосещённая вершина ищет соседа во фронте.
+    // Задачи делят вершины по целым 64-битным словам, поэтому пишут в разные слова
+    private int bottomUpStep(long[] frontier, long[] next, AtomicLongArray visited,
+                             int[] levels, int[] parents, int level) {
+        int n = out.getVertexCount();
+        int wordsPerChunk = CHUNK / 64;
+        int chunks = (next.length + wordsPerChunk - 1) / wordsPerChunk;
+        IntStream tasks = IntStream.range(0, chunks);
+        if (parallel && chunks > 1) tasks = tasks.parallel();
+        return tasks.map(c -> {
+            int found = 0;
+            int wEnd = Math.min(next.length, (c + 1) * wordsPerChunk);
+            for (int w = c * wordsPerChunk; w < wEnd; w++) {
+                long seen = visited.get(w);
+                long added = 0;
+                int vEnd = Math.min(n, (w + 1) << 6);
+                for (int v = w << 6; v < vEnd; v++) {
+                    if ((seen & (1L << v)) != 0) continue;
+                    for (int a = in.firstArc(v); a < in.endArc(v); a++) {
+                        int u = in.target(a);
+                        if ((frontier[u >>> 6] & (1L << u)) != 0) {
+                            levels[v] = level;
+                            if (parents != null) parents[v] = u;
+                            added |= 1L << v;
+                            found++;
+                            break;
+                        }
+                    }
+                }
+                if (added != 0) {
+                    visited.set(w, seen | added);
+                    next[w] = added;
+                }
+            }
+            return found;
+        }).sum();
+    }
+
+    private static int words(int n) {
+        return (n + 63) >>> 6;
+    }
+
+    private static boolean getBit(AtomicLongArray bits, int i) {
+        return (bits.get(i >>> 6) & (1L << i)) != 0;
+    }
+
+    private static void setBit(AtomicLongArray bits, int i) {
+        bits.set(i >>> 6, bits.get(i >>> 6) | (1L << i));
+    }
+
+    // Атомарно ставит бит; true, если бит поставил именно этот поток
+    private static boolean claimBit(AtomicLongArray bits, int i) {
+        int w = i >>> 6;
+        long mask = 1L << i;
+        while (true) {
+            long word = bits.get(w);
+            if ((word & mask) != 0) return false;
+            if (bits.compareAndSet(w, word, word | mask)) return true;
+        }
+    }
+
+    private static long[] toBits(int[] frontier, int size, int n) {
+        long[] bits = new long[words(n)];
+        for (int i = 0; i < size; i++) {
+            bits[frontier[i] >>> 6] |= 1L << frontier[i];
+        }
+        return bits;
+    }
+
+    private static int[] fromBits(long[] bits, int size) {
+        int[] frontier = new int[size];
+        int pos = 0;
+        for (int w = 0; w < bits.length; w++) {
+            long word = bits[w];
+            while (word != 0) {
+                frontier[pos++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return frontier;
+    }
+}
@@ -0,0 +1,9 @@
+package graph;
+
+// Получатель строк матрицы расстояний по мере их готовности (алгоритм Джонсона).
+// distances[j] - расстояние от source до j-й вершины (INF = Integer.MAX_VALUE).
+// Вызывается из потоков пула одновременно для разных источников; массив
+// distances переиспользуется после возврата, поэтому нужные данные копируются
+public interface DistanceRowConsumer<V> {
+    void accept(V source, int[] distances);
+}
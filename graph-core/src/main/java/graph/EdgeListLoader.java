@@ -0,0 +1,422 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// Массовая загрузка графа из текстового списка рёбер ("from to [weight]").
+// Разделители - пробел, табуляция, запятая или точка с запятой, вес по
+// умолчанию 1, строки с '#' в начале пропускаются. Файл читается через
+// отображение в память окнами по WINDOW байт и разбирается прямо из байтов:
+// строка String создаётся один раз на каждую новую вершину, а не на строку файла.
+// Рёбра сначала копятся в массивах номеров, затем граф строится одним проходом
+// с заранее известными размерами таблиц
+public class EdgeListLoader {
+    private static final long WINDOW = 256L * 1024 * 1024;
+
+    private final boolean hasHeader;
+
+    // Словарь имён вершин: байты имён лежат подряд в names, ids - открытая адресация
+    private byte[] names;
+    private int namesLength;
+    private int[] nameStart;
+    private int[] nameLength;
+    private int[] nameHash;
+    private String[] vertexNames;
+    private int vertexCount;
+    private int[] table;
+
+    // Разобранные рёбра
+    private int[] edgeFrom;
+    private int[] edgeTo;
+    private int[] edgeWeight;
+    private int edgeCount;
+
+    private long lineNumber;
+    private long elapsedNanos;
+
+    public EdgeListLoader() {
+        this(false);
+    }
+
+    // hasHeader - первая непустая строка файла является заголовком CSV и пропускается
+    public EdgeListLoader(boolean hasHeader) {
+        this.hasHeader = hasHeader;
+    }
+
+    public SimpleGraph<String> loadGraph(Path file, boolean directed) throws IOException {
+        long start = System.nanoTime();
+        parse(file);
+
+        int[] outDegree = new int[vertexCount];
+        int[] inDegree = new int[vertexCount];
+        for (int e = 0; e < edgeCount; e++) {
+            outDegree[edgeFrom[e]]++;
+            inDegree[edgeTo[e]]++;
+        }
+
+        SimpleGraph<String> graph = new SimpleGraph<>(directed, vertexCount);
+        for (int v = 0; v < vertexCount; v++) {
+            graph.addVertex(vertexNames[v], outDegree[v], inDegree[v]);
+        }
+        for (int e = 0; e < edgeCount; e++) {
+            graph.addEdge(vertexNames[edgeFrom[e]], vertexNames[edgeTo[e]], edgeWeight[e]);
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+        release();
+        return graph;
+    }
+
+    // Загрузка сразу в CSR-снимок без промежуточного SimpleGraph. Результат
+    // совпадает с loadGraph(...).toCsr() с точностью до нумерации: повторное
+    // ребро не даёт второй дуги (остаётся вес последней строки), а петля в
+    // неориентированном графе - одна дуга
+    public CsrGraph<String> loadCsr(Path file, boolean directed) throws IOException {
+        long start = System.nanoTime();
+        parse(file);
+
+        int n = vertexCount;
+        if (!directed && edgeCount > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("Неориентированный граф из " + edgeCount
+                + " рёбер не помещается в CSR: дуг больше " + Integer.MAX_VALUE);
+        }
+        int arcs = directed ? edgeCount : edgeCount * 2;
+        int[] offsets = new int[n + 1];
+        for (int e = 0; e < edgeCount; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            if (!directed) offsets[edgeTo[e] + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            offsets[v + 1] += offsets[v];
+        }
+
+        int[] fill = new int[n];
+        int[] targets = new int[arcs];
+        int[] weights = new int[arcs];
+        for (int e = 0; e < edgeCount; e++) {
+            int from = edgeFrom[e];
+            int to = edgeTo[e];
+            int pos = offsets[from] + fill[from]++;
+            targets[pos] = to;
+            weights[pos] = edgeWeight[e];
+            if (!directed) {
+                pos = offsets[to] + fill[to]++;
+                targets[pos] = from;
+                weights[pos] = edgeWeight[e];
+            }
+        }
+
+        int unique = removeDuplicateArcs(offsets, targets, weights);
+        if (unique < arcs) {
+            targets = Arrays.copyOf(targets, unique);
+            weights = Arrays.copyOf(weights, unique);
+        }
+
+        Object[] vertices = new Object[n];
+        MyObjIntMap<String> ids = new MyObjIntMap<>(n);
+        for (int v = 0; v < n; v++) {
+            vertices[v] = vertexNames[v];
+            ids.put(vertexNames[v], v);
+        }
+
+        elapsedNanos = System.nanoTime() - start;
+        release();
+        return new CsrGraph<>(vertices, ids, offsets, targets, weights, directed);
+    }
+
+    // Дуги строки лежат в порядке строк файла. Повторная дуга u -> v удаляется,
+    // а её вес записывается в первую, как при повторном addEdge. Строки
+    // сдвигаются к началу массивов, offsets пересчитываются; возвращает число дуг
+    private static int removeDuplicateArcs(int[] offsets, int[] targets, int[] weights) {
+        int n = offsets.length - 1;
+        int[] position = new int[n];
+        fill(position, -1);
+        int write = 0;
+        int rowStart = 0;
+        for (int u = 0; u < n; u++) {
+            int begin = write;
+            for (int a = rowStart; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                if (position[v] >= 0) {
+                    weights[position[v]] = weights[a];
+                } else {
+                    position[v] = write;
+                    targets[write] = v;
+                    weights[write] = weights[a];
+                    write++;
+                }
+            }
+            for (int a = begin; a < write; a++) {
+                position[targets[a]] = -1;
+            }
+            rowStart = offsets[u + 1];
+            offsets[u + 1] = write;
+        }
+        return write;
+    }
+
+    // Статистика последней загрузки
+    public int getEdgeCount() {
+        return edgeCount;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getEdgesPerSecond() {
+        return elapsedNanos == 0 ? 0 : edgeCount * 1e9 / elapsedNanos;
+    }
+
+    public String toString() {
+        return String.format("Загружено рёбер: %d, вершин: %d, время: %.1f мс, скорость: %.0f рёбер/с",
+            edgeCount, vertexCount, elapsedNanos / 1e6, getEdgesPerSecond());
+    }
+
+    private void parse(Path file) throws IOException {
+        names = new byte[1 << 16];
+        namesLength = 0;
+        nameStart = new int[1024];
+        nameLength = new int[1024];
+        nameHash = new int[1024];
+        vertexNames = new String[1024];
+        vertexCount = 0;
+        table = new int[2048];
+        fill(table, -1);
+
+        edgeFrom = new int[1024];
+        edgeTo = new int[1024];
+        edgeWeight = new int[1024];
+        edgeCount = 0;
+        lineNumber = 0;
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long position = 0;
+            boolean skipHeader = hasHeader;
+            while (position < size) {
+                long length = Math.min(WINDOW, size - position);
+                MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+                int end = (int) length;
+                // Окно заканчивается на границе строки, хвост попадёт в следующее окно
+                if (position + length < size) {
+                    while (end > 0 && buffer.get(end - 1) != '\n') {
+                        end--;
+                    }
+                    if (end == 0) {
+                        throw new IllegalArgumentException("Строка " + (lineNumber + 1) + " длиннее " + WINDOW + " байт");
+                    }
+                }
+                skipHeader = parseWindow(buffer, end, skipHeader);
+                position += end;
+            }
+        }
+    }
+
+    // Разбор строк окна; возвращает, остался ли ещё непропущенный заголовок
+    private boolean parseWindow(MappedByteBuffer buffer, int end, boolean skipHeader) {
+        int pos = 0;
+        while (pos < end) {
+            lineNumber++;
+            int lineEnd = pos;
+            while (lineEnd < end && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > pos && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+
+            int p = skipSeparators(buffer, pos, lineEnd);
+            if (p < lineEnd && buffer.get(p) != '#') {
+                if (skipHeader) {
+                    skipHeader = false;
+                } else {
+                    parseLine(buffer, p, lineEnd);
+                }
+            }
+            pos = next;
+        }
+        return skipHeader;
+    }
+
+    private void parseLine(MappedByteBuffer buffer, int p, int lineEnd) {
+        int fromEnd = tokenEnd(buffer, p, lineEnd);
+        int from = vertexId(buffer, p, fromEnd);
+
+        p = skipSeparators(buffer, fromEnd, lineEnd);
+        if (p >= lineEnd) {
+            throw new IllegalArgumentException("Строка " + lineNumber + ": нет второй вершины");
+        }
+        int toEnd = tokenEnd(buffer, p, lineEnd);
+        int to = vertexId(buffer, p, toEnd);
+
+        int weight = 1;
+        p = skipSeparators(buffer, toEnd, lineEnd);
+        if (p < lineEnd) {
+            weight = parseWeight(buffer, p, tokenEnd(buffer, p, lineEnd));
+        }
+        addParsedEdge(from, to, weight);
+    }
+
+    private int parseWeight(MappedByteBuffer buffer, int p, int end) {
+        boolean negative = buffer.get(p) == '-';
+        if (negative || buffer.get(p) == '+') p++;
+        if (p >= end) {
+            throw new IllegalArgumentException("Строка " + lineNumber + ": вес должен быть числом");
+        }
+        long value = 0;
+        for (; p < end; p++) {
+            int digit = buffer.get(p) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException("Строка " + lineNumber + ": вес должен быть числом");
+            }
+            value = value * 10 + digit;
+            if (value > Integer.MAX_VALUE + 1L) {
+                throw new IllegalArgumentException("Строка " + lineNumber + ": вес не помещается в int");
+            }
+        }
+        value = negative ? -value : value;
+        if (value > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Строка " + lineNumber + ": вес не помещается в int");
+        }
+        return (int) value;
+    }
+
+    private static boolean isSeparator(byte b) {
+        return b == ' ' || b == '\t' || b == ',' || b == ';';
+    }
+
+    private static int skipSeparators(MappedByteBuffer buffer, int p, int end) {
+        while (p < end && isSeparator(buffer.get(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    private static int tokenEnd(MappedByteBuffer buffer, int p, int end) {
+        while (p < end && !isSeparator(buffer.get(p))) {
+            p++;
+        }
+        return p;
+    }
+
+    // Номер вершины по байтам имени; новая вершина получает следующий номер
+    private int vertexId(MappedByteBuffer buffer, int start, int end) {
+        int length = end - start;
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + buffer.get(i);
+        }
+        int mask = table.length - 1;
+        int slot = spread(hash) & mask;
+        int id;
+        while ((id = table[slot]) >= 0) {
+            if (nameHash[id] == hash && nameLength[id] == length && sameBytes(buffer, start, id)) {
+                return id;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        id = vertexCount++;
+        if (id == nameStart.length) {
+            nameStart = grow(nameStart);
+            nameLength = grow(nameLength);
+            nameHash = grow(nameHash);
+            String[] grownNames = new String[id * 2];
+            System.arraycopy(vertexNames, 0, grownNames, 0, id);
+            vertexNames = grownNames;
+        }
+        if (namesLength + length > names.length) {
+            byte[] grown = new byte[Math.max(names.length * 2, namesLength + length)];
+            System.arraycopy(names, 0, grown, 0, namesLength);
+            names = grown;
+        }
+        for (int i = 0; i < length; i++) {
+            names[namesLength + i] = buffer.get(start + i);
+        }
+        nameStart[id] = namesLength;
+        nameLength[id] = length;
+        nameHash[id] = hash;
+        vertexNames[id] = new String(names, namesLength, length, StandardCharsets.UTF_8);
+        namesLength += length;
+
+        table[slot] = id;
+        if (vertexCount * 2 > table.length) {
+            rehash();
+        }
+        return id;
+    }
+
+    private boolean sameBytes(MappedByteBuffer buffer, int start, int id) {
+        int offset = nameStart[id];
+        for (int i = 0; i < nameLength[id]; i++) {
+            if (names[offset + i] != buffer.get(start + i)) return false;
+        }
+        return true;
+    }
+
+    private void rehash() {
+        table = new int[table.length * 2];
+        fill(table, -1);
+        int mask = table.length - 1;
+        for (int id = 0; id < vertexCount; id++) {
+            int slot = spread(nameHash[id]) & mask;
+            while (table[slot] >= 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = id;
+        }
+    }
+
+    private void addParsedEdge(int from, int to, int weight) {
+        if (edgeCount == edgeFrom.length) {
+            edgeFrom = grow(edgeFrom);
+            edgeTo = grow(edgeTo);
+            edgeWeight = grow(edgeWeight);
+        }
+        edgeFrom[edgeCount] = from;
+        edgeTo[edgeCount] = to;
+        edgeWeight[edgeCount] = weight;
+        edgeCount++;
+    }
+
+    // Рабочие массивы больше не нужны, счётчики для статистики остаются
+    private void release() {
+        names = null;
+        nameStart = null;
+        nameLength = null;
+        nameHash = null;
+        vertexNames = null;
+        table = null;
+        edgeFrom = null;
+        edgeTo = null;
+        edgeWeight = null;
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int[] grow(int[] array) {
+        int[] grown = new int[array.length * 2];
+        System.arraycopy(array, 0, grown, 0, array.length);
+        return grown;
+    }
+
+    private static void fill(int[] array, int value) {
+        for (int i = 0; i < array.length; i++) {
+            array[i] = value;
+        }
+    }
+}
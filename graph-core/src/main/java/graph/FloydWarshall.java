@@ -0,0 +1,208 @@
+package graph;
+
+import java.util.stream.IntStream;
+
+// Блочный Флойд-Уоршелл над готовой матрицей расстояний.
+// Матрица делится на квадраты BLOCK x BLOCK; для каждого диагонального блока
+// сначала пересчитывается он сам, затем его строка и столбец блоков, затем
+// все остальные блоки. Блоки одной фазы независимы и считаются параллельно
+// в общем ForkJoinPool, а внутри блока данные помещаются в кэш процессора.
+// Если нужна матрица следующих вершин, используется обычный порядок по k
+// с параллелью по строкам: блочный порядок при рёбрах нулевого веса может
+// зациклить указатели next
+final class FloydWarshall {
+    public static final int INF = Integer.MAX_VALUE;
+
+    private static final int BLOCK = 64;
+    // Меньшие матрицы быстрее посчитать в одном потоке
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private FloydWarshall() {
+    }
+
+    // Матрица n x n: INF везде, кроме нулевой диагонали
+    static int[][] newDistanceMatrix(int n) {
+        int[][] dist = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                dist[i][j] = INF;
+            }
+            dist[i][i] = 0;
+        }
+        return dist;
+    }
+
+    // Матрица следующих вершин: -1 (пути нет) везде, кроме диагонали
+    static int[][] newNextMatrix(int n) {
+        int[][] next = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                next[i][j] = -1;
+            }
+            next[i][i] = i;
+        }
+        return next;
+    }
+
+    // Учёт ребра при заполнении матрицы (из нескольких рёбер берётся самое лёгкое)
+    static void seedEdge(int[][] dist, int[][] next, int from, int to, int weight) {
+        if (weight < dist[from][to]) {
+            dist[from][to] = weight;
+            if (next != null) next[from][to] = to;
+        }
+    }
+
+    // Основной алгоритм; next может быть null, если пути не нужны
+    static void run(int[][] dist, int[][] next) {
+        run(dist, next, null);
+    }
+
+    // Ход вычисления - число пройденных промежуточных вершин k; отмена
+    // проверяется между шагами по k, progress может быть null
+    static void run(int[][] dist, int[][] next, AlgorithmProgress progress) {
+        if (next != null) {
+            runByRows(dist, next, progress);
+            return;
+        }
+
+        int n = dist.length;
+        int blocks = (n + BLOCK - 1) / BLOCK;
+        boolean parallel = n >= PARALLEL_THRESHOLD;
+        // Время фаз для GraphMetrics замеряется, только когда метрики включены
+        boolean timed = GraphMetrics.enabled;
+        long diagonalNanos = 0;
+        long crossNanos = 0;
+        long restNanos = 0;
+
+        for (int kb = 0; kb < blocks; kb++) {
+            final int k = kb;
+            IdGraphAlgorithms.report(progress, (long) kb * BLOCK, n);
+
+            // Фаза 1: диагональный блок
+            long start = timed ? System.nanoTime() : 0;
+            relaxBlock(dist, k, k, k);
+            long diagonalEnd = timed ? System.nanoTime() : 0;
+            diagonalNanos += diagonalEnd - start;
+
+            // Фаза 2: блоки в строке и столбце k
+            IntStream phase2 = IntStream.range(0, blocks);
+            if (parallel) phase2 = phase2.parallel();
+            phase2.forEach(b -> {
+                if (b != k) {
+                    relaxBlock(dist, k, k, b);
+                    relaxBlock(dist, k, b, k);
+                }
+            });
+            long crossEnd = timed ? System.nanoTime() : 0;
+            crossNanos += crossEnd - diagonalEnd;
+
+            // Фаза 3: все остальные блоки
+            IntStream phase3 = IntStream.range(0, blocks * blocks);
+            if (parallel) phase3 = phase3.parallel();
+            phase3.forEach(cell -> {
+                int ib = cell / blocks;
+                int jb = cell % blocks;
+                if (ib != k && jb != k) {
+                    relaxBlock(dist, k, ib, jb);
+                }
+            });
+            if (timed) restNanos += System.nanoTime() - crossEnd;
+        }
+        if (timed) GraphMetrics.recordFloydWarshall(diagonalNanos, crossNanos, restNanos);
+    }
+
+    // На шаге k строка k не меняется (dist[k][k] = 0), поэтому строки i
+    // можно пересчитывать независимо друг от друга
+    private static void runByRows(int[][] dist, int[][] next, AlgorithmProgress progress) {
+        int n = dist.length;
+        boolean parallel = n >= PARALLEL_THRESHOLD;
+        boolean timed = GraphMetrics.enabled;
+        long start = timed ? System.nanoTime() : 0;
+
+        for (int kk = 0; kk < n; kk++) {
+            final int k = kk;
+            if (k % BLOCK == 0) IdGraphAlgorithms.report(progress, k, n);
+            final int[] rowK = dist[k];
+            IntStream rows = IntStream.range(0, n);
+            if (parallel) rows = rows.parallel();
+            rows.forEach(i -> {
+                int[] rowI = dist[i];
+                int ik = rowI[k];
+                if (ik == INF || i == k) return;
+                int[] nextI = next[i];
+                for (int j = 0; j < n; j++) {
+                    int kj = rowK[j];
+                    if (kj == INF) continue;
+                    int sum = saturatedAdd(ik, kj);
+                    if (sum < rowI[j]) {
+                        rowI[j] = sum;
+                        nextI[j] = nextI[k];
+                    }
+                }
+            });
+        }
+        if (timed) GraphMetrics.recordFloydWarshall(0, 0, System.nanoTime() - start);
+    }
+
+    // Релаксация блока (ib, jb) через промежуточные вершины блока kb
+    private static void relaxBlock(int[][] dist, int kb, int ib, int jb) {
+        int n = dist.length;
+        int kEnd = Math.min(n, (kb + 1) * BLOCK);
+        int iEnd = Math.min(n, (ib + 1) * BLOCK);
+        int jStart = jb * BLOCK;
+        int jEnd = Math.min(n, jStart + BLOCK);
+
+        for (int k = kb * BLOCK; k < kEnd; k++) {
+            int[] rowK = dist[k];
+            for (int i = ib * BLOCK; i < iEnd; i++) {
+                int[] rowI = dist[i];
+                int ik = rowI[k];
+                if (ik == INF) continue;
+                for (int j = jStart; j < jEnd; j++) {
+                    int kj = rowK[j];
+                    if (kj == INF) continue;
+                    int sum = saturatedAdd(ik, kj);
+                    if (sum < rowI[j]) {
+                        rowI[j] = sum;
+                    }
+                }
+            }
+        }
+    }
+
+    // Сложение конечных расстояний без переполнения: результат прижимается
+    // к границам int, а верхняя граница INF зарезервирована под "пути нет"
+    static int saturatedAdd(int a, int b) {
+        long sum = (long) a + b;
+        if (sum >= INF) return INF - 1;
+        if (sum < Integer.MIN_VALUE) return Integer.MIN_VALUE;
+        return (int) sum;
+    }
+
+    // После run(): отрицательное значение на диагонали означает цикл отрицательного веса
+    static boolean hasNegativeCycle(int[][] dist) {
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i][i] < 0) return true;
+        }
+        return false;
+    }
+
+    // Номера вершин на пути from -> to по матрице next; пустой массив, если пути нет
+    static int[] path(int[][] next, int from, int to) {
+        if (next[from][to] < 0) return new int[0];
+        int n = next.length;
+        int[] path = new int[n + 1];
+        int length = 0;
+        int current = from;
+        path[length++] = current;
+        while (current != to) {
+            current = next[current][to];
+            // Путь длиннее n вершин возможен только при отрицательном цикле
+            if (current < 0 || length > n) return new int[0];
+            path[length++] = current;
+        }
+        int[] result = new int[length];
+        System.arraycopy(path, 0, result, 0, length);
+        return result;
+    }
+}
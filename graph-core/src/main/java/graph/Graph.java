@@ -0,0 +1,35 @@
+package graph;
+
+import java.util.function.ToIntFunction;
+
+public interface Graph<V> {
+    void addVertex(V v);
+    void addEdge(V from, V to, int weight);
+    void removeVertex(V v);
+    void removeEdge(V from, V to);
+    MyArrayList<V> getAdjacent(V v);
+    MyArrayList<V> getVertices();
+    boolean containsVertex(V v);
+    boolean containsEdge(V from, V to);
+    Integer getEdgeWeight(V from, V to);
+    void dfs(V start);
+    void bfs(V start);
+    MyHashMap<V, Integer> dijkstra(V start);
+    int[][] floydWarshall();
+    MyHashMap<V, Integer> bellmanFord(V start);
+    int getVertexCount();
+    int getEdgeCount();
+
+    // Кратчайший путь from -> to. Реализация по умолчанию - Дейкстра с ранней
+    // остановкой поверх getAdjacent/getEdgeWeight; классы графа заменяют её
+    // более быстрым поиском
+    default PathResult<V> shortestPath(V from, V to) {
+        return shortestPath(from, to, v -> 0);
+    }
+
+    // A*: heuristic(v) - нижняя оценка расстояния от v до to
+    default PathResult<V> shortestPath(V from, V to, ToIntFunction<V> heuristic) {
+        return PointToPoint.astar(PointToPoint.arcsOf(this), from, to, heuristic,
+            containsVertex(from), containsVertex(to));
+    }
+}
\ No newline at end of file
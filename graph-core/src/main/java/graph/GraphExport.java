@@ -0,0 +1,480 @@
+package graph;
+
+import java.io.BufferedWriter;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// Потоковая выгрузка графа и результатов алгоритмов: список рёбер и матрицы
+// в CSV, граф в формате DOT (Graphviz), список рёбер и матрица расстояний в
+// компактном двоичном виде. Текст пишется строками через буферизованный
+// Writer, двоичные данные - через буфер фиксированного размера в канал, так
+// что кроме списка вершин и одной строки матрицы в памяти ничего не копится.
+// Writer и канал не закрываются: ими владеет вызывающий код.
+//
+// Двоичные форматы (числа int - little-endian, varint - по 7 бит в байте,
+// младшие вперёд; веса в zigzag, чтобы отрицательные были короткими):
+//
+//   рёбра:   EDGES_MAGIC, VERSION, флаги (бит 0 - ориентированный), n,
+//            n имён (varint длина + UTF-8), затем для каждой вершины
+//            varint число дуг и пары (varint номер цели, zigzag вес).
+//            Неориентированное ребро записывается один раз
+//   матрица: MATRIX_MAGIC, VERSION, n, n имён, затем n строк по n int
+//            (Integer.MAX_VALUE - пути нет)
+//   строки:  ROWS_MAGIC, VERSION, n, n имён, затем n записей в любом порядке:
+//            int номер источника и строка из n int
+//
+// Матрицу расстояний можно выгружать построчно, не держа её в памяти целиком:
+// варианты с Consumer<DistanceRowConsumer<V>> передают производителю строк
+// (например, rows -> graph.johnson(rows, progress)) получателя, который пишет
+// каждую строку сразу. Строки могут приходить из нескольких потоков и в любом
+// порядке, поэтому в CSV каждая строка начинается с имени источника, а в
+// двоичном виде - с его номера
+public final class GraphExport {
+    static final int EDGES_MAGIC = 0x45505247;
+    static final int MATRIX_MAGIC = 0x4D505247;
+    static final int ROWS_MAGIC = 0x52505247;
+    static final int VERSION = 1;
+    static final int FLAG_DIRECTED = 1;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // Предел длины имени вершины при чтении: защита от повреждённой длины
+    private static final int MAX_NAME_BYTES = 1 << 20;
+
+    private GraphExport() {
+    }
+
+    // Список рёбер "from,to,weight" с заголовком; если в именах нет разделителей,
+    // файл читается обратно через EdgeListLoader(true)
+    public static <V> void writeEdgesCsv(SimpleGraph<V> graph, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        out.write("from,to,weight\n");
+        MyArrayList<V> vertices = graph.getVertices();
+        MyObjIntMap<V> index = indexOf(vertices);
+        for (int i = 0; i < vertices.size(); i++) {
+            V from = vertices.get(i);
+            MyObjIntMap<V> row = graph.adjacencyRow(from);
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to == null || !owns(graph, index, i, to)) continue;
+                out.write(csv(from));
+                out.write(',');
+                out.write(csv(to));
+                out.write(',');
+                out.write(Integer.toString(row.valueAt(slot)));
+                out.write('\n');
+            }
+        }
+        out.flush();
+    }
+
+    // Матрица смежности: первая строка и первый столбец - имена вершин, 0 - ребра нет
+    public static <V> void writeAdjacencyCsv(SimpleGraph<V> graph, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        MyArrayList<V> vertices = graph.getVertices();
+        MyObjIntMap<V> index = indexOf(vertices);
+        writeHeaderRow(vertices, out);
+        int[] weights = new int[vertices.size()];
+        for (int i = 0; i < vertices.size(); i++) {
+            // Строка матрицы заполняется по строке смежности, без n поисков в хеш-таблице
+            Arrays.fill(weights, 0);
+            MyObjIntMap<V> row = graph.adjacencyRow(vertices.get(i));
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to != null) weights[index.get(to, -1)] = row.valueAt(slot);
+            }
+            out.write(csv(vertices.get(i)));
+            for (int j = 0; j < weights.length; j++) {
+                out.write(',');
+                out.write(Integer.toString(weights[j]));
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    // Матрица расстояний (например, из floydWarshall); номера строк и столбцов -
+    // индексы в vertices, недостижимость - INF
+    public static <V> void writeDistanceMatrixCsv(MyArrayList<V> vertices, int[][] dist, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        writeHeaderRow(vertices, out);
+        for (int i = 0; i < vertices.size(); i++) {
+            out.write(csv(vertices.get(i)));
+            int[] row = dist[i];
+            for (int j = 0; j < vertices.size(); j++) {
+                out.write(',');
+                out.write(row[j] == FloydWarshall.INF ? "INF" : Integer.toString(row[j]));
+            }
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    // То же построчно: producer получает получателя строк и отдаёт ему все n строк
+    public static <V> void writeDistanceMatrixCsv(MyArrayList<V> vertices, Consumer<DistanceRowConsumer<V>> producer,
+                                                  Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        writeHeaderRow(vertices, out);
+        RowSink<V> sink = new RowSink<V>() {
+            void write(V source, int[] row) throws IOException {
+                out.write(csv(source));
+                for (int j = 0; j < vertices.size(); j++) {
+                    out.write(',');
+                    out.write(row[j] == FloydWarshall.INF ? "INF" : Integer.toString(row[j]));
+                }
+                out.write('\n');
+            }
+        };
+        sink.run(producer);
+        out.flush();
+    }
+
+    // Расстояния от одной вершины (dijkstra, bellmanFord) в виде "vertex,distance"
+    public static <V> void writeDistancesCsv(MyHashMap<V, Integer> distances, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        out.write("vertex,distance\n");
+        MyArrayList<MyHashMap.Entry<V, Integer>> entries = distances.entrySet();
+        for (int i = 0; i < entries.size(); i++) {
+            MyHashMap.Entry<V, Integer> entry = entries.get(i);
+            out.write(csv(entry.key));
+            out.write(',');
+            out.write(entry.value == Integer.MAX_VALUE ? "INF" : Integer.toString(entry.value));
+            out.write('\n');
+        }
+        out.flush();
+    }
+
+    // Граф в формате DOT; вес ребра - подпись и атрибут weight
+    public static <V> void writeDot(SimpleGraph<V> graph, Writer writer) throws IOException {
+        Writer out = buffered(writer);
+        boolean directed = graph.isDirected();
+        out.write(directed ? "digraph G {\n" : "graph G {\n");
+        MyArrayList<V> vertices = graph.getVertices();
+        MyObjIntMap<V> index = indexOf(vertices);
+        for (int i = 0; i < vertices.size(); i++) {
+            out.write("  ");
+            out.write(dot(vertices.get(i)));
+            out.write(";\n");
+        }
+        String arrow = directed ? " -> " : " -- ";
+        for (int i = 0; i < vertices.size(); i++) {
+            V from = vertices.get(i);
+            MyObjIntMap<V> row = graph.adjacencyRow(from);
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to == null || !owns(graph, index, i, to)) continue;
+                String weight = Integer.toString(row.valueAt(slot));
+                out.write("  ");
+                out.write(dot(from));
+                out.write(arrow);
+                out.write(dot(to));
+                out.write(" [weight=" + weight + ", label=\"" + weight + "\"];\n");
+            }
+        }
+        out.write("}\n");
+        out.flush();
+    }
+
+    // Имена вершин сохраняются как String.valueOf(vertex)
+    public static <V> void writeEdgesBinary(SimpleGraph<V> graph, WritableByteChannel channel) throws IOException {
+        MyArrayList<V> vertices = graph.getVertices();
+        MyObjIntMap<V> index = indexOf(vertices);
+        ChannelOutput out = new ChannelOutput(channel);
+        out.putInt(EDGES_MAGIC);
+        out.putInt(VERSION);
+        out.putInt(graph.isDirected() ? FLAG_DIRECTED : 0);
+        out.putInt(vertices.size());
+        writeNames(vertices, out);
+
+        for (int i = 0; i < vertices.size(); i++) {
+            MyObjIntMap<V> row = graph.adjacencyRow(vertices.get(i));
+            int count = 0;
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to != null && owns(graph, index, i, to)) count++;
+            }
+            out.putVarint(count);
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to == null || !owns(graph, index, i, to)) continue;
+                out.putVarint(index.get(to, -1));
+                int weight = row.valueAt(slot);
+                out.putVarint((weight << 1) ^ (weight >> 31));
+            }
+        }
+        out.flush();
+    }
+
+    // Обратное чтение writeEdgesBinary; вершины - строки
+    public static SimpleGraph<String> readEdgesBinary(ReadableByteChannel channel) throws IOException {
+        ChannelInput in = new ChannelInput(channel);
+        if (in.getInt() != EDGES_MAGIC) {
+            throw new IllegalArgumentException("Данные не являются двоичным списком рёбер");
+        }
+        int version = in.getInt();
+        if (version != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия списка рёбер: " + version);
+        }
+        boolean directed = (in.getInt() & FLAG_DIRECTED) != 0;
+        int n = in.getInt();
+        if (n < 0) {
+            throw new IllegalArgumentException("Список рёбер повреждён: неверное число вершин " + n);
+        }
+        // Граф создаётся после чтения имён: завышенное n даёт конец данных, а не
+        // попытку выделить память под n вершин
+        String[] names = readNames(in, n);
+
+        SimpleGraph<String> graph = new SimpleGraph<>(directed, n);
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(names[v]);
+        }
+        for (int v = 0; v < n; v++) {
+            int count = in.getVarint();
+            if (count < 0) {
+                throw new IllegalArgumentException("Список рёбер повреждён: неверное число дуг " + count);
+            }
+            for (int k = 0; k < count; k++) {
+                int target = in.getVarint();
+                int zigzag = in.getVarint();
+                if (target < 0 || target >= n) {
+                    throw new IllegalArgumentException("Список рёбер повреждён: неверный номер вершины " + target);
+                }
+                graph.addEdge(names[v], names[target], (zigzag >>> 1) ^ -(zigzag & 1));
+            }
+        }
+        return graph;
+    }
+
+    public static <V> void writeDistanceMatrixBinary(MyArrayList<V> vertices, int[][] dist,
+                                                     WritableByteChannel channel) throws IOException {
+        ChannelOutput out = new ChannelOutput(channel);
+        out.putInt(MATRIX_MAGIC);
+        out.putInt(VERSION);
+        out.putInt(vertices.size());
+        writeNames(vertices, out);
+        for (int i = 0; i < vertices.size(); i++) {
+            int[] row = dist[i];
+            for (int j = 0; j < vertices.size(); j++) {
+                out.putInt(row[j]);
+            }
+        }
+        out.flush();
+    }
+
+    // Построчный вариант в формате строк (ROWS_MAGIC): каждая строка пишется
+    // сразу, вместе с номером источника в vertices
+    public static <V> void writeDistanceMatrixBinary(MyArrayList<V> vertices, Consumer<DistanceRowConsumer<V>> producer,
+                                                     WritableByteChannel channel) throws IOException {
+        MyObjIntMap<V> index = indexOf(vertices);
+        ChannelOutput out = new ChannelOutput(channel);
+        out.putInt(ROWS_MAGIC);
+        out.putInt(VERSION);
+        out.putInt(vertices.size());
+        writeNames(vertices, out);
+        RowSink<V> sink = new RowSink<V>() {
+            void write(V source, int[] row) throws IOException {
+                int i = index.get(source, -1);
+                if (i < 0) {
+                    throw new IllegalArgumentException("Вершины " + source + " нет в списке вершин");
+                }
+                out.putInt(i);
+                for (int j = 0; j < vertices.size(); j++) {
+                    out.putInt(row[j]);
+                }
+            }
+        };
+        sink.run(producer);
+        out.flush();
+    }
+
+    // Получатель строк для построчной выгрузки. Строки пишутся по одной под
+    // блокировкой; первая ошибка записи запоминается, следующие строки
+    // пропускаются, а после работы производителя ошибка бросается как IOException
+    private abstract static class RowSink<V> implements DistanceRowConsumer<V> {
+        private IOException failure;
+
+        abstract void write(V source, int[] row) throws IOException;
+
+        public synchronized void accept(V source, int[] distances) {
+            if (failure != null) return;
+            try {
+                write(source, distances);
+            } catch (IOException e) {
+                failure = e;
+            }
+        }
+
+        void run(Consumer<DistanceRowConsumer<V>> producer) throws IOException {
+            producer.accept(this);
+            synchronized (this) {
+                if (failure != null) throw failure;
+            }
+        }
+    }
+
+    // Неориентированное ребро выгружается один раз: из вершины с меньшим номером
+    private static <V> boolean owns(SimpleGraph<V> graph, MyObjIntMap<V> index, int from, V to) {
+        return graph.isDirected() || index.get(to, -1) >= from;
+    }
+
+    private static <V> MyObjIntMap<V> indexOf(MyArrayList<V> vertices) {
+        MyObjIntMap<V> index = new MyObjIntMap<>(vertices.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            index.put(vertices.get(i), i);
+        }
+        return index;
+    }
+
+    private static Writer buffered(Writer writer) {
+        return writer instanceof BufferedWriter ? writer : new BufferedWriter(writer, BUFFER_SIZE);
+    }
+
+    private static <V> void writeHeaderRow(MyArrayList<V> vertices, Writer out) throws IOException {
+        for (int j = 0; j < vertices.size(); j++) {
+            out.write(',');
+            out.write(csv(vertices.get(j)));
+        }
+        out.write('\n');
+    }
+
+    // Значение CSV: в кавычках, если содержит разделитель, кавычку или перевод строки
+    private static String csv(Object value) {
+        String s = String.valueOf(value);
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return '"' + s.replace("\"", "\"\"") + '"';
+            }
+        }
+        return s;
+    }
+
+    private static String dot(Object value) {
+        return '"' + String.valueOf(value).replace("\\", "\\\\").replace("\"", "\\\"") + '"';
+    }
+
+    private static <V> void writeNames(MyArrayList<V> vertices, ChannelOutput out) throws IOException {
+        for (int i = 0; i < vertices.size(); i++) {
+            byte[] name = String.valueOf(vertices.get(i)).getBytes(StandardCharsets.UTF_8);
+            out.putVarint(name.length);
+            out.putBytes(name);
+        }
+    }
+
+    // Массив имён растёт по мере чтения, а длина имени проверяется до выделения
+    // памяти, поэтому повреждённый заголовок не приводит к OutOfMemoryError
+    private static String[] readNames(ChannelInput in, int n) throws IOException {
+        String[] names = new String[Math.min(n, 1024)];
+        for (int v = 0; v < n; v++) {
+            int length = in.getVarint();
+            if (length < 0 || length > MAX_NAME_BYTES) {
+                throw new IllegalArgumentException("Данные повреждены: неверная длина имени " + length);
+            }
+            byte[] name = new byte[length];
+            in.getBytes(name);
+            if (v == names.length) names = Arrays.copyOf(names, (int) Math.min((long) v * 2, n));
+            names[v] = new String(name, StandardCharsets.UTF_8);
+        }
+        return names;
+    }
+
+    // Запись в канал через буфер фиксированного размера
+    private static class ChannelOutput {
+        private final WritableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelOutput(WritableByteChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        void putVarint(int value) throws IOException {
+            if (buffer.remaining() < 5) flush();
+            while ((value & ~0x7F) != 0) {
+                buffer.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            buffer.put((byte) value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int pos = 0;
+            while (pos < bytes.length) {
+                if (!buffer.hasRemaining()) flush();
+                int count = Math.min(buffer.remaining(), bytes.length - pos);
+                buffer.put(bytes, pos, count);
+                pos += count;
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+
+    // Чтение из канала с дозагрузкой буфера по мере необходимости
+    private static class ChannelInput {
+        private final ReadableByteChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+        ChannelInput(ReadableByteChannel channel) {
+            this.channel = channel;
+            buffer.limit(0);
+        }
+
+        // Гарантирует хотя бы count непрочитанных байт в буфере
+        private void require(int count) throws IOException {
+            if (buffer.remaining() >= count) return;
+            buffer.compact();
+            while (buffer.position() < count) {
+                if (channel.read(buffer) < 0) {
+                    throw new EOFException("Неожиданный конец данных");
+                }
+            }
+            buffer.flip();
+        }
+
+        int getInt() throws IOException {
+            require(4);
+            return buffer.getInt();
+        }
+
+        // В пятом байте допустимы только 4 младших бита (биты 28-31 числа)
+        int getVarint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                require(1);
+                byte b = buffer.get();
+                if (shift == 28 && (b & 0xF0) != 0) break;
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+            throw new IllegalArgumentException("Данные повреждены: слишком длинное число");
+        }
+
+        void getBytes(byte[] bytes) throws IOException {
+            int pos = 0;
+            while (pos < bytes.length) {
+                require(1);
+                int count = Math.min(buffer.remaining(), bytes.length - pos);
+                buffer.get(bytes, pos, count);
+                pos += count;
+            }
+        }
+    }
+}
@@ -0,0 +1,323 @@
+package graph;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+// Метрики работы графа и алгоритмов: пробы в хеш-таблицах, релаксации рёбер
+// в Дейкстре и Беллмане-Форде, посещённые вершины обходов, время фаз
+// Флойда-Уоршелла и оценка памяти графа.
+//
+// По умолчанию сбор выключен. Алгоритмы всегда считают шаги в локальных
+// переменных, а флаг enabled проверяют один раз за вызов (хеш-таблицы - один
+// раз за поиск), поэтому выключенные метрики почти ничего не стоят.
+// Включается setEnabled(true), свойством -Dgraph.metrics=true или через JMX.
+//
+// Статические методы record* пишут в общие счётчики LongAdder, безопасные
+// для нескольких потоков. Объект GraphMetrics - неизменяемый снимок
+// счётчиков на момент вызова snapshot().
+//
+// SimpleGraph не потокобезопасен, поэтому снимок (в том числе из потока JMX)
+// сам граф не читает. Оценку памяти считает поток, владеющий графом, вызовом
+// publishMemory, а снимок берёт последнюю опубликованную
+public final class GraphMetrics {
+    public static final String OBJECT_NAME = "graph:type=GraphMetrics";
+
+    static volatile boolean enabled = Boolean.getBoolean("graph.metrics");
+
+    private static final LongAdder HASH_LOOKUPS = new LongAdder();
+    private static final LongAdder HASH_PROBES = new LongAdder();
+    private static final LongAccumulator MAX_PROBES = new LongAccumulator(Math::max, 0);
+    private static final LongAdder DIJKSTRA_RUNS = new LongAdder();
+    private static final LongAdder DIJKSTRA_SETTLED = new LongAdder();
+    private static final LongAdder DIJKSTRA_RELAXATIONS = new LongAdder();
+    private static final LongAdder BELLMAN_FORD_RUNS = new LongAdder();
+    private static final LongAdder BELLMAN_FORD_RELAXATIONS = new LongAdder();
+    private static final LongAdder TRAVERSALS = new LongAdder();
+    private static final LongAdder TRAVERSAL_VISITED = new LongAdder();
+    private static final LongAdder FLOYD_WARSHALL_RUNS = new LongAdder();
+    private static final LongAdder FLOYD_WARSHALL_SEED_NANOS = new LongAdder();
+    private static final LongAdder FLOYD_WARSHALL_DIAGONAL_NANOS = new LongAdder();
+    private static final LongAdder FLOYD_WARSHALL_CROSS_NANOS = new LongAdder();
+    private static final LongAdder FLOYD_WARSHALL_REST_NANOS = new LongAdder();
+
+    // Последняя опубликованная оценка: {вершины, рёбра, байты вершин, байты рёбер};
+    // массив после публикации не меняется
+    private static volatile long[] memory = new long[4];
+
+    // Оценка размеров: сжатые ссылки по 4 байта, заголовки объектов и массивов по 16
+    static final int REFERENCE_BYTES = 4;
+    static final int HEADER_BYTES = 16;
+
+    private final long hashLookups;
+    private final long hashProbes;
+    private final long maxProbeLength;
+    private final long dijkstraRuns;
+    private final long dijkstraSettled;
+    private final long dijkstraRelaxations;
+    private final long bellmanFordRuns;
+    private final long bellmanFordRelaxations;
+    private final long traversals;
+    private final long traversalVisited;
+    private final long floydWarshallRuns;
+    private final long floydWarshallSeedNanos;
+    private final long floydWarshallDiagonalNanos;
+    private final long floydWarshallCrossNanos;
+    private final long floydWarshallRestNanos;
+    private final int trackedVertices;
+    private final int trackedEdges;
+    private final long trackedVertexBytes;
+    private final long trackedEdgeBytes;
+
+    private GraphMetrics() {
+        hashLookups = HASH_LOOKUPS.sum();
+        hashProbes = HASH_PROBES.sum();
+        maxProbeLength = MAX_PROBES.get();
+        dijkstraRuns = DIJKSTRA_RUNS.sum();
+        dijkstraSettled = DIJKSTRA_SETTLED.sum();
+        dijkstraRelaxations = DIJKSTRA_RELAXATIONS.sum();
+        bellmanFordRuns = BELLMAN_FORD_RUNS.sum();
+        bellmanFordRelaxations = BELLMAN_FORD_RELAXATIONS.sum();
+        traversals = TRAVERSALS.sum();
+        traversalVisited = TRAVERSAL_VISITED.sum();
+        floydWarshallRuns = FLOYD_WARSHALL_RUNS.sum();
+        floydWarshallSeedNanos = FLOYD_WARSHALL_SEED_NANOS.sum();
+        floydWarshallDiagonalNanos = FLOYD_WARSHALL_DIAGONAL_NANOS.sum();
+        floydWarshallCrossNanos = FLOYD_WARSHALL_CROSS_NANOS.sum();
+        floydWarshallRestNanos = FLOYD_WARSHALL_REST_NANOS.sum();
+
+        long[] published = memory;
+        trackedVertices = (int) published[0];
+        trackedEdges = (int) published[1];
+        trackedVertexBytes = published[2];
+        trackedEdgeBytes = published[3];
+    }
+
+    public static GraphMetrics snapshot() {
+        return new GraphMetrics();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean value) {
+        enabled = value;
+    }
+
+    public static void reset() {
+        HASH_LOOKUPS.reset();
+        HASH_PROBES.reset();
+        MAX_PROBES.reset();
+        DIJKSTRA_RUNS.reset();
+        DIJKSTRA_SETTLED.reset();
+        DIJKSTRA_RELAXATIONS.reset();
+        BELLMAN_FORD_RUNS.reset();
+        BELLMAN_FORD_RELAXATIONS.reset();
+        TRAVERSALS.reset();
+        TRAVERSAL_VISITED.reset();
+        FLOYD_WARSHALL_RUNS.reset();
+        FLOYD_WARSHALL_SEED_NANOS.reset();
+        FLOYD_WARSHALL_DIAGONAL_NANOS.reset();
+        FLOYD_WARSHALL_CROSS_NANOS.reset();
+        FLOYD_WARSHALL_REST_NANOS.reset();
+    }
+
+    // Оценка памяти графа для следующих снимков (null - сбросить оценку).
+    // Вызывается из потока, владеющего графом, например после его изменения:
+    // граф обходится здесь, а не в потоке, запросившем снимок
+    public static void publishMemory(SimpleGraph<?> graph) {
+        if (graph == null) {
+            memory = new long[4];
+            return;
+        }
+        long[] estimate = graph.memoryEstimate();
+        memory = new long[] {graph.getVertexCount(), graph.getEdgeCount(), estimate[0], estimate[1]};
+    }
+
+    // Регистрация MBean в платформенном MBeanServer; повторный вызов ничего не делает
+    public static synchronized void registerMBean() {
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            if (!server.isRegistered(name)) {
+                server.registerMBean(new Bean(), name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать MBean метрик графа", e);
+        }
+    }
+
+    private static final class Bean implements GraphMetricsMXBean {
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean value) {
+            enabled = value;
+        }
+
+        public GraphMetrics getSnapshot() {
+            return snapshot();
+        }
+
+        public void reset() {
+            GraphMetrics.reset();
+        }
+    }
+
+    // Поиск в хеш-таблице, просмотревший probes ячеек
+    static void recordHashLookup(int probes) {
+        HASH_LOOKUPS.increment();
+        HASH_PROBES.add(probes);
+        MAX_PROBES.accumulate(probes);
+    }
+
+    static void recordDijkstra(long settled, long relaxations) {
+        DIJKSTRA_RUNS.increment();
+        DIJKSTRA_SETTLED.add(settled);
+        DIJKSTRA_RELAXATIONS.add(relaxations);
+    }
+
+    static void recordBellmanFord(long relaxations) {
+        BELLMAN_FORD_RUNS.increment();
+        BELLMAN_FORD_RELAXATIONS.add(relaxations);
+    }
+
+    static void recordTraversal(long visited) {
+        TRAVERSALS.increment();
+        TRAVERSAL_VISITED.add(visited);
+    }
+
+    // Посещение ещё одной вершины уже учтённого ленивого обхода
+    static void recordVisit() {
+        TRAVERSAL_VISITED.increment();
+    }
+
+    static void recordFloydWarshallSeed(long nanos) {
+        FLOYD_WARSHALL_SEED_NANOS.add(nanos);
+    }
+
+    // Фазы блочного алгоритма: диагональный блок, его строка и столбец, остальные
+    // блоки. Вариант с матрицей путей целиком учитывается как третья фаза
+    static void recordFloydWarshall(long diagonalNanos, long crossNanos, long restNanos) {
+        FLOYD_WARSHALL_RUNS.increment();
+        FLOYD_WARSHALL_DIAGONAL_NANOS.add(diagonalNanos);
+        FLOYD_WARSHALL_CROSS_NANOS.add(crossNanos);
+        FLOYD_WARSHALL_REST_NANOS.add(restNanos);
+    }
+
+    // Хеш-таблица с открытой адресацией из двух массивов по capacity ячеек по 4 байта
+    static long hashTableBytes(int capacity) {
+        return 2L * HEADER_BYTES + 2L * (HEADER_BYTES + (long) REFERENCE_BYTES * capacity);
+    }
+
+    public long getHashLookups() {
+        return hashLookups;
+    }
+
+    public long getHashProbes() {
+        return hashProbes;
+    }
+
+    // Средняя длина цепочки пробирования (1 - ключ найден в домашней ячейке)
+    public double getAverageProbeLength() {
+        return hashLookups == 0 ? 0 : (double) hashProbes / hashLookups;
+    }
+
+    public long getMaxProbeLength() {
+        return maxProbeLength;
+    }
+
+    public long getDijkstraRuns() {
+        return dijkstraRuns;
+    }
+
+    public long getDijkstraSettled() {
+        return dijkstraSettled;
+    }
+
+    // Просмотренные дуги окончательно найденных вершин
+    public long getDijkstraRelaxations() {
+        return dijkstraRelaxations;
+    }
+
+    public long getBellmanFordRuns() {
+        return bellmanFordRuns;
+    }
+
+    public long getBellmanFordRelaxations() {
+        return bellmanFordRelaxations;
+    }
+
+    public long getTraversals() {
+        return traversals;
+    }
+
+    public long getTraversalVisited() {
+        return traversalVisited;
+    }
+
+    public long getFloydWarshallRuns() {
+        return floydWarshallRuns;
+    }
+
+    public long getFloydWarshallSeedNanos() {
+        return floydWarshallSeedNanos;
+    }
+
+    public long getFloydWarshallDiagonalNanos() {
+        return floydWarshallDiagonalNanos;
+    }
+
+    public long getFloydWarshallCrossNanos() {
+        return floydWarshallCrossNanos;
+    }
+
+    public long getFloydWarshallRestNanos() {
+        return floydWarshallRestNanos;
+    }
+
+    public int getTrackedVertices() {
+        return trackedVertices;
+    }
+
+    public int getTrackedEdges() {
+        return trackedEdges;
+    }
+
+    // Оценка памяти опубликованного графа без объектов самих вершин
+    public long getTrackedBytes() {
+        return trackedVertexBytes + trackedEdgeBytes;
+    }
+
+    // Таблица вершин и пустые строки смежности в расчёте на вершину
+    public double getBytesPerVertex() {
+        return trackedVertices == 0 ? 0 : (double) trackedVertexBytes / trackedVertices;
+    }
+
+    // Ячейки строк смежности (с запасом таблиц) в расчёте на ребро
+    public double getBytesPerEdge() {
+        return trackedEdges == 0 ? 0 : (double) trackedEdgeBytes / trackedEdges;
+    }
+
+    public String toString() {
+        return String.format("Метрики графа:%n"
+                + "  хеш-таблицы: поисков %d, средняя длина пробирования %.2f, наибольшая %d%n"
+                + "  Дейкстра: запусков %d, вершин %d, релаксаций %d%n"
+                + "  Беллман-Форд: запусков %d, релаксаций %d%n"
+                + "  обходы: запусков %d, посещено вершин %d%n"
+                + "  Флойд-Уоршелл: запусков %d, заполнение %.1f мс, фазы %.1f / %.1f / %.1f мс%n"
+                + "  память: вершин %d, рёбер %d, %d байт (%.1f на вершину, %.1f на ребро)",
+            hashLookups, getAverageProbeLength(), maxProbeLength,
+            dijkstraRuns, dijkstraSettled, dijkstraRelaxations,
+            bellmanFordRuns, bellmanFordRelaxations,
+            traversals, traversalVisited,
+            floydWarshallRuns, floydWarshallSeedNanos / 1e6, floydWarshallDiagonalNanos / 1e6,
+            floydWarshallCrossNanos / 1e6, floydWarshallRestNanos / 1e6,
+            trackedVertices, trackedEdges, getTrackedBytes(), getBytesPerVertex(), getBytesPerEdge());
+    }
+}
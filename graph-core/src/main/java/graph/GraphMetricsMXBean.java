@@ -0,0 +1,14 @@
+package graph;
+
+// Управление сбором метрик через JMX (jconsole, VisualVM): объект
+// GraphMetrics.OBJECT_NAME в платформенном MBeanServer
+public interface GraphMetricsMXBean {
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    // Текущие значения всех счётчиков одной записью (CompositeData в JMX)
+    GraphMetrics getSnapshot();
+
+    void reset();
+}
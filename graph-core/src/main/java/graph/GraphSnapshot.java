@@ -0,0 +1,276 @@
+package graph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+// Двоичный снимок графа на диске. Все числа - int в порядке little-endian:
+//
+//   заголовок (32 байта): MAGIC, VERSION, флаги (бит 0 - ориентированный),
+//                         число вершин n, число дуг m, размер хеш-таблицы t,
+//                         длина имён в байтах, резерв
+//   offsets[n + 1], targets[m], weights[m]   - дуги в формате CSR
+//   nameOffsets[n + 1], table[t], имена      - словарь вершин (UTF-8) и
+//                                              хеш-таблица имя -> номер + 1
+//   выравнивание до 4 байт, CRC32 всего предыдущего (8 байт)
+//
+// Открытый снимок (MappedGraph) читает массивы прямо из отображённого файла
+// без копирования. При открытии проверяются заголовок, размер файла и
+// структура массивов за O(n + m): смещения не убывают, номера вершин в
+// пределах графа. CRC - по запросу, он читает весь файл
+public final class GraphSnapshot {
+    static final int MAGIC = 0x48505247;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+    static final int FLAG_DIRECTED = 1;
+    // Больше вершин в снимок до 2 ГБ всё равно не помещается; граница не даёт
+    // размеру хеш-таблицы переполнить int
+    static final int MAX_VERTICES = 1 << 29;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private GraphSnapshot() {
+    }
+
+    public static void write(SimpleGraph<?> graph, Path file) throws IOException {
+        write(graph.toCsr(), file);
+    }
+
+    // Имена вершин сохраняются как String.valueOf(vertex); разные вершины с
+    // одинаковым именем (например, 1 и "1") не принимаются
+    public static void write(CsrGraph<?> graph, Path file) throws IOException {
+        int n = graph.getVertexCount();
+        int m = graph.getArcCount();
+
+        byte[][] names = new byte[n][];
+        int[] nameOffsets = new int[n + 1];
+        int nameBytes = 0;
+        for (int v = 0; v < n; v++) {
+            names[v] = String.valueOf(graph.vertexOf(v)).getBytes(StandardCharsets.UTF_8);
+            nameOffsets[v] = nameBytes;
+            nameBytes += names[v].length;
+        }
+        nameOffsets[n] = nameBytes;
+
+        int tableSize = tableSize(n);
+        int[] table = new int[tableSize];
+        for (int v = 0; v < n; v++) {
+            int slot = slot(String.valueOf(graph.vertexOf(v)).hashCode(), tableSize);
+            while (table[slot] != 0) {
+                if (Arrays.equals(names[table[slot] - 1], names[v])) {
+                    throw new IllegalArgumentException("Две вершины с одинаковым именем \""
+                        + new String(names[v], StandardCharsets.UTF_8) + "\"");
+                }
+                slot = (slot + 1) & (tableSize - 1);
+            }
+            table[slot] = v + 1;
+        }
+
+        long size = dataSize(n, m, tableSize, nameBytes) + 8;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Снимки больше 2 ГБ не поддерживаются");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ChunkWriter out = new ChunkWriter(channel);
+            out.putInt(MAGIC);
+            out.putInt(VERSION);
+            out.putInt(graph.isDirected() ? FLAG_DIRECTED : 0);
+            out.putInt(n);
+            out.putInt(m);
+            out.putInt(tableSize);
+            out.putInt(nameBytes);
+            out.putInt(0);
+
+            for (int v = 0; v < n; v++) {
+                out.putInt(graph.firstArc(v));
+            }
+            out.putInt(m);
+            for (int a = 0; a < m; a++) {
+                out.putInt(graph.target(a));
+            }
+            for (int a = 0; a < m; a++) {
+                out.putInt(graph.weight(a));
+            }
+            for (int v = 0; v <= n; v++) {
+                out.putInt(nameOffsets[v]);
+            }
+            for (int i = 0; i < tableSize; i++) {
+                out.putInt(table[i]);
+            }
+            for (int v = 0; v < n; v++) {
+                out.putBytes(names[v]);
+            }
+            for (int pad = nameBytes; pad % 4 != 0; pad++) {
+                out.putBytes(new byte[1]);
+            }
+            out.finish();
+        }
+    }
+
+    public static MappedGraph open(Path file) throws IOException {
+        return open(file, false);
+    }
+
+    // verifyChecksum = true дополнительно сверяет CRC, прочитав весь файл
+    public static MappedGraph open(Path file, boolean verifyChecksum) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Снимки больше 2 ГБ не поддерживаются");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buffer.capacity() < HEADER_SIZE + 8 || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Файл " + file + " не является снимком графа");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Неподдерживаемая версия снимка: " + buffer.getInt(4));
+        }
+        int n = buffer.getInt(12);
+        int m = buffer.getInt(16);
+        int tableSize = buffer.getInt(20);
+        int nameBytes = buffer.getInt(24);
+        if (n < 0 || n > MAX_VERTICES || m < 0 || nameBytes < 0 || tableSize != tableSize(n)) {
+            throw new IllegalArgumentException("Снимок повреждён: неверный заголовок");
+        }
+        long dataSize = dataSize(n, m, tableSize, nameBytes);
+        if (dataSize + 8 != buffer.capacity()) {
+            throw new IllegalArgumentException("Снимок повреждён: неверный размер файла");
+        }
+        checkStructure(buffer, n, m, tableSize, nameBytes);
+        if (verifyChecksum) {
+            CRC32 crc = new CRC32();
+            ByteBuffer data = buffer.duplicate();
+            data.position(0).limit((int) dataSize);
+            crc.update(data);
+            if (crc.getValue() != buffer.getLong((int) dataSize)) {
+                throw new IllegalArgumentException("Снимок повреждён: не совпадает контрольная сумма");
+            }
+        }
+        return new MappedGraph(buffer, n, m, tableSize, nameBytes, (buffer.getInt(8) & FLAG_DIRECTED) != 0);
+    }
+
+    // Проверка массивов без CRC: иначе испорченные смещения или номера вершин
+    // обнаружились бы только внутри алгоритмов как IndexOutOfBoundsException
+    private static void checkStructure(ByteBuffer buffer, int n, int m, int tableSize, int nameBytes) {
+        int pos = HEADER_SIZE;
+        checkOffsets(buffer, pos, n, m, "смещения дуг");
+        pos += (n + 1) * 4;
+        for (int a = 0; a < m; a++) {
+            int target = buffer.getInt(pos + a * 4);
+            if (target < 0 || target >= n) {
+                throw new IllegalArgumentException("Снимок повреждён: дуга " + a + " ведёт в несуществующую вершину " + target);
+            }
+        }
+        pos += 2 * m * 4;
+        checkOffsets(buffer, pos, n, nameBytes, "смещения имён");
+        pos += (n + 1) * 4;
+        // Каждая вершина записана в словаре ровно один раз: тогда в таблице
+        // размером не меньше 2n остаются пустые ячейки и поиск в idOf конечен
+        boolean[] listed = new boolean[n];
+        int entries = 0;
+        for (int i = 0; i < tableSize; i++) {
+            int entry = buffer.getInt(pos + i * 4);
+            if (entry == 0) continue;
+            if (entry < 0 || entry > n || listed[entry - 1]) {
+                throw new IllegalArgumentException("Снимок повреждён: неверная запись словаря вершин");
+            }
+            listed[entry - 1] = true;
+            entries++;
+        }
+        if (entries != n) {
+            throw new IllegalArgumentException("Снимок повреждён: в словаре не все вершины");
+        }
+    }
+
+    // offsets[0] = 0, offsets[n] = end, значения не убывают
+    private static void checkOffsets(ByteBuffer buffer, int pos, int n, int end, String what) {
+        int previous = 0;
+        for (int v = 0; v <= n; v++) {
+            int offset = buffer.getInt(pos + v * 4);
+            if (offset < previous || (v == 0 && offset != 0) || (v == n && offset != end)) {
+                throw new IllegalArgumentException("Снимок повреждён: неверные " + what);
+            }
+            previous = offset;
+        }
+    }
+
+    // Размер всего, кроме контрольной суммы
+    static long dataSize(int n, int m, int tableSize, int nameBytes) {
+        long ints = (n + 1L) + 2L * m + (n + 1L) + tableSize;
+        long names = (nameBytes + 3L) & ~3L;
+        return HEADER_SIZE + ints * 4 + names;
+    }
+
+    // Степень двойки не меньше 2n
+    static int tableSize(int n) {
+        if (n < 0 || n > MAX_VERTICES) {
+            throw new IllegalArgumentException("Слишком много вершин для снимка: " + n);
+        }
+        long size = 2;
+        while (size < 2L * n) {
+            size <<= 1;
+        }
+        return (int) size;
+    }
+
+    static int slot(int hash, int tableSize) {
+        int h = hash * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & (tableSize - 1);
+    }
+
+    // Запись через буфер фиксированного размера с подсчётом CRC32
+    private static class ChunkWriter {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        private final CRC32 crc = new CRC32();
+
+        ChunkWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void putInt(int value) throws IOException {
+            if (buffer.remaining() < 4) flush();
+            buffer.putInt(value);
+        }
+
+        void putBytes(byte[] bytes) throws IOException {
+            int pos = 0;
+            while (pos < bytes.length) {
+                if (!buffer.hasRemaining()) flush();
+                int count = Math.min(buffer.remaining(), bytes.length - pos);
+                buffer.put(bytes, pos, count);
+                pos += count;
+            }
+        }
+
+        void finish() throws IOException {
+            flush();
+            buffer.putLong(crc.getValue());
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            crc.update(buffer.duplicate());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
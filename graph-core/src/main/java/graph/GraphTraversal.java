@@ -0,0 +1,185 @@
+package graph;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Ленивый обход графа в глубину или в ширину: следующая вершина вычисляется
+// только при вызове next(), поэтому поиск можно прервать в любой момент,
+// не собирая всю компоненту связности в список.
+// Порядок вершин совпадает с getDFSResult/getBFSResult.
+// Ограничение глубины считается в рёбрах кратчайшего пути от start: DFS может
+// сначала дойти до вершины длинным путём, поэтому вершина, до которой позже
+// нашёлся путь короче, раскрывается заново (но выдаётся один раз). Так при
+// maxDepth выдаются все вершины в пределах maxDepth рёбер, а обход стоит не
+// больше O(maxDepth * m).
+// Если граф изменился во время обхода, hasNext()/next() бросают ConcurrentModificationException
+public class GraphTraversal<V> implements Iterator<V> {
+    public static final int NO_LIMIT = Integer.MAX_VALUE;
+
+    private final SimpleGraph<V> graph;
+    private final boolean breadthFirst;
+    private final int maxDepth;
+    private final Consumer<V> onVisit;
+    // Эпоха графа при создании обхода
+    private final long epoch;
+
+    // Для BFS: уже поставленные в очередь вершины
+    private final MyHashSet<V> visited = new MyHashSet<>();
+    // Для DFS: наименьшая глубина, на которой вершина уже раскрывалась
+    private final MyObjIntMap<V> dfsDepths = new MyObjIntMap<>();
+    // Для DFS вершины и глубины лежат в стеках, для BFS - в очередях
+    private final MyStack<V> stack = new MyStack<>();
+    private final MyStack<Integer> stackDepths = new MyStack<>();
+    private final MyQueue<V> queue = new MyQueue<>();
+    private final MyQueue<Integer> queueDepths = new MyQueue<>();
+
+    private V nextVertex;
+    private int nextDepth;
+    private int lastDepth = -1;
+    private boolean stopped;
+
+    public GraphTraversal(SimpleGraph<V> graph, V start, boolean breadthFirst) {
+        this(graph, start, breadthFirst, NO_LIMIT, null);
+    }
+
+    // maxDepth - наибольшая глубина выдаваемых вершин (0 - только start),
+    // onVisit вызывается для каждой вершины при её выдаче и может быть null
+    public GraphTraversal(SimpleGraph<V> graph, V start, boolean breadthFirst, int maxDepth, Consumer<V> onVisit) {
+        if (maxDepth < 0) {
+            throw new IllegalArgumentException("Глубина не может быть отрицательной");
+        }
+        this.graph = graph;
+        this.breadthFirst = breadthFirst;
+        this.maxDepth = maxDepth;
+        this.onVisit = onVisit;
+        this.epoch = graph.getModificationEpoch();
+
+        if (graph.containsVertex(start)) {
+            if (breadthFirst) {
+                visited.add(start);
+                queue.offer(start);
+                queueDepths.offer(0);
+            } else {
+                stack.push(start);
+                stackDepths.push(0);
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordTraversal(0);
+    }
+
+    public boolean hasNext() {
+        if (nextVertex == null && !stopped) {
+            checkEpoch();
+            advance();
+        }
+        return nextVertex != null;
+    }
+
+    public V next() {
+        checkEpoch();
+        if (!hasNext()) {
+            throw new NoSuchElementException("Обход завершён");
+        }
+        V result = nextVertex;
+        lastDepth = nextDepth;
+        nextVertex = null;
+        if (GraphMetrics.enabled) GraphMetrics.recordVisit();
+        if (onVisit != null) {
+            onVisit.accept(result);
+        }
+        return result;
+    }
+
+    // Глубина последней выданной вершины: расстояние в рёбрах для BFS, глубина
+    // в дереве DFS (первый найденный путь) для DFS
+    public int depth() {
+        return lastDepth;
+    }
+
+    // Досрочное завершение: дальше hasNext() возвращает false
+    public void stop() {
+        stopped = true;
+        nextVertex = null;
+    }
+
+    public Spliterator<V> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this,
+            Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+    }
+
+    public Stream<V> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    private void checkEpoch() {
+        if (graph.getModificationEpoch() != epoch) {
+            throw new ConcurrentModificationException("Граф изменён во время обхода");
+        }
+    }
+
+    private void advance() {
+        if (breadthFirst) {
+            advanceBfs();
+        } else {
+            advanceDfs();
+        }
+    }
+
+    private void advanceBfs() {
+        if (queue.isEmpty()) return;
+
+        V current = queue.poll();
+        int depth = queueDepths.poll();
+        if (depth < maxDepth) {
+            MyObjIntMap<V> row = graph.adjacencyRow(current);
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V neighbor = row.keyAt(slot);
+                if (neighbor != null && visited.add(neighbor)) {
+                    queue.offer(neighbor);
+                    queueDepths.offer(depth + 1);
+                }
+            }
+        }
+        nextVertex = current;
+        nextDepth = depth;
+    }
+
+    private void advanceDfs() {
+        while (!stack.isEmpty()) {
+            V current = stack.pop();
+            int depth = stackDepths.pop();
+            boolean first = !dfsDepths.containsKey(current);
+            if (!first && !shorter(current, depth)) continue;
+            dfsDepths.put(current, depth);
+
+            if (depth < maxDepth) {
+                // Соседи кладутся в обратном порядке, чтобы первым снимался первый сосед
+                MyObjIntMap<V> row = graph.adjacencyRow(current);
+                for (int slot = row.capacity() - 1; slot >= 0; slot--) {
+                    V neighbor = row.keyAt(slot);
+                    if (neighbor != null && (!dfsDepths.containsKey(neighbor) || shorter(neighbor, depth + 1))) {
+                        stack.push(neighbor);
+                        stackDepths.push(depth + 1);
+                    }
+                }
+            }
+            if (first) {
+                nextVertex = current;
+                nextDepth = depth;
+                return;
+            }
+        }
+    }
+
+    // Стоит ли раскрыть уже найденную вершину заново на глубине depth. Без
+    // ограничения глубины всё достижимое из неё уже найдено
+    private boolean shorter(V v, int depth) {
+        return maxDepth != NO_LIMIT && depth < dfsDepths.get(v, NO_LIMIT);
+    }
+}
@@ -0,0 +1,173 @@
+package graph;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+// Неизменяемая версия графа из VersionedGraph. Держит корни персистентных
+// таблиц, поэтому создаётся за O(1) и не меняется, пока писатели строят
+// следующие версии: долгий алгоритм на GraphView видит одно состояние графа
+// от начала до конца. Методы изменения бросают UnsupportedOperationException
+public class GraphView<V> implements Graph<V> {
+    // Вершина: исходящие дуги и, для ориентированного графа, входящие
+    static final class Rows<V> {
+        final PersistentMap<V, Integer> out;
+        final PersistentMap<V, Integer> in;
+
+        Rows(PersistentMap<V, Integer> out, PersistentMap<V, Integer> in) {
+            this.out = out;
+            this.in = in;
+        }
+    }
+
+    final PersistentMap<V, Rows<V>> vertices;
+    final int arcCount;
+    final boolean directed;
+    private final long version;
+
+    GraphView(PersistentMap<V, Rows<V>> vertices, int arcCount, boolean directed, long version) {
+        this.vertices = vertices;
+        this.arcCount = arcCount;
+        this.directed = directed;
+        this.version = version;
+    }
+
+    // Номер версии: увеличивается на каждое изменение графа
+    public long getVersion() {
+        return version;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public void addVertex(V v) {
+        throw new UnsupportedOperationException("Снимок графа доступен только для чтения");
+    }
+
+    public void addEdge(V from, V to, int weight) {
+        throw new UnsupportedOperationException("Снимок графа доступен только для чтения");
+    }
+
+    public void removeVertex(V v) {
+        throw new UnsupportedOperationException("Снимок графа доступен только для чтения");
+    }
+
+    public void removeEdge(V from, V to) {
+        throw new UnsupportedOperationException("Снимок графа доступен только для чтения");
+    }
+
+    public MyArrayList<V> getAdjacent(V v) {
+        Rows<V> rows = vertices.get(v);
+        return rows == null ? new MyArrayList<>() : rows.out.keySet();
+    }
+
+    public MyArrayList<V> getPredecessors(V v) {
+        Rows<V> rows = vertices.get(v);
+        if (rows == null) return new MyArrayList<>();
+        return directed ? rows.in.keySet() : rows.out.keySet();
+    }
+
+    public MyArrayList<V> getVertices() {
+        return vertices.keySet();
+    }
+
+    public boolean containsVertex(V v) {
+        return vertices.containsKey(v);
+    }
+
+    public boolean containsEdge(V from, V to) {
+        Rows<V> rows = vertices.get(from);
+        return rows != null && rows.out.containsKey(to);
+    }
+
+    public Integer getEdgeWeight(V from, V to) {
+        Rows<V> rows = vertices.get(from);
+        return rows == null ? null : rows.out.get(to);
+    }
+
+    public void dfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        System.out.println("DFS обход из " + start + ": " + toCsr().getDFSResult(start));
+    }
+
+    public void bfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        System.out.println("BFS обход из " + start + ": " + toCsr().getBFSResult(start));
+    }
+
+    public MyHashMap<V, Integer> dijkstra(V start) {
+        return toCsr().dijkstra(start);
+    }
+
+    // Номера строк и столбцов - номера вершин в getVertices()
+    public int[][] floydWarshall() {
+        return toCsr().floydWarshall();
+    }
+
+    public MyHashMap<V, Integer> bellmanFord(V start) {
+        return toCsr().bellmanFord(start);
+    }
+
+    public PathResult<V> shortestPath(V from, V to) {
+        return PointToPoint.bidirectional(arcs(), from, to, containsVertex(from), containsVertex(to));
+    }
+
+    public PathResult<V> shortestPath(V from, V to, ToIntFunction<V> heuristic) {
+        return PointToPoint.astar(arcs(), from, to, heuristic, containsVertex(from), containsVertex(to));
+    }
+
+    private PointToPoint.ArcSource<V> arcs() {
+        return new PointToPoint.ArcSource<V>() {
+            public void forEachOut(V v, ObjIntConsumer<V> action) {
+                Rows<V> rows = vertices.get(v);
+                if (rows != null) rows.out.forEach(action::accept);
+            }
+
+            public void forEachIn(V v, ObjIntConsumer<V> action) {
+                Rows<V> rows = vertices.get(v);
+                if (rows != null) (directed ? rows.in : rows.out).forEach(action::accept);
+            }
+        };
+    }
+
+    public int getVertexCount() {
+        return vertices.size();
+    }
+
+    public int getEdgeCount() {
+        return directed ? arcCount : arcCount / 2;
+    }
+
+    // Снимок в формате CSR; номера вершин совпадают с порядком getVertices()
+    public CsrGraph<V> toCsr() {
+        MyArrayList<V> list = getVertices();
+        int n = list.size();
+        Object[] idToVertex = new Object[n];
+        MyObjIntMap<V> ids = new MyObjIntMap<>(n);
+        for (int i = 0; i < n; i++) {
+            idToVertex[i] = list.get(i);
+            ids.put(list.get(i), i);
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[arcCount];
+        int[] weights = new int[arcCount];
+        int[] pos = new int[1];
+        for (int i = 0; i < n; i++) {
+            offsets[i] = pos[0];
+            vertices.get(list.get(i)).out.forEach((to, weight) -> {
+                targets[pos[0]] = ids.get(to, -1);
+                weights[pos[0]] = weight;
+                pos[0]++;
+            });
+        }
+        offsets[n] = pos[0];
+        return new CsrGraph<>(idToVertex, ids, offsets, targets, weights, directed);
+    }
+}
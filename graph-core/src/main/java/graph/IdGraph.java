@@ -0,0 +1,19 @@
+package graph;
+
+// Граф с вершинами 0..n-1 и дугами, пронумерованными подряд по вершинам (CSR):
+// дуги вершины u - это номера [firstArc(u), endArc(u)). Между отрезками разных
+// вершин номера могут идти с пропусками, getArcCount - число самих дуг.
+// Общий вид для снимков в куче, снимков, отображённых из файла, и графа вне кучи
+public interface IdGraph {
+    int getVertexCount();
+
+    int getArcCount();
+
+    int firstArc(int u);
+
+    int endArc(int u);
+
+    int target(int arc);
+
+    int weight(int arc);
+}
@@ -0,0 +1,279 @@
+package graph;
+
+import java.util.concurrent.CancellationException;
+
+// Алгоритмы над IdGraph: работают только с номерами вершин и дуг,
+// поэтому одинаково подходят для CsrGraph, MappedGraph и OffHeapGraph
+final class IdGraphAlgorithms {
+    static final int INF = Integer.MAX_VALUE;
+
+    // Как часто долгие циклы отчитываются о ходе вычисления (маска числа шагов)
+    static final int REPORT_MASK = 1023;
+
+    private IdGraphAlgorithms() {
+    }
+
+    // Отчёт о ходе вычисления; бросает CancellationException, если его отменили
+    static void report(AlgorithmProgress progress, long done, long total) {
+        if (progress == null) return;
+        if (progress.isCancelled() || Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Вычисление отменено");
+        }
+        progress.update(done, total);
+    }
+
+    // Порядок обхода в глубину в виде номеров вершин
+    static int[] dfs(IdGraph g, int start) {
+        int n = g.getVertexCount();
+        int[] order = new int[n];
+        int count = 0;
+        boolean[] visited = new boolean[n];
+        int[] stack = new int[g.getArcCount() + 1];
+        int top = 0;
+        stack[top++] = start;
+
+        while (top > 0) {
+            int u = stack[--top];
+            if (visited[u]) continue;
+            visited[u] = true;
+            order[count++] = u;
+
+            // Кладём соседей в обратном порядке, чтобы первым снимался первый сосед
+            for (int a = g.endArc(u) - 1; a >= g.firstArc(u); a--) {
+                int v = g.target(a);
+                if (!visited[v]) {
+                    stack[top++] = v;
+                }
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordTraversal(count);
+        return trim(order, count);
+    }
+
+    // Порядок обхода в ширину в виде номеров вершин
+    static int[] bfs(IdGraph g, int start) {
+        int n = g.getVertexCount();
+        int[] queue = new int[n];
+        boolean[] visited = new boolean[n];
+        int head = 0;
+        int tail = 0;
+        visited[start] = true;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = g.firstArc(u); a < g.endArc(u); a++) {
+                int v = g.target(a);
+                if (!visited[v]) {
+                    visited[v] = true;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordTraversal(tail);
+        return trim(queue, tail);
+    }
+
+    // Дейкстра на индексированной куче; prev может быть null
+    static int[] dijkstra(IdGraph g, int source, int[] prev) {
+        return dijkstra(g, source, prev, null);
+    }
+
+    // То же с отчётом о числе окончательно найденных расстояний; progress может быть null
+    static int[] dijkstra(IdGraph g, int source, int[] prev, AlgorithmProgress progress) {
+        int n = g.getVertexCount();
+        int[] dist = new int[n];
+        boolean[] settled = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            dist[i] = INF;
+            if (prev != null) prev[i] = -1;
+        }
+
+        MyIndexedMinHeap heap = new MyIndexedMinHeap(n);
+        dist[source] = 0;
+        heap.insert(source, 0);
+
+        int settledCount = 0;
+        long relaxations = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled[u] = true;
+            if ((++settledCount & REPORT_MASK) == 0) report(progress, settledCount, n);
+            relaxations += g.endArc(u) - g.firstArc(u);
+            for (int a = g.firstArc(u); a < g.endArc(u); a++) {
+                int w = g.weight(a);
+                if (w < 0) {
+                    throw new IllegalStateException("Алгоритм Дейкстры не работает с отрицательными весами");
+                }
+                int v = g.target(a);
+                if (settled[v]) continue;
+
+                long candidate = (long) dist[u] + w;
+                if (candidate < dist[v]) {
+                    dist[v] = (int) candidate;
+                    if (prev != null) prev[v] = u;
+                    heap.insertOrDecrease(v, dist[v]);
+                }
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordDijkstra(settledCount, relaxations);
+        return dist;
+    }
+
+    // Беллман-Форд с очередью (SPFA): релаксируются только рёбра вершин, расстояние
+    // до которых изменилось, и работа заканчивается, как только очередь пуста.
+    // Заполняет dist и prev (prev может быть null). Возвращает вершину, лежащую на
+    // достижимом цикле отрицательного веса, или -1, если такого цикла нет
+    static int bellmanFord(IdGraph g, int source, int[] dist, int[] prev) {
+        return bellmanFord(g, source, dist, prev, null);
+    }
+
+    // То же с отчётом о числе обработанных вершин очереди (общее число неизвестно)
+    static int bellmanFord(IdGraph g, int source, int[] dist, int[] prev, AlgorithmProgress progress) {
+        int n = g.getVertexCount();
+        int[] parent = prev != null ? prev : new int[n];
+        long[] work = new long[n];
+        for (int i = 0; i < n; i++) {
+            work[i] = INF;
+            parent[i] = -1;
+        }
+
+        int[] queue = new int[n];
+        work[source] = 0;
+        queue[0] = source;
+        int witness = relaxQueue(g, work, parent, queue, 1, progress);
+        for (int i = 0; i < n; i++) {
+            dist[i] = (int) Math.max(work[i], Integer.MIN_VALUE);
+        }
+        return witness;
+    }
+
+    // Потенциалы для алгоритма Джонсона: расстояния от фиктивной вершины, из которой
+    // во все вершины ведут рёбра веса 0 (поэтому все h[v] <= 0). Вместо фиктивной
+    // вершины в очередь сразу кладутся все вершины с нулевым расстоянием.
+    // Потенциалы - long: цепочка больших отрицательных весов уводит их за границу int.
+    // Возвращает вершину на цикле отрицательного веса или -1
+    static int potentials(IdGraph g, long[] h, AlgorithmProgress progress) {
+        int n = g.getVertexCount();
+        int[] parent = new int[n];
+        int[] queue = new int[n];
+        for (int i = 0; i < n; i++) {
+            h[i] = 0;
+            parent[i] = -1;
+            queue[i] = i;
+        }
+        return relaxQueue(g, h, parent, queue, n, progress);
+    }
+
+    // Основной цикл SPFA; в начале в кольцевой очереди лежат size вершин с queue[0].
+    // Расстояния - long: если прижимать их к границе int, отрицательный цикл
+    // перестаёт уменьшать расстояния, не набрав n рёбер, и остаётся незамеченным
+    private static int relaxQueue(IdGraph g, long[] dist, int[] parent, int[] queue, int size,
+                                  AlgorithmProgress progress) {
+        int n = g.getVertexCount();
+        // Число рёбер в текущем кратчайшем пути; n и больше - значит, путь зациклился
+        int[] hops = new int[n];
+        boolean[] inQueue = new boolean[n];
+        for (int i = 0; i < size; i++) {
+            inQueue[queue[i]] = true;
+        }
+
+        int head = 0;
+        long polled = 0;
+        long relaxations = 0;
+        while (size > 0) {
+            if ((++polled & REPORT_MASK) == 0) report(progress, polled, 0);
+            int u = queue[head];
+            head = head + 1 == n ? 0 : head + 1;
+            size--;
+            inQueue[u] = false;
+            relaxations += g.endArc(u) - g.firstArc(u);
+
+            for (int a = g.firstArc(u); a < g.endArc(u); a++) {
+                int v = g.target(a);
+                long candidate = dist[u] + g.weight(a);
+                if (candidate < dist[v]) {
+                    dist[v] = candidate;
+                    parent[v] = u;
+                    hops[v] = hops[u] + 1;
+                    if (hops[v] >= n) {
+                        if (GraphMetrics.enabled) GraphMetrics.recordBellmanFord(relaxations);
+                        return cycleVertex(parent, v, n);
+                    }
+                    if (!inQueue[v]) {
+                        int tail = head + size;
+                        queue[tail >= n ? tail - n : tail] = v;
+                        inQueue[v] = true;
+                        size++;
+                    }
+                }
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordBellmanFord(relaxations);
+        return -1;
+    }
+
+    // Из вершины, путь до которой зациклился, n шагов по предкам гарантированно приводят в цикл
+    private static int cycleVertex(int[] prev, int v, int n) {
+        for (int i = 0; i < n; i++) {
+            v = prev[v];
+        }
+        return v;
+    }
+
+    // Вершины отрицательного цикла в порядке обхода рёбер, начиная с witness
+    static int[] negativeCycle(int[] prev, int witness) {
+        int length = 1;
+        for (int v = prev[witness]; v != witness; v = prev[v]) {
+            length++;
+        }
+        int[] cycle = new int[length];
+        int v = witness;
+        for (int i = length - 1; i >= 0; i--) {
+            cycle[i] = v;
+            v = prev[v];
+        }
+        return cycle;
+    }
+
+    // Флойд-Уоршелл; матрица заполняется одним проходом по рёбрам, недостижимость - INF.
+    // Если next != null, туда записывается матрица следующих вершин
+    static int[][] floydWarshall(IdGraph g, int[][] next) {
+        return floydWarshall(g, next, null);
+    }
+
+    static int[][] floydWarshall(IdGraph g, int[][] next, AlgorithmProgress progress) {
+        long seedStart = System.nanoTime();
+        int n = g.getVertexCount();
+        int[][] dist = FloydWarshall.newDistanceMatrix(n);
+        if (next != null) {
+            int[][] initial = FloydWarshall.newNextMatrix(n);
+            for (int i = 0; i < n; i++) {
+                next[i] = initial[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int a = g.firstArc(i); a < g.endArc(i); a++) {
+                FloydWarshall.seedEdge(dist, next, i, g.target(a), g.weight(a));
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordFloydWarshallSeed(System.nanoTime() - seedStart);
+
+        FloydWarshall.run(dist, next, progress);
+        return dist;
+    }
+
+    static int[] filledWithInf(int n) {
+        int[] dist = new int[n];
+        for (int i = 0; i < n; i++) {
+            dist[i] = INF;
+        }
+        return dist;
+    }
+
+    private static int[] trim(int[] array, int length) {
+        int[] result = new int[length];
+        System.arraycopy(array, 0, result, 0, length);
+        return result;
+    }
+}
@@ -0,0 +1,290 @@
+package graph;
+
+// Поддерживаемая матрица кратчайших путей между всеми парами вершин.
+// Изменения графа выполняются через методы этого класса, матрица
+// обновляется сразу:
+//
+//   новое ребро или уменьшение веса - O(n^2): каждый путь i -> j сравнивается
+//     с путём i -> u -> v -> j через новую дугу u -> v;
+//   удаление ребра, увеличение веса, удаление вершины - пересчитываются только
+//     строки-источники, чьи кратчайшие пути проходили через изменённую дугу или
+//     вершину (Дейкстра от каждого); если таких строк больше половины или в
+//     графе есть отрицательные веса, матрица строится заново Флойдом-Уоршеллом.
+//
+// Если граф изменили в обход этого класса, это видно по эпохе графа, и при
+// следующем обращении матрица пересчитывается целиком
+public class IncrementalShortestPaths<V> {
+    public static final int INF = FloydWarshall.INF;
+
+    private final SimpleGraph<V> graph;
+    private long graphEpoch = -1;
+
+    // Порядок вершин в матрице; удалённая вершина заменяется последней
+    private MyArrayList<V> vertices;
+    private MyObjIntMap<V> index;
+    private int[][] dist;
+    private int n;
+    private boolean negativeCycle;
+
+    private long incrementalUpdates;
+    private long partialRecomputations;
+    private long fullRecomputations;
+
+    public IncrementalShortestPaths(SimpleGraph<V> graph) {
+        this.graph = graph;
+        ensureFresh();
+    }
+
+    public void addVertex(V v) {
+        ensureFresh();
+        if (graph.containsVertex(v)) return;
+        graph.addVertex(v);
+        graphEpoch = graph.getModificationEpoch();
+
+        if (n == dist.length) grow();
+        for (int i = 0; i < n; i++) {
+            dist[i][n] = INF;
+            dist[n][i] = INF;
+        }
+        dist[n][n] = 0;
+        vertices.add(v);
+        index.put(v, n);
+        n++;
+    }
+
+    public void addEdge(V from, V to, int weight) {
+        ensureFresh();
+        Integer old = graph.getEdgeWeight(from, to);
+        if (old != null && old < weight) {
+            // Увеличение веса равносильно удалению дуги со старым весом
+            boolean[] affected = new boolean[n];
+            markArc(affected, index.get(from, -1), index.get(to, -1), old);
+            if (!graph.isDirected()) markArc(affected, index.get(to, -1), index.get(from, -1), old);
+            graph.addEdge(from, to, weight);
+            graphEpoch = graph.getModificationEpoch();
+            recomputeSources(affected);
+            return;
+        }
+
+        addVertex(from);
+        addVertex(to);
+        graph.addEdge(from, to, weight);
+        graphEpoch = graph.getModificationEpoch();
+        if (old != null && old == weight) return;
+
+        int u = index.get(from, -1);
+        int v = index.get(to, -1);
+        if (!relax(u, v, weight) || (!graph.isDirected() && !relax(v, u, weight))) {
+            recomputeAll();
+            return;
+        }
+        incrementalUpdates++;
+    }
+
+    // Пути через новую дугу u -> v; false, если дуга замыкает отрицательный цикл
+    // и обновление по формуле невозможно
+    private boolean relax(int u, int v, int weight) {
+        if (negativeCycle) return false;
+        if (dist[v][u] != INF && (long) dist[v][u] + weight < 0) return false;
+        int[] rowV = dist[v];
+        for (int i = 0; i < n; i++) {
+            int[] rowI = dist[i];
+            if (rowI[u] == INF) continue;
+            long base = (long) rowI[u] + weight;
+            // Если дуга не улучшает путь до v, то не улучшит и пути дальше
+            if (base >= rowI[v]) continue;
+            for (int j = 0; j < n; j++) {
+                if (rowV[j] == INF) continue;
+                long candidate = base + rowV[j];
+                if (candidate < rowI[j]) rowI[j] = (int) candidate;
+            }
+        }
+        return true;
+    }
+
+    public void removeEdge(V from, V to) {
+        ensureFresh();
+        Integer old = graph.getEdgeWeight(from, to);
+        if (old == null) return;
+        boolean[] affected = new boolean[n];
+        markArc(affected, index.get(from, -1), index.get(to, -1), old);
+        if (!graph.isDirected()) markArc(affected, index.get(to, -1), index.get(from, -1), old);
+        graph.removeEdge(from, to);
+        graphEpoch = graph.getModificationEpoch();
+        recomputeSources(affected);
+    }
+
+    public void removeVertex(V v) {
+        ensureFresh();
+        int x = index.get(v, -1);
+        if (x < 0) return;
+
+        boolean[] affected = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            if (i == x || dist[i][x] == INF) continue;
+            for (int j = 0; j < n && !affected[i]; j++) {
+                if (j != x && dist[x][j] != INF && (long) dist[i][x] + dist[x][j] == dist[i][j]) {
+                    affected[i] = true;
+                }
+            }
+        }
+        graph.removeVertex(v);
+        graphEpoch = graph.getModificationEpoch();
+
+        // Последняя вершина переезжает на место удалённой
+        int last = n - 1;
+        for (int i = 0; i < n; i++) {
+            dist[i][x] = dist[i][last];
+        }
+        int[] row = dist[x];
+        dist[x] = dist[last];
+        dist[last] = row;
+        affected[x] = affected[last];
+        V moved = vertices.get(last);
+        vertices.set(x, moved);
+        vertices.remove(last);
+        index.remove(v);
+        if (x != last) index.put(moved, x);
+        n--;
+
+        recomputeSources(affected);
+    }
+
+    // Источники, у которых кратчайший путь до какой-то вершины идёт по дуге u -> v
+    private void markArc(boolean[] affected, int u, int v, int weight) {
+        for (int i = 0; i < n; i++) {
+            if (affected[i] || dist[i][u] == INF) continue;
+            long base = (long) dist[i][u] + weight;
+            if (base != dist[i][v]) continue;
+            for (int j = 0; j < n; j++) {
+                if (dist[v][j] != INF && base + dist[v][j] == dist[i][j]) {
+                    affected[i] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    private void recomputeSources(boolean[] affected) {
+        // При отрицательном цикле матрица не содержит кратчайших путей, и по ней
+        // нельзя понять, какие строки изменились; удаление могло разорвать цикл
+        if (negativeCycle) {
+            recomputeAll();
+            return;
+        }
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            if (affected[i]) count++;
+        }
+        if (count == 0) return;
+        if (count * 2 > n) {
+            recomputeAll();
+            return;
+        }
+
+        CsrGraph<V> csr = graph.toCsr();
+        for (int arc = 0; arc < csr.getArcCount(); arc++) {
+            if (csr.weight(arc) < 0) {
+                recomputeAll();
+                return;
+            }
+        }
+        int[] toLocal = new int[n];
+        for (int id = 0; id < n; id++) {
+            toLocal[id] = index.get(csr.vertexOf(id), -1);
+        }
+        for (int i = 0; i < n; i++) {
+            if (!affected[i]) continue;
+            int[] d = csr.dijkstraById(csr.idOf(vertices.get(i)), null);
+            for (int id = 0; id < n; id++) {
+                dist[i][toLocal[id]] = d[id];
+            }
+        }
+        partialRecomputations++;
+    }
+
+    private void ensureFresh() {
+        if (graph.getModificationEpoch() != graphEpoch) recomputeAll();
+    }
+
+    private void recomputeAll() {
+        vertices = graph.getVertices();
+        n = vertices.size();
+        index = new MyObjIntMap<>(n);
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        int[][] computed = graph.floydWarshall();
+        dist = new int[Math.max(n, 4)][];
+        for (int i = 0; i < dist.length; i++) {
+            dist[i] = new int[dist.length];
+            if (i < n) System.arraycopy(computed[i], 0, dist[i], 0, n);
+        }
+        negativeCycle = FloydWarshall.hasNegativeCycle(computed);
+        graphEpoch = graph.getModificationEpoch();
+        fullRecomputations++;
+    }
+
+    // Запас по размеру матрицы, чтобы добавление вершины было O(n) в среднем
+    private void grow() {
+        int capacity = dist.length * 2;
+        int[][] grown = new int[capacity][];
+        for (int i = 0; i < capacity; i++) {
+            grown[i] = new int[capacity];
+            if (i < n) System.arraycopy(dist[i], 0, grown[i], 0, n);
+        }
+        dist = grown;
+    }
+
+    // Расстояние from -> to; INF, если пути нет или вершины не существует
+    public int distance(V from, V to) {
+        ensureFresh();
+        int i = index.get(from, -1);
+        int j = index.get(to, -1);
+        return i < 0 || j < 0 ? INF : dist[i][j];
+    }
+
+    // Копия матрицы n x n; номера строк и столбцов - индексы в getVertices()
+    public int[][] getDistances() {
+        ensureFresh();
+        int[][] result = new int[n][];
+        for (int i = 0; i < n; i++) {
+            result[i] = new int[n];
+            System.arraycopy(dist[i], 0, result[i], 0, n);
+        }
+        return result;
+    }
+
+    // Порядок вершин в матрице (отличается от порядка graph.getVertices())
+    public MyArrayList<V> getVertices() {
+        ensureFresh();
+        MyArrayList<V> result = new MyArrayList<>(Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            result.add(vertices.get(i));
+        }
+        return result;
+    }
+
+    public boolean hasNegativeCycle() {
+        ensureFresh();
+        return negativeCycle;
+    }
+
+    public SimpleGraph<V> getGraph() {
+        return graph;
+    }
+
+    // Статистика: сколько изменений обработано за O(n^2), сколько частичных
+    // и полных пересчётов понадобилось
+    public long getIncrementalUpdates() {
+        return incrementalUpdates;
+    }
+
+    public long getPartialRecomputations() {
+        return partialRecomputations;
+    }
+
+    public long getFullRecomputations() {
+        return fullRecomputations;
+    }
+}
@@ -0,0 +1,130 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ObjIntConsumer;
+import java.util.stream.IntStream;
+
+// Алгоритм Джонсона: кратчайшие пути между всеми парами за O(n * m * log n)
+// вместо O(n^3) у Флойда-Уоршелла - на разреженных графах это намного быстрее,
+// а строки можно отдавать по одной, не держа в памяти матрицу n x n.
+// Один проход Беллмана-Форда от фиктивной вершины даёт потенциалы h, с которыми
+// веса w + h[u] - h[v] неотрицательны, и затем Дейкстра запускается из каждой
+// вершины. Источники идут пачками: внутри пачки - параллельно в общем
+// ForkJoinPool, между пачками отправляется отчёт и проверяется отмена, так что
+// AlgorithmProgress вызывается только из потока, запустившего алгоритм
+final class Johnson {
+    static final int INF = Integer.MAX_VALUE;
+
+    // Меньшие графы быстрее посчитать в одном потоке
+    private static final int PARALLEL_THRESHOLD = 256;
+    // Источников на поток в одной пачке
+    private static final int SOURCES_PER_WORKER = 16;
+
+    private Johnson() {
+    }
+
+    // Матрица расстояний по номерам вершин
+    static int[][] matrix(IdGraph g, AlgorithmProgress progress) {
+        int[][] dist = new int[g.getVertexCount()][];
+        run(g, (row, source) -> dist[source] = row.clone(), progress);
+        return dist;
+    }
+
+    // Строки расстояний отдаются rows как (строка, номер источника) из потоков пула;
+    // массив строки переиспользуется после возврата. Бросает IllegalStateException,
+    // если в графе есть цикл отрицательного веса
+    static void run(IdGraph g, ObjIntConsumer<int[]> rows, AlgorithmProgress progress) {
+        int n = g.getVertexCount();
+        long[] h = new long[n];
+        if (IdGraphAlgorithms.potentials(g, h, progress) >= 0) {
+            throw new IllegalStateException("Граф содержит цикл отрицательного веса");
+        }
+
+        int workers = n >= PARALLEL_THRESHOLD ? Math.max(1, ForkJoinPool.getCommonPoolParallelism()) : 1;
+        Search[] searches = new Search[workers];
+        for (int w = 0; w < workers; w++) {
+            searches[w] = new Search(g, h);
+        }
+
+        int batch = workers * SOURCES_PER_WORKER;
+        for (int from = 0; from < n; from += batch) {
+            IdGraphAlgorithms.report(progress, from, n);
+            final int start = from;
+            final int end = Math.min(n, from + batch);
+            IntStream slots = IntStream.range(0, workers);
+            if (workers > 1) slots = slots.parallel();
+            slots.forEach(w -> {
+                Search search = searches[w];
+                for (int s = start + w; s < end; s += workers) {
+                    rows.accept(search.run(s), s);
+                }
+            });
+        }
+    }
+
+    // Дейкстра по изменённым весам; массивы и куча переиспользуются между источниками.
+    // Изменённое расстояние d(s, v) + h[s] - h[v] может не поместиться в int,
+    // даже когда само d(s, v) помещается, поэтому расстояния и ключи кучи - long
+    private static final class Search {
+        private final IdGraph g;
+        private final long[] h;
+        private final long[] dist;
+        private final int[] row;
+        private final boolean[] settled;
+        private final MyLazyMinHeap heap = new MyLazyMinHeap();
+
+        Search(IdGraph g, long[] h) {
+            this.g = g;
+            this.h = h;
+            int n = g.getVertexCount();
+            dist = new long[n];
+            row = new int[n];
+            settled = new boolean[n];
+        }
+
+        int[] run(int source) {
+            Arrays.fill(dist, Long.MAX_VALUE);
+            Arrays.fill(settled, false);
+            heap.clear();
+            dist[source] = 0;
+            heap.add(source, 0);
+
+            int settledCount = 0;
+            long relaxations = 0;
+            while (!heap.isEmpty()) {
+                int u = heap.poll();
+                // Устаревшая пара: вершина уже извлечена с меньшим ключом
+                if (settled[u]) continue;
+                settled[u] = true;
+                settledCount++;
+                long du = dist[u] + h[u];
+                relaxations += g.endArc(u) - g.firstArc(u);
+                for (int a = g.firstArc(u); a < g.endArc(u); a++) {
+                    int v = g.target(a);
+                    if (settled[v]) continue;
+
+                    long candidate = du + g.weight(a) - h[v];
+                    if (candidate < dist[v]) {
+                        dist[v] = candidate;
+                        heap.add(v, candidate);
+                    }
+                }
+            }
+            if (GraphMetrics.enabled) GraphMetrics.recordDijkstra(settledCount, relaxations);
+
+            // Возврат к исходным весам: d(s, v) = d'(s, v) - h[s] + h[v]; как и у
+            // Флойда-Уоршелла, слишком большие расстояния прижимаются к INF - 1
+            long hs = h[source];
+            for (int v = 0; v < row.length; v++) {
+                if (!settled[v]) {
+                    row[v] = INF;
+                    continue;
+                }
+                long d = dist[v] - hs + h[v];
+                row[v] = d >= INF ? INF - 1 : (int) Math.max(d, Integer.MIN_VALUE);
+            }
+            return row;
+        }
+    }
+}
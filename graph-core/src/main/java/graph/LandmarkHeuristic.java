@@ -0,0 +1,98 @@
+package graph;
+
+import java.util.function.ToIntFunction;
+
+// Эвристика ALT (A*, ориентиры, неравенство треугольника) для shortestPath.
+// Для нескольких вершин-ориентиров L заранее считаются расстояния d(L, v) и
+// d(v, L) до всех вершин; тогда для любой цели t
+//   d(v, t) >= max(d(L, t) - d(L, v), d(v, L) - d(t, L)),
+// и максимум по ориентирам - допустимая оценка для A*.
+//
+// Ориентиры выбираются жадно: каждый следующий - вершина, самая далёкая от
+// уже выбранных. Эвристика построена по снимку графа и верна, пока веса рёбер
+// не уменьшались и новые рёбра не добавлялись; после таких изменений её нужно
+// построить заново. Отрицательные веса не поддерживаются
+public class LandmarkHeuristic<V> {
+    private static final int INF = CsrGraph.INF;
+
+    private final CsrGraph<V> graph;
+    // fromLandmark[k][v] = d(L_k, v), toLandmark[k][v] = d(v, L_k)
+    private final int[][] fromLandmark;
+    private final int[][] toLandmark;
+    private final int[] landmarks;
+
+    public LandmarkHeuristic(CsrGraph<V> graph, int count) {
+        if (count <= 0) throw new IllegalArgumentException("Число ориентиров должно быть положительным");
+        this.graph = graph;
+        int n = graph.getVertexCount();
+        count = Math.min(count, n);
+        CsrGraph<V> reverse = graph.transpose();
+        fromLandmark = new int[count][];
+        toLandmark = new int[count][];
+        landmarks = new int[count];
+
+        // Минимальное расстояние от каждой вершины до выбранных ориентиров
+        long[] nearest = new long[n];
+        for (int v = 0; v < n; v++) {
+            nearest[v] = Long.MAX_VALUE;
+        }
+        int next = 0;
+        for (int k = 0; k < count; k++) {
+            landmarks[k] = next;
+            fromLandmark[k] = graph.dijkstraById(next, null);
+            toLandmark[k] = graph.isDirected() ? reverse.dijkstraById(next, null) : fromLandmark[k];
+
+            long farthest = -1;
+            for (int v = 0; v < n; v++) {
+                // Недостижимые вершины считаются самыми далёкими: ориентир
+                // в другой компоненте связности даёт оценки и для неё
+                long d = fromLandmark[k][v] == INF ? Long.MAX_VALUE / 2 : fromLandmark[k][v];
+                if (d < nearest[v]) nearest[v] = d;
+                if (nearest[v] > farthest) {
+                    farthest = nearest[v];
+                    next = v;
+                }
+            }
+        }
+    }
+
+    // Нижняя оценка d(v, t) по номерам вершин снимка
+    public int estimate(int v, int t) {
+        long best = 0;
+        for (int k = 0; k < landmarks.length; k++) {
+            int lv = fromLandmark[k][v];
+            int lt = fromLandmark[k][t];
+            if (lt == INF) {
+                // Из L достижима v, но не t - значит и из v в t не попасть
+                if (lv != INF) return INF;
+            } else if (lv != INF) {
+                best = Math.max(best, (long) lt - lv);
+            }
+            int vl = toLandmark[k][v];
+            int tl = toLandmark[k][t];
+            if (tl != INF) {
+                // Из t можно дойти до L, а из v нельзя - значит и в t нельзя
+                if (vl == INF) return INF;
+                best = Math.max(best, (long) vl - tl);
+            }
+        }
+        return (int) Math.min(best, INF - 1);
+    }
+
+    // Эвристика для shortestPath(from, target, heuristic)
+    public ToIntFunction<V> toward(V target) {
+        int t = graph.idOf(target);
+        return v -> {
+            int id = graph.idOf(v);
+            return id < 0 || t < 0 ? 0 : estimate(id, t);
+        };
+    }
+
+    public MyArrayList<V> getLandmarks() {
+        MyArrayList<V> result = new MyArrayList<>(Math.max(landmarks.length, 1));
+        for (int i = 0; i < landmarks.length; i++) {
+            result.add(graph.vertexOf(landmarks[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,191 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Граф, открытый из файла GraphSnapshot. Массивы CSR и словарь вершин не
+// копируются в кучу: все обращения идут к отображённому буферу, страницы
+// файла подгружаются операционной системой по мере обхода.
+// Вершины - строки, как они были записаны в снимок
+public class MappedGraph implements IdGraph {
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final IntBuffer weights;
+    private final IntBuffer nameOffsets;
+    private final IntBuffer table;
+    private final ByteBuffer names;
+    private final int vertexCount;
+    private final int arcCount;
+    private final int tableSize;
+    private final boolean directed;
+
+    MappedGraph(ByteBuffer buffer, int n, int m, int tableSize, int nameBytes, boolean directed) {
+        this.vertexCount = n;
+        this.arcCount = m;
+        this.tableSize = tableSize;
+        this.directed = directed;
+
+        int pos = GraphSnapshot.HEADER_SIZE;
+        offsets = ints(buffer, pos, n + 1);
+        pos += (n + 1) * 4;
+        targets = ints(buffer, pos, m);
+        pos += m * 4;
+        weights = ints(buffer, pos, m);
+        pos += m * 4;
+        nameOffsets = ints(buffer, pos, n + 1);
+        pos += (n + 1) * 4;
+        table = ints(buffer, pos, tableSize);
+        pos += tableSize * 4;
+        names = slice(buffer, pos, nameBytes);
+    }
+
+    private static ByteBuffer slice(ByteBuffer buffer, int pos, int length) {
+        ByteBuffer view = buffer.duplicate();
+        view.position(pos).limit(pos + length);
+        return view.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    private static IntBuffer ints(ByteBuffer buffer, int pos, int count) {
+        return slice(buffer, pos, count * 4).asIntBuffer();
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getArcCount() {
+        return arcCount;
+    }
+
+    public int getEdgeCount() {
+        return directed ? arcCount : arcCount / 2;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public int firstArc(int u) {
+        return offsets.get(u);
+    }
+
+    public int endArc(int u) {
+        return offsets.get(u + 1);
+    }
+
+    public int target(int arc) {
+        return targets.get(arc);
+    }
+
+    public int weight(int arc) {
+        return weights.get(arc);
+    }
+
+    public String vertexOf(int id) {
+        int start = nameOffsets.get(id);
+        int length = nameOffsets.get(id + 1) - start;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = names.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // Поиск по хеш-таблице из файла; -1, если вершины нет
+    public int idOf(String vertex) {
+        if (vertex == null) return -1;
+        byte[] bytes = vertex.getBytes(StandardCharsets.UTF_8);
+        int slot = GraphSnapshot.slot(vertex.hashCode(), tableSize);
+        int entry;
+        while ((entry = table.get(slot)) != 0) {
+            if (nameEquals(entry - 1, bytes)) return entry - 1;
+            slot = (slot + 1) & (tableSize - 1);
+        }
+        return -1;
+    }
+
+    private boolean nameEquals(int id, byte[] bytes) {
+        int start = nameOffsets.get(id);
+        if (nameOffsets.get(id + 1) - start != bytes.length) return false;
+        for (int i = 0; i < bytes.length; i++) {
+            if (names.get(start + i) != bytes[i]) return false;
+        }
+        return true;
+    }
+
+    public boolean containsVertex(String vertex) {
+        return idOf(vertex) >= 0;
+    }
+
+    public Integer getEdgeWeight(String from, String to) {
+        int u = idOf(from);
+        int v = idOf(to);
+        if (u < 0 || v < 0) return null;
+        for (int a = firstArc(u); a < endArc(u); a++) {
+            if (targets.get(a) == v) return weights.get(a);
+        }
+        return null;
+    }
+
+    public int[] dfsById(int start) {
+        return IdGraphAlgorithms.dfs(this, start);
+    }
+
+    public int[] bfsById(int start) {
+        return IdGraphAlgorithms.bfs(this, start);
+    }
+
+    public int[] dijkstraById(int source, int[] prev) {
+        return IdGraphAlgorithms.dijkstra(this, source, prev);
+    }
+
+    // Беллман-Форд (SPFA); возвращает вершину на отрицательном цикле или -1
+    public int bellmanFordById(int source, int[] dist, int[] prev) {
+        return IdGraphAlgorithms.bellmanFord(this, source, dist, prev);
+    }
+
+    public int[][] floydWarshall() {
+        return IdGraphAlgorithms.floydWarshall(this, null);
+    }
+
+    public MyArrayList<String> getDFSResult(String start) {
+        int s = idOf(start);
+        return s < 0 ? new MyArrayList<>() : toVertices(dfsById(s));
+    }
+
+    public MyArrayList<String> getBFSResult(String start) {
+        int s = idOf(start);
+        return s < 0 ? new MyArrayList<>() : toVertices(bfsById(s));
+    }
+
+    public MyHashMap<String, Integer> dijkstra(String start) {
+        int s = idOf(start);
+        int[] dist = s < 0 ? IdGraphAlgorithms.filledWithInf(vertexCount) : dijkstraById(s, null);
+        return toDistanceMap(dist);
+    }
+
+    public MyHashMap<String, Integer> bellmanFord(String start) {
+        int s = idOf(start);
+        int[] dist = IdGraphAlgorithms.filledWithInf(vertexCount);
+        if (s >= 0) bellmanFordById(s, dist, null);
+        return toDistanceMap(dist);
+    }
+
+    private MyHashMap<String, Integer> toDistanceMap(int[] dist) {
+        MyHashMap<String, Integer> result = new MyHashMap<>(dist.length);
+        for (int i = 0; i < dist.length; i++) {
+            result.put(vertexOf(i), dist[i]);
+        }
+        return result;
+    }
+
+    private MyArrayList<String> toVertices(int[] order) {
+        MyArrayList<String> result = new MyArrayList<>(Math.max(order.length, 1));
+        for (int i = 0; i < order.length; i++) {
+            result.add(vertexOf(order[i]));
+        }
+        return result;
+    }
+}
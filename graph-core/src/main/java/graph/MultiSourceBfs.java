@@ -0,0 +1,200 @@
+package graph;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// BFS сразу из многих источников по номерам вершин CSR-снимка (MS-BFS, Then et al.).
+// У каждой вершины есть битовые маски: seen - из каких источников она уже найдена,
+// visit - фронты каких обходов в ней сейчас стоят. Бит i отвечает за i-й источник
+// пачки, поэтому один просмотр списка смежности продвигает все обходы сразу,
+// а проверка "сосед уже найден" - одна операция над словом. Пачка занимает
+// words 64-битных слов на вершину (64 * words источников); если источников
+// больше, пачки идут по очереди.
+// Как и в DirectionOptimizingBfs, маленький фронт обрабатывается сверху вниз,
+// а большой - снизу вверх: вершина собирает маски фронта у входящих соседей.
+// Такой шаг пишет только в свою вершину и считается параллельно
+public class MultiSourceBfs {
+    // Шаг снизу вверх выгоднее, когда рёбра фронта больше 1/ALPHA всех дуг
+    private static final int ALPHA = 14;
+    // Число вершин на одну параллельную задачу
+    private static final int CHUNK = 1024;
+
+    private final CsrGraph<?> out;
+    private final CsrGraph<?> in;
+    private final int words;
+    private final boolean parallel;
+
+    public MultiSourceBfs(CsrGraph<?> graph) {
+        this(graph, 1, true);
+    }
+
+    // words - ширина маски в 64-битных словах, то есть пачка из 64 * words источников
+    public MultiSourceBfs(CsrGraph<?> graph, int words, boolean parallel) {
+        if (words < 1) {
+            throw new IllegalArgumentException("Ширина маски должна быть не меньше одного слова");
+        }
+        this.out = graph;
+        this.in = graph.transpose();
+        this.words = words;
+        this.parallel = parallel;
+    }
+
+    // Сколько источников обходится за один проход по графу
+    public int getBatchSize() {
+        return words << 6;
+    }
+
+    // Расстояния в рёбрах: hops[i][v] - от sources[i] до v, -1 - вершина недостижима
+    public int[][] run(int[] sources) {
+        int n = out.getVertexCount();
+        for (int s : sources) {
+            if (s < 0 || s >= n) {
+                throw new IllegalArgumentException("Вершины " + s + " нет в графе");
+            }
+        }
+
+        int[][] hops = new int[sources.length][];
+        int batch = getBatchSize();
+        for (int from = 0; from < sources.length; from += batch) {
+            runBatch(sources, from, Math.min(sources.length, from + batch), hops);
+        }
+        return hops;
+    }
+
+    private void runBatch(int[] sources, int from, int to, int[][] hops) {
+        int n = out.getVertexCount();
+        int count = to - from;
+        // Последняя пачка может быть уже, тогда и маски короче
+        int k = (count + 63) >>> 6;
+        int size = Math.multiplyExact(n, k);
+        long[] seen = new long[size];
+        long[] visit = new long[size];
+        long[] next = new long[size];
+        // Биты всех источников пачки: вершина с такой маской seen больше не интересна
+        long[] full = new long[k];
+
+        long frontierEdges = 0;
+        for (int i = 0; i < count; i++) {
+            int s = sources[from + i];
+            int[] row = new int[n];
+            Arrays.fill(row, -1);
+            row[s] = 0;
+            hops[from + i] = row;
+
+            long bit = 1L << i;
+            full[i >>> 6] |= bit;
+            if (isZero(visit, s * k, k)) frontierEdges += out.degree(s);
+            seen[s * k + (i >>> 6)] |= bit;
+            visit[s * k + (i >>> 6)] |= bit;
+        }
+
+        int level = 0;
+        while (frontierEdges > 0) {
+            level++;
+            if (frontierEdges * ALPHA > out.getArcCount()) {
+                frontierEdges = bottomUpStep(visit, next, seen, full, k, hops, from, level);
+            } else {
+                frontierEdges = topDownStep(visit, next, seen, k, hops, from, level);
+            }
+            long[] swap = visit;
+            visit = next;
+            next = swap;
+        }
+
+        if (GraphMetrics.enabled) {
+            for (int i = from; i < to; i++) {
+                int reached = 0;
+                for (int h : hops[i]) {
+                    if (h >= 0) reached++;
+                }
+                GraphMetrics.recordTraversal(reached);
+            }
+        }
+    }
+
+    // Сверху вниз: каждая вершина фронта передаёт свои биты соседям, которые их ещё
+    // не видели. Соседи общие у разных вершин фронта, поэтому шаг последовательный.
+    // Возвращает число рёбер нового фронта
+    private long topDownStep(long[] visit, long[] next, long[] seen, int k,
+                             int[][] hops, int from, int level) {
+        int n = out.getVertexCount();
+        Arrays.fill(next, 0);
+        for (int v = 0; v < n; v++) {
+            int vb = v * k;
+            if (isZero(visit, vb, k)) continue;
+            for (int a = out.firstArc(v); a < out.endArc(v); a++) {
+                int ub = out.target(a) * k;
+                for (int w = 0; w < k; w++) {
+                    next[ub + w] |= visit[vb + w] & ~seen[ub + w];
+                }
+            }
+        }
+
+        long frontierEdges = 0;
+        for (int u = 0; u < n; u++) {
+            if (settle(u, next, seen, k, hops, from, level)) {
+                frontierEdges += out.degree(u);
+            }
+        }
+        return frontierEdges;
+    }
+
+    // Снизу вверх: каждая вершина, найденная ещё не всеми источниками, собирает
+    // биты фронта у входящих соседей. Задачи делят вершины на куски и пишут
+    // только в свои вершины
+    private long bottomUpStep(long[] visit, long[] next, long[] seen, long[] full, int k,
+                              int[][] hops, int from, int level) {
+        int n = out.getVertexCount();
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        IntStream tasks = IntStream.range(0, chunks);
+        if (parallel && chunks > 1) tasks = tasks.parallel();
+        return tasks.mapToLong(c -> {
+            long frontierEdges = 0;
+            int end = Math.min(n, (c + 1) * CHUNK);
+            for (int u = c * CHUNK; u < end; u++) {
+                int ub = u * k;
+                Arrays.fill(next, ub, ub + k, 0);
+                if (Arrays.equals(seen, ub, ub + k, full, 0, k)) continue;
+                for (int a = in.firstArc(u); a < in.endArc(u); a++) {
+                    int vb = in.target(a) * k;
+                    for (int w = 0; w < k; w++) {
+                        next[ub + w] |= visit[vb + w];
+                    }
+                }
+                for (int w = 0; w < k; w++) {
+                    next[ub + w] &= ~seen[ub + w];
+                }
+                if (settle(u, next, seen, k, hops, from, level)) {
+                    frontierEdges += out.degree(u);
+                }
+            }
+            return frontierEdges;
+        }).sum();
+    }
+
+    // Новые биты вершины u из next: отметка в seen и расстояние для каждого источника.
+    // true, если u попала во фронт хотя бы одного обхода
+    private static boolean settle(int u, long[] next, long[] seen, int k,
+                                  int[][] hops, int from, int level) {
+        int ub = u * k;
+        boolean found = false;
+        for (int w = 0; w < k; w++) {
+            long bits = next[ub + w];
+            if (bits == 0) continue;
+            seen[ub + w] |= bits;
+            found = true;
+            while (bits != 0) {
+                hops[from + (w << 6) + Long.numberOfTrailingZeros(bits)][u] = level;
+                bits &= bits - 1;
+            }
+        }
+        return found;
+    }
+
+    private static boolean isZero(long[] masks, int start, int k) {
+        for (int w = 0; w < k; w++) {
+            if (masks[start + w] != 0) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,69 @@
+package graph;
+
+// Двоичная куча пар (ключ, номер) с ленивым удалением: вместо уменьшения ключа
+// добавляется новая пара, устаревшие пары пропускает вызывающий код.
+// Растёт по мере надобности, поэтому не требует заранее известного числа вершин
+class MyLazyMinHeap {
+    private long[] keys = new long[16];
+    private int[] items = new int[16];
+    private int size;
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public void add(int item, long key) {
+        if (size == keys.length) {
+            long[] grownKeys = new long[size * 2];
+            int[] grownItems = new int[size * 2];
+            System.arraycopy(keys, 0, grownKeys, 0, size);
+            System.arraycopy(items, 0, grownItems, 0, size);
+            keys = grownKeys;
+            items = grownItems;
+        }
+        int i = size++;
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (keys[parent] <= key) break;
+            keys[i] = keys[parent];
+            items[i] = items[parent];
+            i = parent;
+        }
+        keys[i] = key;
+        items[i] = item;
+    }
+
+    public long peekKey() {
+        if (size == 0) throw new IllegalStateException("Куча пуста");
+        return keys[0];
+    }
+
+    public int poll() {
+        if (size == 0) throw new IllegalStateException("Куча пуста");
+        int result = items[0];
+        size--;
+        long key = keys[size];
+        int item = items[size];
+        int i = 0;
+        while (true) {
+            int child = 2 * i + 1;
+            if (child >= size) break;
+            if (child + 1 < size && keys[child + 1] < keys[child]) child++;
+            if (keys[child] >= key) break;
+            keys[i] = keys[child];
+            items[i] = items[child];
+            i = child;
+        }
+        keys[i] = key;
+        items[i] = item;
+        return result;
+    }
+}
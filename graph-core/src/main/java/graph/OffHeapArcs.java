@@ -0,0 +1,154 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Память под дуги вне кучи: прямые буферы (ByteBuffer.allocateDirect) по
+// CHUNK_ARCS дуг, дуга - 8 байт (номер вершины-цели и вес). Номер дуги
+// кодирует буфер (старшие биты) и позицию в нём (младшие CHUNK_SHIFT бит).
+//
+// Память выдаётся блоками из 2^k дуг. Освобождённые блоки складываются в
+// списки по размеру и выдаются повторно, поэтому перестройка строк смежности
+// не раздувает занятую память. Буферы никогда не копируются: каждый новый
+// буфер вдвое больше предыдущего, пока не достигнет CHUNK_ARCS (так маленький
+// граф не занимает сразу 64 МБ), а непомещающийся хвост старого уходит в
+// списки свободных блоков. free() сразу возвращает всю память системе
+final class OffHeapArcs {
+    static final int CHUNK_SHIFT = 23;
+    static final int CHUNK_ARCS = 1 << CHUNK_SHIFT;
+    static final int MIN_SIZE_CLASS = 2;
+    private static final int MASK = CHUNK_ARCS - 1;
+    private static final int ARC_BYTES = 8;
+    private static final int MAX_CHUNKS = 1 << (31 - CHUNK_SHIFT);
+    private static final int FIRST_CHUNK_ARCS = 1 << 12;
+
+    private ByteBuffer[] chunks = new ByteBuffer[4];
+    private int chunkCount;
+    // Номер первой свободной дуги после всех выданных блоков
+    private int top;
+
+    // Списки свободных блоков: freeBlocks[k] - блоки из 2^k дуг
+    private final int[][] freeBlocks = new int[CHUNK_SHIFT + 1][];
+    private final int[] freeCounts = new int[CHUNK_SHIFT + 1];
+
+    int target(int arc) {
+        return chunks[arc >>> CHUNK_SHIFT].getInt((arc & MASK) * ARC_BYTES);
+    }
+
+    int weight(int arc) {
+        return chunks[arc >>> CHUNK_SHIFT].getInt((arc & MASK) * ARC_BYTES + 4);
+    }
+
+    void set(int arc, int target, int weight) {
+        ByteBuffer chunk = chunks[arc >>> CHUNK_SHIFT];
+        int pos = (arc & MASK) * ARC_BYTES;
+        chunk.putInt(pos, target);
+        chunk.putInt(pos + 4, weight);
+    }
+
+    void setWeight(int arc, int weight) {
+        chunks[arc >>> CHUNK_SHIFT].putInt((arc & MASK) * ARC_BYTES + 4, weight);
+    }
+
+    void copy(int from, int to) {
+        long arc = chunks[from >>> CHUNK_SHIFT].getLong((from & MASK) * ARC_BYTES);
+        chunks[to >>> CHUNK_SHIFT].putLong((to & MASK) * ARC_BYTES, arc);
+    }
+
+    // Доступ к блоку как к массиву int: две ячейки на дугу
+    int getInt(int block, int index) {
+        int arc = block + (index >>> 1);
+        return chunks[arc >>> CHUNK_SHIFT].getInt((arc & MASK) * ARC_BYTES + (index & 1) * 4);
+    }
+
+    void putInt(int block, int index, int value) {
+        int arc = block + (index >>> 1);
+        chunks[arc >>> CHUNK_SHIFT].putInt((arc & MASK) * ARC_BYTES + (index & 1) * 4, value);
+    }
+
+    // Обнуление дуг [from, from + count); повторно выданные блоки содержат мусор
+    void zero(int from, int count) {
+        for (int a = from; a < from + count; a++) {
+            chunks[a >>> CHUNK_SHIFT].putLong((a & MASK) * ARC_BYTES, 0L);
+        }
+    }
+
+    // Блок из 2^sizeClass дуг; возвращает номер первой дуги
+    int allocate(int sizeClass) {
+        if (freeCounts[sizeClass] > 0) {
+            return freeBlocks[sizeClass][--freeCounts[sizeClass]];
+        }
+        int size = 1 << sizeClass;
+        int offset = top & MASK;
+        int capacity = chunkCount == 0 ? 0 : chunks[chunkCount - 1].capacity() / ARC_BYTES;
+        if (chunkCount > 0 && offset + size > capacity) {
+            // Хвост буфера не вмещает блок: раздаём его в списки свободных,
+            // следующий блок начнётся в новом буфере
+            releaseTail(top, capacity - offset);
+            top = chunkCount << CHUNK_SHIFT;
+            offset = 0;
+        }
+        if (offset == 0 && top >>> CHUNK_SHIFT == chunkCount) {
+            if (chunkCount == MAX_CHUNKS) {
+                throw new IllegalStateException("Превышен предельный объём дуг вне кучи");
+            }
+            if (chunkCount == chunks.length) {
+                ByteBuffer[] grown = new ByteBuffer[chunkCount * 2];
+                System.arraycopy(chunks, 0, grown, 0, chunkCount);
+                chunks = grown;
+            }
+            int next = capacity == 0 ? FIRST_CHUNK_ARCS : Math.min(capacity * 2, CHUNK_ARCS);
+            chunks[chunkCount++] = newBuffer(Math.max(size, next));
+        }
+        int block = top;
+        top += size;
+        return block;
+    }
+
+    void release(int block, int sizeClass) {
+        int[] list = freeBlocks[sizeClass];
+        if (list == null) {
+            list = new int[16];
+        } else if (freeCounts[sizeClass] == list.length) {
+            int[] grown = new int[list.length * 2];
+            System.arraycopy(list, 0, grown, 0, list.length);
+            list = grown;
+        }
+        freeBlocks[sizeClass] = list;
+        list[freeCounts[sizeClass]++] = block;
+    }
+
+    // Остаток буфера кратен 2^MIN_SIZE_CLASS и раскладывается на блоки степеней двойки
+    private void releaseTail(int start, int length) {
+        for (int k = CHUNK_SHIFT; k >= MIN_SIZE_CLASS && length > 0; k--) {
+            if ((length & (1 << k)) != 0) {
+                release(start, k);
+                start += 1 << k;
+                length -= 1 << k;
+            }
+        }
+    }
+
+    private static ByteBuffer newBuffer(int arcs) {
+        return ByteBuffer.allocateDirect(arcs * ARC_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    // Освобождение всех буферов; дальнейшие обращения бросают NullPointerException
+    void free() {
+        if (chunks == null) return;
+        for (int i = 0; i < chunkCount; i++) {
+            DirectMemory.free(chunks[i]);
+        }
+        chunks = null;
+        chunkCount = 0;
+    }
+
+    // Сколько байт занято буферами дуг
+    long getAllocatedBytes() {
+        long bytes = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            bytes += chunks[i].capacity();
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,383 @@
+package graph;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+// Граф, у которого рёбра хранятся вне кучи Java. В куче остаётся только
+// словарь вершин (объект -> номер и обратно), а строки смежности - номера
+// соседей и веса по 8 байт на дугу - лежат в прямых буферах OffHeapArcs.
+// Сборщик мусора не видит отдельных рёбер, поэтому граф из сотен миллионов
+// рёбер не увеличивает паузы и ограничен памятью машины, а не -Xmx
+// (прямые буферы ограничены -XX:MaxDirectMemorySize).
+//
+// Номера удалённых вершин используются повторно. Удаление ребра переносит
+// на его место последнее ребро строки, поэтому порядок соседей после
+// удалений меняется.
+// Алгоритмы работают напрямую по буферам через IdGraphAlgorithms.
+//
+// Буферы освобождаются вызовом close(), не дожидаясь сборки мусора; после
+// этого граф использовать нельзя. Граф удобно открывать в try-with-resources
+public class OffHeapGraph<V> implements Graph<V>, AutoCloseable {
+    private final boolean directed;
+    private final OffHeapArcs arcs = new OffHeapArcs();
+    private final OffHeapRows out;
+    // Входящие дуги нужны только ориентированному графу
+    private final OffHeapRows in;
+
+    // Словарь вершин; в vertices на месте удалённой вершины null
+    private final MyObjIntMap<V> ids;
+    private Object[] vertices;
+    private int idLimit;
+    private int[] freeIds = new int[16];
+    private int freeCount;
+    private int vertexCount;
+    private int arcCount;
+    private boolean closed;
+
+    private final IdGraph idGraph = new IdGraph() {
+        public int getVertexCount() {
+            return idLimit;
+        }
+
+        public int getArcCount() {
+            return arcCount;
+        }
+
+        public int firstArc(int u) {
+            return out.start(u);
+        }
+
+        public int endArc(int u) {
+            return out.start(u) + out.size(u);
+        }
+
+        public int target(int arc) {
+            return arcs.target(arc);
+        }
+
+        public int weight(int arc) {
+            return arcs.weight(arc);
+        }
+    };
+
+    public OffHeapGraph() {
+        this(false);
+    }
+
+    public OffHeapGraph(boolean directed) {
+        this(directed, 0);
+    }
+
+    // expectedVertices - ожидаемое число вершин, чтобы словарь не перестраивался при загрузке
+    public OffHeapGraph(boolean directed, int expectedVertices) {
+        this.directed = directed;
+        ids = new MyObjIntMap<>(expectedVertices);
+        vertices = new Object[Math.max(expectedVertices, 16)];
+        out = new OffHeapRows(arcs, expectedVertices);
+        in = directed ? new OffHeapRows(arcs, expectedVertices) : null;
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public void addVertex(V v) {
+        if (v == null) throw new IllegalArgumentException("Вершина не может быть null");
+        idOrCreate(v);
+    }
+
+    private int idOrCreate(V v) {
+        ensureOpen();
+        int id = ids.get(v, -1);
+        if (id >= 0) return id;
+        if (freeCount > 0) {
+            id = freeIds[--freeCount];
+        } else {
+            id = idLimit++;
+            if (id == vertices.length) {
+                Object[] grown = new Object[vertices.length * 2];
+                System.arraycopy(vertices, 0, grown, 0, vertices.length);
+                vertices = grown;
+            }
+            out.ensureVertices(idLimit);
+            if (directed) in.ensureVertices(idLimit);
+        }
+        vertices[id] = v;
+        ids.put(v, id);
+        vertexCount++;
+        return id;
+    }
+
+    public void addEdge(V from, V to, int weight) {
+        if (from == null || to == null) throw new IllegalArgumentException("Вершины не могут быть null");
+        int u = idOrCreate(from);
+        int v = idOrCreate(to);
+        if (out.put(u, v, weight)) arcCount++;
+        if (directed) {
+            in.put(v, u, weight);
+        } else if (out.put(v, u, weight)) {
+            arcCount++;
+        }
+    }
+
+    // Удаляются только рёбра, реально связанные с v: O(степень вершины)
+    public void removeVertex(V v) {
+        ensureOpen();
+        int x = ids.get(v, -1);
+        if (x < 0) return;
+
+        int start = out.start(x);
+        int end = start + out.size(x);
+        for (int a = start; a < end; a++) {
+            int other = arcs.target(a);
+            if (other == x) continue;
+            if (directed) {
+                in.remove(other, x);
+            } else if (out.remove(other, x)) {
+                arcCount--;
+            }
+        }
+        if (directed) {
+            start = in.start(x);
+            end = start + in.size(x);
+            for (int a = start; a < end; a++) {
+                int other = arcs.target(a);
+                if (other != x && out.remove(other, x)) arcCount--;
+            }
+            in.clear(x);
+        }
+        arcCount -= out.size(x);
+        out.clear(x);
+
+        ids.remove(v);
+        vertices[x] = null;
+        vertexCount--;
+        if (freeCount == freeIds.length) {
+            int[] grown = new int[freeIds.length * 2];
+            System.arraycopy(freeIds, 0, grown, 0, freeCount);
+            freeIds = grown;
+        }
+        freeIds[freeCount++] = x;
+    }
+
+    public void removeEdge(V from, V to) {
+        ensureOpen();
+        int u = ids.get(from, -1);
+        int v = ids.get(to, -1);
+        if (u < 0 || v < 0 || !out.remove(u, v)) return;
+        arcCount--;
+        if (directed) {
+            in.remove(v, u);
+        } else if (out.remove(v, u)) {
+            arcCount--;
+        }
+    }
+
+    public MyArrayList<V> getAdjacent(V v) {
+        ensureOpen();
+        MyArrayList<V> result = new MyArrayList<>();
+        int u = ids.get(v, -1);
+        if (u < 0) return result;
+        int start = out.start(u);
+        int end = start + out.size(u);
+        for (int a = start; a < end; a++) {
+            result.add(vertexOf(arcs.target(a)));
+        }
+        return result;
+    }
+
+    // Вершины в порядке возрастания внутренних номеров
+    public MyArrayList<V> getVertices() {
+        MyArrayList<V> result = new MyArrayList<>(Math.max(vertexCount, 1));
+        for (int id = 0; id < idLimit; id++) {
+            if (vertices[id] != null) result.add(vertexOf(id));
+        }
+        return result;
+    }
+
+    public boolean containsVertex(V v) {
+        return v != null && ids.containsKey(v);
+    }
+
+    public boolean containsEdge(V from, V to) {
+        return getEdgeWeight(from, to) != null;
+    }
+
+    public Integer getEdgeWeight(V from, V to) {
+        ensureOpen();
+        int u = ids.get(from, -1);
+        int v = ids.get(to, -1);
+        if (u < 0 || v < 0) return null;
+        int a = out.find(u, v);
+        return a < 0 ? null : arcs.weight(a);
+    }
+
+    public void dfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        System.out.println("DFS обход из " + start + ": " + getDFSResult(start));
+    }
+
+    public void bfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        System.out.println("BFS обход из " + start + ": " + getBFSResult(start));
+    }
+
+    public MyArrayList<V> getDFSResult(V start) {
+        ensureOpen();
+        int s = ids.get(start, -1);
+        return s < 0 ? new MyArrayList<>() : toVertices(IdGraphAlgorithms.dfs(idGraph, s));
+    }
+
+    public MyArrayList<V> getBFSResult(V start) {
+        ensureOpen();
+        int s = ids.get(start, -1);
+        return s < 0 ? new MyArrayList<>() : toVertices(IdGraphAlgorithms.bfs(idGraph, s));
+    }
+
+    public MyHashMap<V, Integer> dijkstra(V start) {
+        ensureOpen();
+        int s = ids.get(start, -1);
+        if (s < 0) return toDistanceMap(IdGraphAlgorithms.filledWithInf(idLimit));
+        return toDistanceMap(IdGraphAlgorithms.dijkstra(idGraph, s, null));
+    }
+
+    public MyHashMap<V, Integer> bellmanFord(V start) {
+        ensureOpen();
+        int s = ids.get(start, -1);
+        if (s < 0) {
+            MyHashMap<V, Integer> distances = toDistanceMap(IdGraphAlgorithms.filledWithInf(idLimit));
+            distances.put(start, 0);
+            return distances;
+        }
+        int[] dist = new int[idLimit];
+        IdGraphAlgorithms.bellmanFord(idGraph, s, dist, null);
+        return toDistanceMap(dist);
+    }
+
+    // Номера строк и столбцов - номера вершин в getVertices(). Матрица строится
+    // по CSR-снимку, где номера уже сжаты: удалённые вершины в неё не попадают
+    public int[][] floydWarshall() {
+        return toCsr().floydWarshall();
+    }
+
+    public PathResult<V> shortestPath(V from, V to) {
+        return PointToPoint.bidirectional(arcSource(), from, to, containsVertex(from), containsVertex(to));
+    }
+
+    public PathResult<V> shortestPath(V from, V to, ToIntFunction<V> heuristic) {
+        return PointToPoint.astar(arcSource(), from, to, heuristic, containsVertex(from), containsVertex(to));
+    }
+
+    private PointToPoint.ArcSource<V> arcSource() {
+        return new PointToPoint.ArcSource<V>() {
+            public void forEachOut(V v, ObjIntConsumer<V> action) {
+                forEachArc(out, v, action);
+            }
+
+            public void forEachIn(V v, ObjIntConsumer<V> action) {
+                forEachArc(directed ? in : out, v, action);
+            }
+        };
+    }
+
+    private void forEachArc(OffHeapRows rows, V v, ObjIntConsumer<V> action) {
+        ensureOpen();
+        int u = ids.get(v, -1);
+        if (u < 0) return;
+        int start = rows.start(u);
+        int end = start + rows.size(u);
+        for (int a = start; a < end; a++) {
+            action.accept(vertexOf(arcs.target(a)), arcs.weight(a));
+        }
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    public int getEdgeCount() {
+        return directed ? arcCount : arcCount / 2;
+    }
+
+    // Освобождает буферы вне кучи сразу; повторный вызов ничего не делает
+    public void close() {
+        if (closed) return;
+        closed = true;
+        arcs.free();
+        out.free();
+        if (directed) in.free();
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("Граф вне кучи уже закрыт");
+    }
+
+    // Сколько байт занимают буферы вне кучи (дуги и описания строк)
+    public long getOffHeapBytes() {
+        if (closed) return 0;
+        long bytes = arcs.getAllocatedBytes() + out.getAllocatedBytes();
+        return directed ? bytes + in.getAllocatedBytes() : bytes;
+    }
+
+    // Снимок в формате CSR в куче; номера вершин совпадают с порядком getVertices()
+    public CsrGraph<V> toCsr() {
+        ensureOpen();
+        int[] compact = new int[idLimit];
+        Object[] idToVertex = new Object[vertexCount];
+        MyObjIntMap<V> csrIds = new MyObjIntMap<>(vertexCount);
+        int n = 0;
+        for (int id = 0; id < idLimit; id++) {
+            if (vertices[id] == null) continue;
+            compact[id] = n;
+            idToVertex[n] = vertices[id];
+            csrIds.put(vertexOf(id), n);
+            n++;
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[arcCount];
+        int[] weights = new int[arcCount];
+        int pos = 0;
+        for (int id = 0; id < idLimit; id++) {
+            if (vertices[id] == null) continue;
+            offsets[compact[id]] = pos;
+            int start = out.start(id);
+            int end = start + out.size(id);
+            for (int a = start; a < end; a++) {
+                targets[pos] = compact[arcs.target(a)];
+                weights[pos] = arcs.weight(a);
+                pos++;
+            }
+        }
+        offsets[n] = pos;
+        return new CsrGraph<>(idToVertex, csrIds, offsets, targets, weights, directed);
+    }
+
+    @SuppressWarnings("unchecked")
+    private V vertexOf(int id) {
+        return (V) vertices[id];
+    }
+
+    // Расстояния по внутренним номерам -> таблица по вершинам, без удалённых
+    private MyHashMap<V, Integer> toDistanceMap(int[] dist) {
+        MyHashMap<V, Integer> result = new MyHashMap<>(vertexCount + 1);
+        for (int id = 0; id < idLimit; id++) {
+            if (vertices[id] != null) result.put(vertexOf(id), dist[id]);
+        }
+        return result;
+    }
+
+    private MyArrayList<V> toVertices(int[] order) {
+        MyArrayList<V> result = new MyArrayList<>(Math.max(order.length, 1));
+        for (int i = 0; i < order.length; i++) {
+            result.add(vertexOf(order[i]));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,226 @@
+package graph;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+// Строки смежности вершин 0..n-1 вне кучи. Для каждой вершины в прямом
+// буфере хранятся начало блока дуг в OffHeapArcs, число дуг и класс ёмкости
+// строки (k + 1 для ёмкости 2^k дуг, 0 - блока нет). Дуги строки лежат
+// подряд, поэтому строку можно отдавать алгоритмам как отрезок [start, start + size).
+//
+// Описания строк лежат страницами по PAGE_ROWS вершин: при росте графа
+// добавляются новые страницы, старые не копируются.
+//
+// Короткие строки просматриваются линейно. Строка ёмкостью от 2^INDEXED_CLASS
+// дуг получает блок вдвое больше: за дугами лежит хеш-таблица с открытой
+// адресацией (позиция дуги + 1, 0 - пусто) на 2^(k+1) ячеек, поэтому поиск
+// ребра у вершин с огромной степенью остаётся O(1) в среднем
+final class OffHeapRows {
+    static final int INDEXED_CLASS = 5;
+    private static final int START = 0;
+    private static final int SIZE = 4;
+    private static final int SIZE_CLASS = 8;
+    private static final int ROW_BYTES = 12;
+    private static final int PAGE_SHIFT = 14;
+    private static final int PAGE_ROWS = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_ROWS - 1;
+
+    private final OffHeapArcs arcs;
+    private ByteBuffer[] pages = new ByteBuffer[4];
+    private int pageCount;
+
+    OffHeapRows(OffHeapArcs arcs, int expectedVertices) {
+        this.arcs = arcs;
+        ensureVertices(Math.max(expectedVertices, 1));
+    }
+
+    private ByteBuffer page(int u) {
+        return pages[u >>> PAGE_SHIFT];
+    }
+
+    private static int offset(int u) {
+        return (u & PAGE_MASK) * ROW_BYTES;
+    }
+
+    int start(int u) {
+        return page(u).getInt(offset(u) + START);
+    }
+
+    int size(int u) {
+        return page(u).getInt(offset(u) + SIZE);
+    }
+
+    // Ёмкость строки 2^k; -1, если блока нет
+    private int sizeClass(int u) {
+        return page(u).getInt(offset(u) + SIZE_CLASS) - 1;
+    }
+
+    private void setSize(int u, int size) {
+        page(u).putInt(offset(u) + SIZE, size);
+    }
+
+    // Место под строки вершин 0..n-1; новые строки пустые
+    void ensureVertices(int n) {
+        while ((long) pageCount << PAGE_SHIFT < n) {
+            if (pageCount == pages.length) {
+                ByteBuffer[] grown = new ByteBuffer[pageCount * 2];
+                System.arraycopy(pages, 0, grown, 0, pageCount);
+                pages = grown;
+            }
+            pages[pageCount++] = newBuffer(PAGE_ROWS);
+        }
+    }
+
+    // Номер дуги u -> target или -1
+    int find(int u, int target) {
+        int start = start(u);
+        int k = sizeClass(u);
+        if (k < INDEXED_CLASS) {
+            int end = start + size(u);
+            for (int a = start; a < end; a++) {
+                if (arcs.target(a) == target) return a;
+            }
+            return -1;
+        }
+        int table = start + (1 << k);
+        int mask = (2 << k) - 1;
+        for (int slot = hash(target) & mask; ; slot = (slot + 1) & mask) {
+            int entry = arcs.getInt(table, slot);
+            if (entry == 0) return -1;
+            if (arcs.target(start + entry - 1) == target) return start + entry - 1;
+        }
+    }
+
+    // Добавляет дугу или меняет вес существующей; true, если дуга новая
+    boolean put(int u, int target, int weight) {
+        int existing = find(u, target);
+        if (existing >= 0) {
+            arcs.setWeight(existing, weight);
+            return false;
+        }
+        int size = size(u);
+        int k = sizeClass(u);
+        if (k < 0 || size == 1 << k) {
+            k = Math.max(k + 1, OffHeapArcs.MIN_SIZE_CLASS);
+            relocate(u, size, k);
+        }
+        int start = start(u);
+        arcs.set(start + size, target, weight);
+        if (k >= INDEXED_CLASS) index(start + (1 << k), k, target, size);
+        setSize(u, size + 1);
+        return true;
+    }
+
+    // Перенос строки в блок ёмкостью 2^k с перестройкой индекса
+    private void relocate(int u, int size, int k) {
+        int blockClass = k >= INDEXED_CLASS ? k + 1 : k;
+        if (blockClass > OffHeapArcs.CHUNK_SHIFT) {
+            throw new IllegalStateException("Степень вершины превышает " + (1 << (OffHeapArcs.CHUNK_SHIFT - 1)));
+        }
+        int start = start(u);
+        int block = arcs.allocate(blockClass);
+        for (int i = 0; i < size; i++) {
+            arcs.copy(start + i, block + i);
+        }
+        if (k >= INDEXED_CLASS) {
+            int table = block + (1 << k);
+            arcs.zero(table, 1 << k);
+            for (int i = 0; i < size; i++) {
+                index(table, k, arcs.target(block + i), i);
+            }
+        }
+        release(u);
+        page(u).putInt(offset(u) + START, block);
+        page(u).putInt(offset(u) + SIZE_CLASS, k + 1);
+    }
+
+    private void index(int table, int k, int target, int position) {
+        int mask = (2 << k) - 1;
+        int slot = hash(target) & mask;
+        while (arcs.getInt(table, slot) != 0) {
+            slot = (slot + 1) & mask;
+        }
+        arcs.putInt(table, slot, position + 1);
+    }
+
+    // Удаление дуги u -> target: на её место переносится последняя дуга строки
+    boolean remove(int u, int target) {
+        int a = find(u, target);
+        if (a < 0) return false;
+        int start = start(u);
+        int last = start + size(u) - 1;
+        int k = sizeClass(u);
+        if (k >= INDEXED_CLASS) {
+            int table = start + (1 << k);
+            unindex(table, k, start, a - start);
+            if (a != last) {
+                int slot = slotOf(table, k, arcs.target(last), last - start);
+                arcs.putInt(table, slot, a - start + 1);
+            }
+        }
+        if (a != last) arcs.copy(last, a);
+        setSize(u, size(u) - 1);
+        return true;
+    }
+
+    private int slotOf(int table, int k, int target, int position) {
+        int mask = (2 << k) - 1;
+        int slot = hash(target) & mask;
+        while (arcs.getInt(table, slot) != position + 1) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Удаление из открытой адресации со сдвигом следующих записей назад
+    private void unindex(int table, int k, int start, int position) {
+        int mask = (2 << k) - 1;
+        int hole = slotOf(table, k, arcs.target(start + position), position);
+        for (int slot = (hole + 1) & mask; ; slot = (slot + 1) & mask) {
+            int entry = arcs.getInt(table, slot);
+            if (entry == 0) break;
+            int home = hash(arcs.target(start + entry - 1)) & mask;
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                arcs.putInt(table, hole, entry);
+                hole = slot;
+            }
+        }
+        arcs.putInt(table, hole, 0);
+    }
+
+    // Освобождает блок строки; строка становится пустой
+    void clear(int u) {
+        release(u);
+        page(u).putInt(offset(u) + START, 0);
+        setSize(u, 0);
+        page(u).putInt(offset(u) + SIZE_CLASS, 0);
+    }
+
+    private void release(int u) {
+        int k = sizeClass(u);
+        if (k >= 0) arcs.release(start(u), k >= INDEXED_CLASS ? k + 1 : k);
+    }
+
+    private static int hash(int target) {
+        int h = target * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    long getAllocatedBytes() {
+        return (long) pageCount * PAGE_ROWS * ROW_BYTES;
+    }
+
+    // Освобождение страниц; дальнейшие обращения бросают NullPointerException
+    void free() {
+        if (pages == null) return;
+        for (int i = 0; i < pageCount; i++) {
+            DirectMemory.free(pages[i]);
+        }
+        pages = null;
+        pageCount = 0;
+    }
+
+    private static ByteBuffer newBuffer(int rows) {
+        return ByteBuffer.allocateDirect(rows * ROW_BYTES).order(ByteOrder.nativeOrder());
+    }
+}
@@ -0,0 +1,81 @@
+package graph;
+
+// Общая арифметика открытой адресации с линейным пробированием для MyHashMap
+// и MyObjIntMap. Таблица - массив ключей размером в степень двойки, null -
+// пустая ячейка; значения каждая таблица хранит в своём параллельном массиве,
+// поэтому здесь только поиск ячеек, а переносом значений занимается вызывающий код
+final class OpenAddressing {
+    private OpenAddressing() {
+    }
+
+    // Степень двойки не меньше minCapacity, в которой expectedSize ключей
+    // не превышают долю loadFactor
+    static int capacityFor(int expectedSize, int minCapacity, float loadFactor) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Размер не может быть отрицательным");
+        }
+        int needed = (int) Math.ceil(expectedSize / loadFactor);
+        int capacity = minCapacity;
+        while (capacity < needed && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    // Перемешивание битов hashCode, чтобы плохие хеши не собирались в одну область таблицы
+    static int home(Object key, int mask) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    // Ячейка с ключом; если ключа нет - (-ячейка - 1), где ячейка - пустая,
+    // в которую его можно вставить
+    static int find(Object[] keys, Object key) {
+        int mask = keys.length - 1;
+        int index = home(key, mask);
+        int probes = 1;
+        Object current;
+        while ((current = keys[index]) != null) {
+            if (current == key || current.equals(key)) {
+                if (GraphMetrics.enabled) GraphMetrics.recordHashLookup(probes);
+                return index;
+            }
+            index = (index + 1) & mask;
+            probes++;
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordHashLookup(probes);
+        return -index - 1;
+    }
+
+    // Пустая ячейка для ключа, которого заведомо нет в таблице (перестройка при росте)
+    static int freeSlot(Object[] keys, Object key) {
+        int mask = keys.length - 1;
+        int index = home(key, mask);
+        while (keys[index] != null) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    // Удаление без "надгробий": после освобождения ячейки hole элементы цепочки
+    // пробирования, которые иначе стали бы недостижимы из своей домашней ячейки,
+    // сдвигаются назад. Возвращает ячейку, чей элемент нужно перенести в hole,
+    // или -1, если цепочка кончилась и hole можно очищать. Вызывающий код
+    // переносит ключ и значение и повторяет вызов для освободившейся ячейки
+    static int nextToShift(Object[] keys, int hole) {
+        int mask = keys.length - 1;
+        int index = hole;
+        while (true) {
+            index = (index + 1) & mask;
+            Object current = keys[index];
+            if (current == null) return -1;
+
+            int home = home(current, mask);
+            // Элемент можно перенести в дыру, если его домашняя ячейка не лежит в (hole, index]
+            boolean movable = hole <= index
+                ? (home <= hole || home > index)
+                : (home <= hole && home > index);
+            if (movable) return index;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package graph;
+
+// Результат поиска кратчайшего пути между двумя вершинами
+public class PathResult<V> {
+    public static final int INF = Integer.MAX_VALUE;
+
+    private final int distance;
+    private final MyArrayList<V> path;
+    private final int settled;
+
+    PathResult(int distance, MyArrayList<V> path, int settled) {
+        this.distance = distance;
+        this.path = path;
+        this.settled = settled;
+    }
+
+    public boolean isFound() {
+        return distance != INF;
+    }
+
+    // Длина пути; INF, если пути нет
+    public int getDistance() {
+        return distance;
+    }
+
+    // Вершины пути от начала до конца; пустой список, если пути нет
+    public MyArrayList<V> getPath() {
+        return path;
+    }
+
+    // Сколько вершин поиск окончательно обработал до остановки
+    public int getSettledCount() {
+        return settled;
+    }
+
+    public String toString() {
+        if (!isFound()) return "Путь не найден (обработано вершин: " + settled + ")";
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < path.size(); i++) {
+            if (i > 0) sb.append(" -> ");
+            sb.append(path.get(i));
+        }
+        return sb.append(" (длина ").append(distance).append(", обработано вершин: ").append(settled).append(")").toString();
+    }
+}
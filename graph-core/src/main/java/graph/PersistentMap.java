@@ -0,0 +1,293 @@
+package graph;
+
+import java.util.function.BiConsumer;
+
+// Неизменяемая хеш-таблица (hash array mapped trie). with и without не меняют
+// таблицу, а возвращают новую, копируя только путь от корня до изменённого
+// узла (O(log32 n)); остальные узлы общие у всех версий. Поэтому старую
+// версию можно читать сколько угодно долго, пока пишутся новые.
+//
+// Узел - битовая маска занятых позиций и плотный массив пар: (ключ, значение)
+// или (null, дочерний узел). Ключи с одинаковым полным хешем лежат в Collision
+class PersistentMap<K, V> {
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(null, 0);
+    private static final int BITS = 5;
+
+    private final Object root;
+    private final int size;
+
+    private PersistentMap(Object root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    private static final class Bitmap {
+        final int bitmap;
+        final Object[] array;
+
+        Bitmap(int bitmap, Object[] array) {
+            this.bitmap = bitmap;
+            this.array = array;
+        }
+    }
+
+    private static final class Collision {
+        final int hash;
+        final Object[] array;
+
+        Collision(int hash, Object[] array) {
+            this.hash = hash;
+            this.array = array;
+        }
+    }
+
+    // Признак изменения размера при with/without
+    private static final class Change {
+        boolean changed;
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & 31);
+    }
+
+    private static int index(int bitmap, int bit) {
+        return 2 * Integer.bitCount(bitmap & (bit - 1));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    // Значения null не хранятся, поэтому null означает отсутствие ключа
+    @SuppressWarnings("unchecked")
+    public V get(Object key) {
+        if (key == null) return null;
+        int h = hash(key);
+        Object node = root;
+        int shift = 0;
+        while (node != null) {
+            if (node instanceof Collision) {
+                Object[] array = ((Collision) node).array;
+                for (int i = 0; i < array.length; i += 2) {
+                    if (array[i].equals(key)) return (V) array[i + 1];
+                }
+                return null;
+            }
+            Bitmap b = (Bitmap) node;
+            int bit = bit(h, shift);
+            if ((b.bitmap & bit) == 0) return null;
+            int idx = index(b.bitmap, bit);
+            Object k = b.array[idx];
+            if (k == null) {
+                node = b.array[idx + 1];
+                shift += BITS;
+            } else {
+                return k.equals(key) ? (V) b.array[idx + 1] : null;
+            }
+        }
+        return null;
+    }
+
+    public PersistentMap<K, V> with(K key, V value) {
+        if (key == null || value == null) throw new IllegalArgumentException("Ключ и значение не могут быть null");
+        Change change = new Change();
+        Object node = put(root, 0, hash(key), key, value, change);
+        if (node == root) return this;
+        return new PersistentMap<>(node, change.changed ? size + 1 : size);
+    }
+
+    public PersistentMap<K, V> without(Object key) {
+        if (key == null || root == null) return this;
+        Change change = new Change();
+        Object node = remove(root, 0, hash(key), key, change);
+        if (!change.changed) return this;
+        return new PersistentMap<>(node, size - 1);
+    }
+
+    private static Object put(Object node, int shift, int h, Object key, Object value, Change change) {
+        if (node == null) {
+            change.changed = true;
+            return new Bitmap(bit(h, shift), new Object[] {key, value});
+        }
+        if (node instanceof Collision) {
+            Collision c = (Collision) node;
+            if (c.hash != h) {
+                // Другой хеш: коллизия уходит на уровень ниже под новый узел
+                Bitmap wrapper = new Bitmap(bit(c.hash, shift), new Object[] {null, c});
+                return put(wrapper, shift, h, key, value, change);
+            }
+            for (int i = 0; i < c.array.length; i += 2) {
+                if (c.array[i].equals(key)) {
+                    if (c.array[i + 1] == value) return node;
+                    Object[] array = c.array.clone();
+                    array[i + 1] = value;
+                    return new Collision(h, array);
+                }
+            }
+            Object[] array = new Object[c.array.length + 2];
+            System.arraycopy(c.array, 0, array, 0, c.array.length);
+            array[c.array.length] = key;
+            array[c.array.length + 1] = value;
+            change.changed = true;
+            return new Collision(h, array);
+        }
+
+        Bitmap b = (Bitmap) node;
+        int bit = bit(h, shift);
+        int idx = index(b.bitmap, bit);
+        if ((b.bitmap & bit) == 0) {
+            Object[] array = new Object[b.array.length + 2];
+            System.arraycopy(b.array, 0, array, 0, idx);
+            array[idx] = key;
+            array[idx + 1] = value;
+            System.arraycopy(b.array, idx, array, idx + 2, b.array.length - idx);
+            change.changed = true;
+            return new Bitmap(b.bitmap | bit, array);
+        }
+
+        Object k = b.array[idx];
+        Object v = b.array[idx + 1];
+        Object replacement;
+        if (k == null) {
+            replacement = put(v, shift + BITS, h, key, value, change);
+            if (replacement == v) return node;
+        } else if (k.equals(key)) {
+            if (v == value) return node;
+            Object[] array = b.array.clone();
+            array[idx + 1] = value;
+            return new Bitmap(b.bitmap, array);
+        } else {
+            replacement = split(shift + BITS, k, v, h, key, value);
+            change.changed = true;
+        }
+        Object[] array = b.array.clone();
+        array[idx] = null;
+        array[idx + 1] = replacement;
+        return new Bitmap(b.bitmap, array);
+    }
+
+    // Узел из двух пар, попавших в одну позицию на предыдущем уровне
+    private static Object split(int shift, Object k1, Object v1, int h2, Object k2, Object v2) {
+        int h1 = hash(k1);
+        if (h1 == h2) return new Collision(h1, new Object[] {k1, v1, k2, v2});
+        Change ignored = new Change();
+        Object node = put(null, shift, h1, k1, v1, ignored);
+        return put(node, shift, h2, k2, v2, ignored);
+    }
+
+    private static Object remove(Object node, int shift, int h, Object key, Change change) {
+        if (node instanceof Collision) {
+            Collision c = (Collision) node;
+            for (int i = 0; i < c.array.length; i += 2) {
+                if (c.array[i].equals(key)) {
+                    change.changed = true;
+                    if (c.array.length == 4) {
+                        int other = i == 0 ? 2 : 0;
+                        return new Bitmap(bit(h, shift), new Object[] {c.array[other], c.array[other + 1]});
+                    }
+                    return new Collision(h, without(c.array, i));
+                }
+            }
+            return node;
+        }
+
+        Bitmap b = (Bitmap) node;
+        int bit = bit(h, shift);
+        if ((b.bitmap & bit) == 0) return node;
+        int idx = index(b.bitmap, bit);
+        Object k = b.array[idx];
+        if (k == null) {
+            Object child = b.array[idx + 1];
+            Object replacement = remove(child, shift + BITS, h, key, change);
+            if (replacement == child) return node;
+            if (replacement != null) {
+                Object[] array = b.array.clone();
+                Object[] single = singlePair(replacement);
+                if (single != null) {
+                    // В поддереве осталась одна пара: она поднимается на этот уровень
+                    array[idx] = single[0];
+                    array[idx + 1] = single[1];
+                } else {
+                    array[idx + 1] = replacement;
+                }
+                return new Bitmap(b.bitmap, array);
+            }
+        } else if (!k.equals(key)) {
+            return node;
+        } else {
+            change.changed = true;
+        }
+        if (b.bitmap == bit) return null;
+        return new Bitmap(b.bitmap ^ bit, without(b.array, idx));
+    }
+
+    // Массив узла, если в нём ровно одна пара (ключ, значение), иначе null
+    private static Object[] singlePair(Object node) {
+        if (!(node instanceof Bitmap)) return null;
+        Object[] array = ((Bitmap) node).array;
+        return array.length == 2 && array[0] != null ? array : null;
+    }
+
+    private static Object[] without(Object[] array, int idx) {
+        Object[] result = new Object[array.length - 2];
+        System.arraycopy(array, 0, result, 0, idx);
+        System.arraycopy(array, idx + 2, result, idx, array.length - idx - 2);
+        return result;
+    }
+
+    // Глубина дерева (0 - пустая таблица); для проверки, что without схлопывает узлы
+    int depth() {
+        return depth(root);
+    }
+
+    private static int depth(Object node) {
+        if (node == null) return 0;
+        Object[] array = node instanceof Collision ? ((Collision) node).array : ((Bitmap) node).array;
+        int deepest = 0;
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] == null) deepest = Math.max(deepest, depth(array[i + 1]));
+        }
+        return deepest + 1;
+    }
+
+    // Обход всех пар в порядке узлов дерева
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) forEach(root, action);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEach(Object node, BiConsumer<? super K, ? super V> action) {
+        Object[] array = node instanceof Collision ? ((Collision) node).array : ((Bitmap) node).array;
+        for (int i = 0; i < array.length; i += 2) {
+            if (array[i] != null) {
+                action.accept((K) array[i], (V) array[i + 1]);
+            } else {
+                forEach(array[i + 1], action);
+            }
+        }
+    }
+
+    public MyArrayList<K> keySet() {
+        MyArrayList<K> result = new MyArrayList<>(Math.max(size, 1));
+        forEach((key, value) -> result.add(key));
+        return result;
+    }
+}
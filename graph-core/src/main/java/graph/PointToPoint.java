@@ -0,0 +1,218 @@
+package graph;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.ToIntFunction;
+
+// Кратчайший путь между двумя вершинами с ранней остановкой.
+// Состояние поиска заводится только для вершин, до которых он дошёл, поэтому
+// запрос не тратит O(n) на инициализацию и обходит лишь часть графа.
+// Граф виден через ArcSource, так что один код обслуживает все реализации Graph
+final class PointToPoint {
+    private static final int INF = PathResult.INF;
+
+    private PointToPoint() {
+    }
+
+    // Исходящие и входящие дуги вершины (для неориентированного графа совпадают)
+    interface ArcSource<V> {
+        void forEachOut(V v, ObjIntConsumer<V> action);
+
+        void forEachIn(V v, ObjIntConsumer<V> action);
+    }
+
+    // Дуги произвольного Graph через getAdjacent и getEdgeWeight. Входящие дуги
+    // ищутся перебором всех вершин, поэтому такой источник годится для astar,
+    // которому нужны только исходящие
+    static <V> ArcSource<V> arcsOf(Graph<V> graph) {
+        return new ArcSource<V>() {
+            public void forEachOut(V v, ObjIntConsumer<V> action) {
+                MyArrayList<V> adjacent = graph.getAdjacent(v);
+                for (int i = 0; i < adjacent.size(); i++) {
+                    V w = adjacent.get(i);
+                    action.accept(w, graph.getEdgeWeight(v, w));
+                }
+            }
+
+            public void forEachIn(V v, ObjIntConsumer<V> action) {
+                MyArrayList<V> vertices = graph.getVertices();
+                for (int i = 0; i < vertices.size(); i++) {
+                    V u = vertices.get(i);
+                    Integer weight = graph.getEdgeWeight(u, v);
+                    if (weight != null) action.accept(u, weight);
+                }
+            }
+        };
+    }
+
+    // Двунаправленный Дейкстра: поиски из from по исходящим дугам и из to по
+    // входящим идут навстречу; остановка, когда сумма вершин двух куч не
+    // меньше лучшего найденного пути
+    static <V> PathResult<V> bidirectional(ArcSource<V> graph, V from, V to, boolean containsFrom, boolean containsTo) {
+        if (!containsFrom || !containsTo) return notFound(0);
+        Search<V> search = new Search<>();
+        int s = search.id(from);
+        int t = search.id(to);
+        if (s == t) return found(search, 0, s, 0);
+
+        MyLazyMinHeap forward = new MyLazyMinHeap();
+        MyLazyMinHeap backward = new MyLazyMinHeap();
+        search.distF[s] = 0;
+        search.distB[t] = 0;
+        forward.add(s, 0);
+        backward.add(t, 0);
+
+        long[] best = {INF};
+        int[] meet = {-1};
+        int settled = 0;
+        while (!forward.isEmpty() && !backward.isEmpty()) {
+            if (forward.peekKey() + backward.peekKey() >= best[0]) break;
+            boolean fromStart = forward.peekKey() <= backward.peekKey();
+            MyLazyMinHeap heap = fromStart ? forward : backward;
+            long key = heap.peekKey();
+            int u = heap.poll();
+            int[] dist = fromStart ? search.distF : search.distB;
+            if (key > dist[u]) continue;
+            settled++;
+
+            ObjIntConsumer<V> relax = (w, weight) -> {
+                if (weight < 0) {
+                    throw new IllegalStateException("Алгоритм Дейкстры не работает с отрицательными весами");
+                }
+                int v = search.id(w);
+                int[] d = fromStart ? search.distF : search.distB;
+                int[] parent = fromStart ? search.parentF : search.parentB;
+                long candidate = key + weight;
+                if (candidate < d[v]) {
+                    d[v] = (int) candidate;
+                    parent[v] = u;
+                    heap.add(v, candidate);
+                }
+                int[] other = fromStart ? search.distB : search.distF;
+                if (other[v] != INF && (long) d[v] + other[v] < best[0]) {
+                    best[0] = (long) d[v] + other[v];
+                    meet[0] = v;
+                }
+            };
+            if (fromStart) {
+                graph.forEachOut(search.vertex(u), relax);
+            } else {
+                graph.forEachIn(search.vertex(u), relax);
+            }
+        }
+        if (meet[0] < 0) return notFound(settled);
+        return found(search, (int) best[0], meet[0], settled);
+    }
+
+    // A* с эвристикой heuristic(v) - нижней оценкой расстояния от v до to.
+    // При допустимой, но несогласованной эвристике вершины могут открываться
+    // повторно, ответ остаётся точным. INF в эвристике означает, что из вершины
+    // to недостижима
+    static <V> PathResult<V> astar(ArcSource<V> graph, V from, V to, ToIntFunction<V> heuristic,
+                                   boolean containsFrom, boolean containsTo) {
+        if (!containsFrom || !containsTo) return notFound(0);
+        Search<V> search = new Search<>();
+        int s = search.id(from);
+        int t = search.id(to);
+
+        search.estimate[s] = heuristic.applyAsInt(from);
+        if (search.estimate[s] == INF) return notFound(0);
+        MyLazyMinHeap open = new MyLazyMinHeap();
+        search.distF[s] = 0;
+        open.add(s, search.estimate[s]);
+        int settled = 0;
+        while (!open.isEmpty()) {
+            long key = open.peekKey();
+            int u = open.poll();
+            long g = search.distF[u];
+            if (key > g + search.estimate[u]) continue;
+            settled++;
+            if (u == t) return found(search, (int) g, t, settled);
+
+            graph.forEachOut(search.vertex(u), (w, weight) -> {
+                if (weight < 0) {
+                    throw new IllegalStateException("A* не работает с отрицательными весами");
+                }
+                int v = search.id(w);
+                long candidate = g + weight;
+                if (candidate < search.distF[v]) {
+                    if (search.estimate[v] < 0) search.estimate[v] = heuristic.applyAsInt(w);
+                    if (search.estimate[v] == INF) return;
+                    search.distF[v] = (int) candidate;
+                    search.parentF[v] = u;
+                    open.add(v, candidate + search.estimate[v]);
+                }
+            });
+        }
+        return notFound(settled);
+    }
+
+    private static <V> PathResult<V> notFound(int settled) {
+        return new PathResult<>(INF, new MyArrayList<>(), settled);
+    }
+
+    // Путь собирается от meet назад по parentF и вперёд по parentB
+    private static <V> PathResult<V> found(Search<V> search, int distance, int meet, int settled) {
+        MyStack<V> head = new MyStack<>();
+        for (int v = meet; v >= 0; v = search.parentF[v]) {
+            head.push(search.vertex(v));
+        }
+        MyArrayList<V> path = new MyArrayList<>();
+        while (!head.isEmpty()) {
+            path.add(head.pop());
+        }
+        for (int v = search.parentB[meet]; v >= 0; v = search.parentB[v]) {
+            path.add(search.vertex(v));
+        }
+        return new PathResult<>(distance, path, settled);
+    }
+
+    // Локальная нумерация вершин, до которых дошёл поиск
+    private static final class Search<V> {
+        final MyObjIntMap<V> ids = new MyObjIntMap<>();
+        Object[] vertices = new Object[16];
+        int[] distF = new int[16];
+        int[] distB = new int[16];
+        int[] parentF = new int[16];
+        int[] parentB = new int[16];
+        int[] estimate = new int[16];
+        int count;
+
+        int id(V v) {
+            int id = ids.get(v, -1);
+            if (id >= 0) return id;
+            if (count == vertices.length) grow();
+            id = count++;
+            ids.put(v, id);
+            vertices[id] = v;
+            distF[id] = INF;
+            distB[id] = INF;
+            parentF[id] = -1;
+            parentB[id] = -1;
+            estimate[id] = -1;
+            return id;
+        }
+
+        @SuppressWarnings("unchecked")
+        V vertex(int id) {
+            return (V) vertices[id];
+        }
+
+        private void grow() {
+            int capacity = vertices.length * 2;
+            Object[] grownVertices = new Object[capacity];
+            System.arraycopy(vertices, 0, grownVertices, 0, count);
+            vertices = grownVertices;
+            distF = copy(distF, capacity);
+            distB = copy(distB, capacity);
+            parentF = copy(parentF, capacity);
+            parentB = copy(parentB, capacity);
+            estimate = copy(estimate, capacity);
+        }
+
+        private static int[] copy(int[] array, int capacity) {
+            int[] grown = new int[capacity];
+            System.arraycopy(array, 0, grown, 0, array.length);
+            return grown;
+        }
+    }
+}
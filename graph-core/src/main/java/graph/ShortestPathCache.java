@@ -0,0 +1,210 @@
+package graph;
+
+// Кэш результатов кратчайших путей для SimpleGraph: таблицы расстояний от
+// одной вершины (Дейкстра, Беллман-Форд) и матрица Флойда-Уоршелла.
+//
+// Размер ограничен числом хранимых ячеек (расстояний и предков), а не числом
+// записей: матрица n x n весит n^2 (вместе с матрицей путей - 2n^2), таблица
+// от одной вершины - 2n. При переполнении вытесняются давно не использованные
+// записи (LRU).
+//
+// Кэш привязан к эпохе графа: любое изменение графа увеличивает эпоху, и
+// при первом обращении после этого все записи сбрасываются. Эпохи разных
+// графов независимы, поэтому кэш принадлежит одному графу и не может быть
+// подключён к другому, пока первый его не отключит
+public class ShortestPathCache<V> {
+    static final int DIJKSTRA = 0;
+    static final int BELLMAN_FORD = 1;
+    static final int FLOYD_WARSHALL = 2;
+    static final int FLOYD_WARSHALL_PATHS = 3;
+
+    private static final class Key {
+        final int kind;
+        final Object source;
+
+        Key(int kind, Object source) {
+            this.kind = kind;
+            this.source = source;
+        }
+
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return kind == other.kind && (source == null ? other.source == null : source.equals(other.source));
+        }
+
+        public int hashCode() {
+            return 31 * kind + (source == null ? 0 : source.hashCode());
+        }
+    }
+
+    // Элемент двусвязного списка LRU: голова - самая свежая запись
+    private static final class Node {
+        final Key key;
+        final Object value;
+        final long cells;
+        Node prev;
+        Node next;
+
+        Node(Key key, Object value, long cells) {
+            this.key = key;
+            this.value = value;
+            this.cells = cells;
+        }
+    }
+
+    private final long maxCells;
+    private final MyHashMap<Key, Node> entries = new MyHashMap<>();
+    private Node head;
+    private Node tail;
+    private long usedCells;
+    private long epoch = -1;
+    // Граф, к которому подключён кэш, или null
+    private Object owner;
+
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    // maxCells - сколько расстояний всего можно держать в кэше
+    public ShortestPathCache(long maxCells) {
+        if (maxCells <= 0) throw new IllegalArgumentException("Размер кэша должен быть положительным");
+        this.maxCells = maxCells;
+    }
+
+    // Подключение к графу; бросает IllegalStateException, если кэш занят другим графом
+    void attach(Object graph) {
+        if (owner == graph) return;
+        if (owner != null) {
+            throw new IllegalStateException("Кэш уже подключён к другому графу");
+        }
+        owner = graph;
+        clearEntries();
+        epoch = -1;
+    }
+
+    void detach(Object graph) {
+        if (owner != graph) return;
+        owner = null;
+        clearEntries();
+        epoch = -1;
+    }
+
+    // Запись для (kind, source) в эпохе epoch или null
+    Object get(long epoch, int kind, Object source) {
+        invalidateIfStale(epoch);
+        Node node = entries.get(new Key(kind, source));
+        if (node == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        unlink(node);
+        linkFirst(node);
+        return node.value;
+    }
+
+    // Результаты крупнее всего кэша не сохраняются
+    void put(long epoch, int kind, Object source, Object value, long cells) {
+        invalidateIfStale(epoch);
+        if (cells > maxCells) return;
+        Key key = new Key(kind, source);
+        Node old = entries.remove(key);
+        if (old != null) {
+            unlink(old);
+            usedCells -= old.cells;
+        }
+        while (usedCells + cells > maxCells) {
+            Node victim = tail;
+            unlink(victim);
+            entries.remove(victim.key);
+            usedCells -= victim.cells;
+            evictions++;
+        }
+        Node node = new Node(key, value, cells);
+        entries.put(key, node);
+        linkFirst(node);
+        usedCells += cells;
+    }
+
+    private void invalidateIfStale(long graphEpoch) {
+        if (graphEpoch == epoch) return;
+        if (!entries.isEmpty()) invalidations++;
+        clearEntries();
+        epoch = graphEpoch;
+    }
+
+    private void linkFirst(Node node) {
+        node.prev = null;
+        node.next = head;
+        if (head != null) head.prev = node;
+        head = node;
+        if (tail == null) tail = node;
+    }
+
+    private void unlink(Node node) {
+        if (node.prev != null) node.prev.next = node.next;
+        else head = node.next;
+        if (node.next != null) node.next.prev = node.prev;
+        else tail = node.prev;
+        node.prev = null;
+        node.next = null;
+    }
+
+    private void clearEntries() {
+        entries.clear();
+        head = null;
+        tail = null;
+        usedCells = 0;
+    }
+
+    // Сброс записей и статистики
+    public void clear() {
+        clearEntries();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+        invalidations = 0;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public double getHitRate() {
+        long total = hits + misses;
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    // Сколько записей вытеснено из-за нехватки места
+    public long getEvictions() {
+        return evictions;
+    }
+
+    // Сколько раз кэш сбрасывался из-за изменения графа
+    public long getInvalidations() {
+        return invalidations;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public long getUsedCells() {
+        return usedCells;
+    }
+
+    public long getMaxCells() {
+        return maxCells;
+    }
+
+    public String toString() {
+        return String.format("Кэш путей: записей %d, занято %d из %d, попаданий %d, промахов %d (%.0f%%), вытеснено %d, сбросов %d",
+            size(), usedCells, maxCells, hits, misses, getHitRate() * 100, evictions, invalidations);
+    }
+}
@@ -0,0 +1,1473 @@
+package graph;
+
+import java.util.function.ObjIntConsumer;
+import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+
+class MyArrayList<V> {
+    private Object[] elements; 
+
+    private int size;
+
+    private static final int DEFAULT_CAPACITY = 10;
+
+    public MyArrayList() {
+        elements = new Object[DEFAULT_CAPACITY];
+        size = 0;
+    }
+
+    public MyArrayList(int initialCapacity) {
+        if (initialCapacity <= 0) {
+            throw new IllegalArgumentException("Емкость должна быть больше 0");
+        }
+        elements = new Object[initialCapacity];
+        size = 0;
+    }
+
+    public void add(V element) {
+        if (size == elements.length) {
+            resize();
+        }
+        elements[size] = element;
+
+        size++;
+    }
+
+    public V get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Индекс" + index + ", размер " + size);
+        }
+        return (V) elements[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void resize() {
+        int newCapacity = elements.length*2;
+        Object[] newArray = new Object[newCapacity];
+
+        for (int i = 0; i < size; i++) {
+            newArray[i] = elements[i];
+        }
+
+        elements = newArray;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(V element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == null) {
+                if (element == null) return true; 
+            } else if (elements[i].equals(element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public int indexOf(V element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == null) {
+                if (element == null) {
+                    return i;
+                }
+            } else if (elements[i].equals(element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public void remove(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Такого элекмента не существует");
+        }
+
+        for (int i = index; i < size-1; i++) {
+            elements[i] = elements[i+1];
+        }
+        elements[size - 1] = null;
+        size--;
+    }
+
+    public void set(int index, V element) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Такого элемента не существует");
+           
+        }
+        elements[index] = element;
+    }
+
+    public String toString() {
+        if (size == 0) return "[]";
+
+        StringBuilder sb = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            sb.append(elements[i]);
+            if (i < size - 1) {
+                sb.append(", ");
+            }
+        }
+
+        sb.append("]");
+        return sb.toString();
+    }
+    
+    public void clear() {
+    for (int i = 0; i < size; i++) {
+        elements[i] = null;
+    }
+    size = 0;
+    }
+}
+
+class MyHashMap<K, V> {
+    // Снимок пары ключ-значение: записи в таблице не хранятся, поэтому поля
+    // неизменяемы - менять значение нужно через put
+    public static class Entry<K, V> {
+        public final K key;
+        public final V value;
+        
+        Entry(K key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+    
+    // Открытая адресация с линейным пробированием: ключи и значения лежат
+    // в параллельных массивах, null в keys означает пустую ячейку
+    private static final Object NULL_KEY = new Object();
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.75f;
+    
+    private Object[] keys;
+    private Object[] vals;
+    private int size;
+    private int threshold;
+    
+    public MyHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public MyHashMap(int expectedSize) {
+        int capacity = OpenAddressing.capacityFor(expectedSize, DEFAULT_CAPACITY, LOAD_FACTOR);
+        keys = new Object[capacity];
+        vals = new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+    }
+
+    // Копии пар на момент вызова; последующие изменения карты в них не видны
+    @SuppressWarnings("unchecked")
+    public MyArrayList<Entry<K, V>> entrySet() {
+        MyArrayList<Entry<K, V>> entries = new MyArrayList<>(Math.max(size, 1));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                entries.add(new Entry<>(unmask(keys[i]), (V) vals[i]));
+            }
+        }
+        return entries;
+    }
+    
+    @SuppressWarnings("unchecked")
+    public MyArrayList<V> values() {
+        MyArrayList<V> values = new MyArrayList<>(Math.max(size, 1));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                values.add((V) vals[i]);
+            }
+        }
+        return values;
+    }
+
+    private static Object mask(Object key) {
+        return key == null ? NULL_KEY : key;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private K unmask(Object key) {
+        return key == NULL_KEY ? null : (K) key;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        Object k = mask(key);
+        int index = OpenAddressing.find(keys, k);
+        if (index >= 0) {
+            V oldValue = (V) vals[index];
+            vals[index] = value;
+            return oldValue;
+        }
+        index = -index - 1;
+        keys[index] = k;
+        vals[index] = value;
+        size++;
+        if (size > threshold) {
+            resize();
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        int index = OpenAddressing.find(keys, mask(key));
+        return index < 0 ? null : (V) vals[index];
+    }
+
+    public boolean containsKey(K key) {
+        return OpenAddressing.find(keys, mask(key)) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        int index = OpenAddressing.find(keys, mask(key));
+        if (index < 0) return null;
+        
+        V oldValue = (V) vals[index];
+        shiftBack(index);
+        size--;
+        return oldValue;
+    }
+    
+    private void shiftBack(int hole) {
+        for (int next; (next = OpenAddressing.nextToShift(keys, hole)) >= 0; hole = next) {
+            keys[hole] = keys[next];
+            vals[hole] = vals[next];
+        }
+        keys[hole] = null;
+        vals[hole] = null;
+    }
+    
+    private void resize() {
+        Object[] oldKeys = keys;
+        Object[] oldVals = vals;
+        int newCapacity = oldKeys.length * 2;
+        keys = new Object[newCapacity];
+        vals = new Object[newCapacity];
+        threshold = (int) (newCapacity * LOAD_FACTOR);
+        
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object k = oldKeys[i];
+            if (k != null) {
+                int index = OpenAddressing.freeSlot(keys, k);
+                keys[index] = k;
+                vals[index] = oldVals[i];
+            }
+        }
+    }
+
+    // Число ячеек таблицы (для оценки памяти)
+    int capacity() {
+        return keys.length;
+    }
+
+    public MyArrayList<K> keySet() {
+        MyArrayList<K> result = new MyArrayList<>(Math.max(size, 1));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                result.add(unmask(keys[i]));
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public void clear() {
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = null;
+            vals[i] = null;
+        }
+        size = 0;
+    }
+    
+}
+
+// Хеш-таблица "объект -> int" без упаковки значений в Integer.
+// Поиск ячеек общий с MyHashMap (OpenAddressing: линейное пробирование,
+// сдвиг при удалении), но null-ключи не поддерживаются: null в keys означает пустую ячейку.
+// Для обхода без выделения памяти: for (slot < capacity()) if (keyAt(slot) != null) ...
+class MyObjIntMap<K> {
+    private static final int DEFAULT_CAPACITY = 8;
+    private static final float LOAD_FACTOR = 0.75f;
+    
+    private Object[] keys;
+    private int[] vals;
+    private int size;
+    private int threshold;
+    
+    public MyObjIntMap() {
+        this(DEFAULT_CAPACITY);
+    }
+    
+    public MyObjIntMap(int expectedSize) {
+        int capacity = OpenAddressing.capacityFor(expectedSize, DEFAULT_CAPACITY, LOAD_FACTOR);
+        keys = new Object[capacity];
+        vals = new int[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+        size = 0;
+    }
+    
+    public void put(K key, int value) {
+        if (key == null) throw new IllegalArgumentException("Ключ не может быть null");
+        int index = OpenAddressing.find(keys, key);
+        if (index >= 0) {
+            vals[index] = value;
+            return;
+        }
+        index = -index - 1;
+        keys[index] = key;
+        vals[index] = value;
+        size++;
+        if (size > threshold) {
+            resize();
+        }
+    }
+    
+    public int get(K key, int defaultValue) {
+        if (key == null) return defaultValue;
+        int index = OpenAddressing.find(keys, key);
+        return index < 0 ? defaultValue : vals[index];
+    }
+    
+    public boolean containsKey(K key) {
+        return key != null && OpenAddressing.find(keys, key) >= 0;
+    }
+    
+    public boolean remove(K key) {
+        if (key == null) return false;
+        int index = OpenAddressing.find(keys, key);
+        if (index < 0) return false;
+        
+        shiftBack(index);
+        size--;
+        return true;
+    }
+    
+    private void shiftBack(int hole) {
+        for (int next; (next = OpenAddressing.nextToShift(keys, hole)) >= 0; hole = next) {
+            keys[hole] = keys[next];
+            vals[hole] = vals[next];
+        }
+        keys[hole] = null;
+    }
+    
+    private void resize() {
+        Object[] oldKeys = keys;
+        int[] oldVals = vals;
+        int newCapacity = oldKeys.length * 2;
+        keys = new Object[newCapacity];
+        vals = new int[newCapacity];
+        threshold = (int) (newCapacity * LOAD_FACTOR);
+        
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object k = oldKeys[i];
+            if (k != null) {
+                int index = OpenAddressing.freeSlot(keys, k);
+                keys[index] = k;
+                vals[index] = oldVals[i];
+            }
+        }
+    }
+    
+    public int capacity() {
+        return keys.length;
+    }
+    
+    // Ключ в ячейке slot или null, если ячейка пуста
+    @SuppressWarnings("unchecked")
+    public K keyAt(int slot) {
+        return (K) keys[slot];
+    }
+    
+    public int valueAt(int slot) {
+        return vals[slot];
+    }
+    
+    @SuppressWarnings("unchecked")
+    public MyArrayList<K> keySet() {
+        MyArrayList<K> result = new MyArrayList<>(Math.max(size, 1));
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                result.add((K) keys[i]);
+            }
+        }
+        return result;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+}
+
+class MyStack<V> {
+    private Object[] elements;
+    private int top;
+    private static final int DEFAULT_CAPACITY = 10;
+    
+    public MyStack() {
+        elements = new Object[DEFAULT_CAPACITY];
+        top = -1;
+    }
+    
+    public void push(V element) {
+        if (top == elements.length - 1) {
+            Object[] newArray = new Object[elements.length * 2];
+            for (int i = 0; i <= top; i++) {
+                newArray[i] = elements[i];
+            }
+            elements = newArray;
+        }
+        elements[++top] = element;
+    }
+    
+    public V pop() {
+        if (isEmpty()) {
+            throw new RuntimeException("Стек пуст");
+        }
+        V element = (V) elements[top];
+        elements[top] = null;
+        top--;
+        return element;
+    }
+    
+    public boolean isEmpty() {
+        return top == -1;
+    }
+    
+    public V peek() {
+        if (isEmpty()) {
+            throw new RuntimeException("Стек пуст");
+        }
+        return (V) elements[top];
+    }
+}
+
+class MyQueue<V> {
+    private Object[] elements;
+    private int front;
+    private int rear;
+    private int size;
+    private static final int DEFAULT_CAPACITY = 10;
+    
+    public MyQueue() {
+        elements = new Object[DEFAULT_CAPACITY];
+        front = 0;
+        rear = -1;
+        size = 0;
+    }
+    
+    public void offer(V element) {
+        if (size == elements.length) {
+            resize();
+        }
+        rear = (rear + 1) % elements.length;
+        elements[rear] = element;
+        size++;
+    }
+    
+    public V poll() {
+        if (isEmpty()) {
+            throw new RuntimeException("Очередь пуста");
+        }
+        V element = (V) elements[front];
+        elements[front] = null;
+        front = (front + 1) % elements.length;
+        size--;
+        return element;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public V peek() {
+        if (isEmpty()) {
+            throw new RuntimeException("Очередь пуста");
+        }
+        return (V) elements[front];
+    }
+    
+    private void resize() {
+        Object[] newArray = new Object[elements.length * 2];
+        for (int i = 0; i < size; i++) {
+            newArray[i] = elements[(front + i) % elements.length];
+        }
+        elements = newArray;
+        front = 0;
+        rear = size - 1;
+    }
+}
+
+// Индексированная двоичная куча: элементы - числа 0..capacity-1, приоритеты - int.
+// pos[] хранит позицию элемента в куче, поэтому decreaseKey работает за O(log n)
+class MyIndexedMinHeap {
+    private int[] heap;
+    private int[] pos;
+    private int[] keys;
+    private int size;
+    
+    public MyIndexedMinHeap(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Емкость не может быть отрицательной");
+        }
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new int[capacity];
+        for (int i = 0; i < capacity; i++) {
+            pos[i] = -1;
+        }
+        size = 0;
+    }
+    
+    public boolean isEmpty() {
+        return size == 0;
+    }
+    
+    public int size() {
+        return size;
+    }
+    
+    public boolean contains(int item) {
+        return pos[item] >= 0;
+    }
+    
+    public int keyOf(int item) {
+        if (!contains(item)) {
+            throw new RuntimeException("Элемента " + item + " нет в куче");
+        }
+        return keys[item];
+    }
+    
+    public void insert(int item, int key) {
+        if (contains(item)) {
+            throw new RuntimeException("Элемент " + item + " уже в куче");
+        }
+        heap[size] = item;
+        pos[item] = size;
+        keys[item] = key;
+        siftUp(size);
+        size++;
+    }
+    
+    public void decreaseKey(int item, int key) {
+        if (key > keyOf(item)) {
+            throw new IllegalArgumentException("Новый приоритет больше текущего");
+        }
+        keys[item] = key;
+        siftUp(pos[item]);
+    }
+    
+    // Вставка или уменьшение приоритета; возвращает true, если приоритет изменился
+    public boolean insertOrDecrease(int item, int key) {
+        if (!contains(item)) {
+            insert(item, key);
+            return true;
+        }
+        if (key < keys[item]) {
+            decreaseKey(item, key);
+            return true;
+        }
+        return false;
+    }
+    
+    public int peekMin() {
+        if (isEmpty()) {
+            throw new RuntimeException("Куча пуста");
+        }
+        return heap[0];
+    }
+    
+    public int pollMin() {
+        int min = peekMin();
+        size--;
+        pos[min] = -1;
+        if (size > 0) {
+            heap[0] = heap[size];
+            pos[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+    
+    private void siftUp(int i) {
+        int item = heap[i];
+        int key = keys[item];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            int parentItem = heap[parent];
+            if (keys[parentItem] <= key) break;
+            heap[i] = parentItem;
+            pos[parentItem] = i;
+            i = parent;
+        }
+        heap[i] = item;
+        pos[item] = i;
+    }
+    
+    private void siftDown(int i) {
+        int item = heap[i];
+        int key = keys[item];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            int childItem = heap[child];
+            if (key <= keys[childItem]) break;
+            heap[i] = childItem;
+            pos[childItem] = i;
+            i = child;
+        }
+        heap[i] = item;
+        pos[item] = i;
+    }
+}
+
+class MyHashSet<V> {
+    private MyHashMap<V, Object> map;
+    private static final Object PRESENT = new Object();
+    
+    public MyHashSet() {
+        map = new MyHashMap<>();
+    }
+    
+    public boolean add(V element) {
+        return map.put(element, PRESENT) == null;
+    }
+    
+    public boolean contains(V element) {
+        return map.containsKey(element);
+    }
+    
+    public boolean remove(V element) {
+        return map.remove(element) != null;
+    }
+    
+    public int size() {
+        return map.size();
+    }
+    
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+}
+
+public class SimpleGraph<V> implements Graph<V> {
+    private MyHashMap<V, MyObjIntMap<V>> adjList;
+    // Обратный индекс для ориентированного графа: вершина -> (предшественник -> вес).
+    // В неориентированном графе входящие рёбра совпадают с исходящими, индекс не нужен
+    private MyHashMap<V, MyObjIntMap<V>> inList;
+    // Сумма размеров всех строк adjList
+    private int arcCount;
+    private boolean directed;
+    // Эпоха изменений: увеличивается при каждом изменении графа
+    private long epoch;
+    private ShortestPathCache<V> pathCache;
+
+    public SimpleGraph() {
+        this(false); 
+    }
+
+    public SimpleGraph(boolean directed) {   
+        this(directed, 0);
+    }
+    
+    // expectedVertices - ожидаемое число вершин, чтобы таблица не перестраивалась при загрузке
+    public SimpleGraph(boolean directed, int expectedVertices) {
+        this.directed = directed;
+        adjList = new MyHashMap<>(expectedVertices);
+        if (directed) {
+            inList = new MyHashMap<>(expectedVertices);
+        }
+    }
+    
+    public void addVertex(V v) {
+        if (v == null) throw new IllegalArgumentException("Вершина не может быть null");
+        if (!adjList.containsKey(v)) {  
+            adjList.put(v, new MyObjIntMap<>());
+            if (directed) {
+                inList.put(v, new MyObjIntMap<>());
+            }
+            epoch++;
+        }
+    }
+    
+    // Добавление вершины с заранее выделенными строками смежности под известные степени
+    void addVertex(V v, int outDegree, int inDegree) {
+        if (v == null) throw new IllegalArgumentException("Вершина не может быть null");
+        if (!adjList.containsKey(v)) {
+            adjList.put(v, new MyObjIntMap<>(directed ? outDegree : outDegree + inDegree));
+            if (directed) {
+                inList.put(v, new MyObjIntMap<>(inDegree));
+            }
+            epoch++;
+        }
+    }
+    
+    public void addEdge(V from, V to, int weight) {
+        if (from == null || to == null) throw new IllegalArgumentException("Вершины не могут быть null");
+        if (!adjList.containsKey(from)) addVertex(from);
+        if (!adjList.containsKey(to)) addVertex(to);
+        
+        putArc(from, to, weight);
+        if (directed) {
+            inList.get(to).put(from, weight);
+        } else {   
+            putArc(to, from, weight);
+        }
+        epoch++;
+    }
+    
+    private void putArc(V from, V to, int weight) {
+        MyObjIntMap<V> row = adjList.get(from);
+        if (!row.containsKey(to)) arcCount++;
+        row.put(to, weight);
+    }
+    
+    private void removeArc(V from, V to) {
+        if (adjList.get(from).remove(to)) arcCount--;
+    }
+    
+    // Удаляются только рёбра, реально связанные с v: O(степень вершины)
+    public void removeVertex(V v) {
+        if (!adjList.containsKey(v)) return;
+        
+        MyObjIntMap<V> out = adjList.get(v);
+        if (directed) {
+            MyObjIntMap<V> in = inList.get(v);
+            for (int slot = 0; slot < in.capacity(); slot++) {
+                V from = in.keyAt(slot);
+                if (from != null) removeArc(from, v);
+            }
+            for (int slot = 0; slot < out.capacity(); slot++) {
+                V to = out.keyAt(slot);
+                if (to != null) inList.get(to).remove(v);
+            }
+            inList.remove(v);
+        } else {
+            for (int slot = 0; slot < out.capacity(); slot++) {
+                V other = out.keyAt(slot);
+                if (other != null && !other.equals(v)) removeArc(other, v);
+            }
+        }
+        arcCount -= out.size();
+        adjList.remove(v);
+        epoch++;
+    }
+    
+    public void removeEdge(V from, V to) {
+        if (!containsEdge(from, to)) return;
+        removeArc(from, to);
+        if (directed) {
+            inList.get(to).remove(from);
+        } else {  
+            removeArc(to, from);
+        }
+        epoch++;
+    }
+    
+    public MyArrayList<V> getAdjacent(V v) {
+        if (!containsVertex(v)) return new MyArrayList<>();
+        
+        MyArrayList<V> result = new MyArrayList<>();
+        MyArrayList<V> keys = adjList.get(v).keySet();
+        for (int i = 0; i < keys.size(); i++) {
+            result.add(keys.get(i));
+        }
+        return result;
+    }
+    
+    // Вершины, из которых есть ребро в v (для неориентированного графа - соседи)
+    public MyArrayList<V> getPredecessors(V v) {
+        if (!containsVertex(v)) return new MyArrayList<>();
+        return directed ? inList.get(v).keySet() : adjList.get(v).keySet();
+    }
+    
+    public int getInDegree(V v) {
+        if (!containsVertex(v)) return 0;
+        return directed ? inList.get(v).size() : adjList.get(v).size();
+    }
+    
+    public int getOutDegree(V v) {
+        if (!containsVertex(v)) return 0;
+        return adjList.get(v).size();
+    }
+    
+    public MyArrayList<V> getVertices() {
+        MyArrayList<V> result = new MyArrayList<>();
+        MyArrayList<V> keys = adjList.keySet();
+        for (int i = 0; i < keys.size(); i++) {
+            result.add(keys.get(i));
+        }
+        return result;
+    }
+    
+    public boolean containsVertex(V v) {
+        return adjList.containsKey(v);
+    }
+    
+    public boolean containsEdge(V from, V to) {
+        return containsVertex(from) && adjList.get(from).containsKey(to);
+    }
+    
+    public Integer getEdgeWeight(V from, V to) {
+        if (!containsEdge(from, to)) return null;
+        return adjList.get(from).get(to, 0);
+    }
+    
+    // Реализация обхода в глубину
+    public void dfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        
+        System.out.print("DFS обход из " + start + ": ");
+        GraphTraversal<V> traversal = dfsIterator(start);
+        while (traversal.hasNext()) {
+            System.out.print(traversal.next() + " ");
+        }
+        System.out.println();
+    }
+    
+    // Реализация обхода в ширину
+    public void bfs(V start) {
+        if (!containsVertex(start)) {
+            System.out.println("Ошибка: вершина " + start + " не существует");
+            return;
+        }
+        
+        System.out.print("BFS обход из " + start + ": ");
+        GraphTraversal<V> traversal = bfsIterator(start);
+        while (traversal.hasNext()) {
+            System.out.print(traversal.next() + " ");
+        }
+        System.out.println();
+    }
+    
+    // Ленивые обходы: вершины выдаются по одной, ничего не накапливается
+    public GraphTraversal<V> dfsIterator(V start) {
+        return new GraphTraversal<>(this, start, false);
+    }
+    
+    public GraphTraversal<V> bfsIterator(V start) {
+        return new GraphTraversal<>(this, start, true);
+    }
+    
+    // Первая вершина в порядке BFS из start, удовлетворяющая условию, или null.
+    // Обход останавливается сразу после находки
+    public V findFirstReachable(V start, Predicate<V> condition) {
+        GraphTraversal<V> traversal = bfsIterator(start);
+        while (traversal.hasNext()) {
+            V vertex = traversal.next();
+            if (condition.test(vertex)) {
+                traversal.stop();
+                return vertex;
+            }
+        }
+        return null;
+    }
+    
+    // Метод для получения результата DFS
+    public MyArrayList<V> getDFSResult(V start) {
+        return collect(dfsIterator(start));
+    }
+    
+    // Метод для получения результата BFS
+    public MyArrayList<V> getBFSResult(V start) {
+        return collect(bfsIterator(start));
+    }
+    
+    private MyArrayList<V> collect(GraphTraversal<V> traversal) {
+        MyArrayList<V> result = new MyArrayList<>();
+        while (traversal.hasNext()) {
+            result.add(traversal.next());
+        }
+        return result;
+    }
+    
+    // Строка смежности вершины для обходов без копирования списка соседей
+    MyObjIntMap<V> adjacencyRow(V v) {
+        return adjList.get(v);
+    }
+    
+    // Номер текущей версии графа; меняется при каждом добавлении или удалении
+    public long getModificationEpoch() {
+        return epoch;
+    }
+    
+    // Кэш результатов dijkstra, bellmanFord и floydWarshall; null отключает кэш.
+    // Кэш, подключённый к другому графу, не принимается (IllegalStateException)
+    public void setShortestPathCache(ShortestPathCache<V> cache) {
+        if (cache == pathCache) return;
+        if (cache != null) {
+            cache.attach(this);
+        }
+        if (pathCache != null) {
+            pathCache.detach(this);
+        }
+        pathCache = cache;
+    }
+    
+    public ShortestPathCache<V> getShortestPathCache() {
+        return pathCache;
+    }
+    
+    public MyHashMap<V, Integer> dijkstra(V start) {
+        return dijkstra(start, null);
+    }
+    
+    // Алгоритм Дейкстры на индексированной куче.
+    // Если predecessors != null, туда записываются предки вершин на кратчайших путях
+    public MyHashMap<V, Integer> dijkstra(V start, MyHashMap<V, V> predecessors) {
+        return dijkstra(start, predecessors, null);
+    }
+    
+    // То же с отчётом о ходе вычисления и возможностью отмены; progress может быть null
+    public MyHashMap<V, Integer> dijkstra(V start, MyHashMap<V, V> predecessors, AlgorithmProgress progress) {
+        if (pathCache == null) return computeDijkstra(start, predecessors, progress);
+        return cachedDistances(ShortestPathCache.DIJKSTRA, start, predecessors, progress);
+    }
+    
+    // Результат из кэша или вычисленный и сохранённый; наружу отдаются копии,
+    // чтобы вызывающий код не мог испортить записи кэша
+    @SuppressWarnings("unchecked")
+    private MyHashMap<V, Integer> cachedDistances(int kind, V start, MyHashMap<V, V> predecessors,
+                                                  AlgorithmProgress progress) {
+        Object[] entry = (Object[]) pathCache.get(epoch, kind, start);
+        if (entry == null) {
+            MyHashMap<V, V> preds = new MyHashMap<>();
+            MyHashMap<V, Integer> dist = kind == ShortestPathCache.DIJKSTRA
+                ? computeDijkstra(start, preds, progress)
+                : computeBellmanFord(start, preds, progress);
+            entry = new Object[] {dist, preds};
+            pathCache.put(epoch, kind, start, entry, (long) dist.size() + preds.size());
+        }
+        if (predecessors != null) {
+            copyInto((MyHashMap<V, V>) entry[1], predecessors);
+        }
+        MyHashMap<V, Integer> dist = (MyHashMap<V, Integer>) entry[0];
+        MyHashMap<V, Integer> result = new MyHashMap<>(dist.size());
+        copyInto(dist, result);
+        return result;
+    }
+    
+    private static <K, T> void copyInto(MyHashMap<K, T> from, MyHashMap<K, T> to) {
+        MyArrayList<MyHashMap.Entry<K, T>> entries = from.entrySet();
+        for (int i = 0; i < entries.size(); i++) {
+            to.put(entries.get(i).key, entries.get(i).value);
+        }
+    }
+    
+    private MyHashMap<V, Integer> computeDijkstra(V start, MyHashMap<V, V> predecessors, AlgorithmProgress progress) {
+        MyArrayList<V> vertices = getVertices();
+        int n = vertices.size();
+        MyHashMap<V, Integer> distances = new MyHashMap<>(n);
+        for (int i = 0; i < n; i++) {
+            distances.put(vertices.get(i), Integer.MAX_VALUE);
+        }
+        if (!containsVertex(start)) return distances;
+        
+        // Нумерация вершин для кучи
+        MyObjIntMap<V> index = new MyObjIntMap<>(n);
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        boolean[] settled = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            dist[i] = Integer.MAX_VALUE;
+            prev[i] = -1;
+        }
+        
+        MyIndexedMinHeap heap = new MyIndexedMinHeap(n);
+        int s = index.get(start, -1);
+        dist[s] = 0;
+        heap.insert(s, 0);
+        
+        int settledCount = 0;
+        long relaxations = 0;
+        while (!heap.isEmpty()) {
+            int u = heap.pollMin();
+            settled[u] = true;
+            if ((++settledCount & IdGraphAlgorithms.REPORT_MASK) == 0) {
+                IdGraphAlgorithms.report(progress, settledCount, n);
+            }
+            
+            MyObjIntMap<V> edges = adjList.get(vertices.get(u));
+            relaxations += edges.size();
+            for (int slot = 0; slot < edges.capacity(); slot++) {
+                V to = edges.keyAt(slot);
+                if (to == null) continue;
+                int weight = edges.valueAt(slot);
+                if (weight < 0) {
+                    throw new IllegalStateException("Алгоритм Дейкстры не работает с отрицательными весами");
+                }
+                int v = index.get(to, -1);
+                if (settled[v]) continue;
+                
+                long candidate = (long) dist[u] + weight;
+                if (candidate < dist[v]) {
+                    dist[v] = (int) candidate;
+                    prev[v] = u;
+                    heap.insertOrDecrease(v, dist[v]);
+                }
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordDijkstra(settledCount, relaxations);
+        
+        for (int i = 0; i < n; i++) {
+            distances.put(vertices.get(i), dist[i]);
+            if (predecessors != null && prev[i] >= 0) {
+                predecessors.put(vertices.get(i), vertices.get(prev[i]));
+            }
+        }
+        return distances;
+    }
+    
+    // Восстановление пути до target по карте предков; пустой список, если путь не найден
+    public MyArrayList<V> buildPath(MyHashMap<V, V> predecessors, V start, V target) {
+        MyStack<V> stack = new MyStack<>();
+        V current = target;
+        while (current != null) {
+            stack.push(current);
+            if (current.equals(start)) break;
+            current = predecessors.get(current);
+        }
+        
+        MyArrayList<V> path = new MyArrayList<>();
+        if (current == null) return path;
+        while (!stack.isEmpty()) {
+            path.add(stack.pop());
+        }
+        return path;
+    }
+    
+    // Алгоритм Флойда-Уоршелла; недостижимость обозначается FloydWarshall.INF
+    public int[][] floydWarshall() {
+        return floydWarshall(null);
+    }
+    
+    // Если next != null (матрица n x n), туда записывается номер следующей вершины
+    // на кратчайшем пути i -> j (-1, если пути нет); номера - индексы в getVertices()
+    public int[][] floydWarshall(int[][] next) {
+        return floydWarshall(next, null);
+    }
+    
+    // То же с отчётом о ходе вычисления и возможностью отмены; progress может быть null
+    public int[][] floydWarshall(int[][] next, AlgorithmProgress progress) {
+        if (pathCache == null) return computeFloydWarshall(next, progress);
+        
+        int kind = next == null ? ShortestPathCache.FLOYD_WARSHALL : ShortestPathCache.FLOYD_WARSHALL_PATHS;
+        int[][][] entry = (int[][][]) pathCache.get(epoch, kind, null);
+        if (entry == null) {
+            int[][] computedNext = next == null ? null : new int[adjList.size()][];
+            int[][] dist = computeFloydWarshall(computedNext, progress);
+            entry = new int[][][] {dist, computedNext};
+            long n = dist.length;
+            pathCache.put(epoch, kind, null, entry, next == null ? n * n : 2 * n * n);
+        }
+        if (next != null) {
+            for (int i = 0; i < entry[1].length; i++) {
+                next[i] = entry[1][i].clone();
+            }
+        }
+        int[][] dist = new int[entry[0].length][];
+        for (int i = 0; i < dist.length; i++) {
+            dist[i] = entry[0][i].clone();
+        }
+        return dist;
+    }
+    
+    private int[][] computeFloydWarshall(int[][] next, AlgorithmProgress progress) {
+        long seedStart = System.nanoTime();
+        MyArrayList<V> vertices = getVertices();
+        int n = vertices.size();
+        MyObjIntMap<V> index = new MyObjIntMap<>(n);
+        for (int i = 0; i < n; i++) {
+            index.put(vertices.get(i), i);
+        }
+        
+        // Инициализация матрицы одним проходом по рёбрам
+        int[][] dist = FloydWarshall.newDistanceMatrix(n);
+        if (next != null) {
+            int[][] initial = FloydWarshall.newNextMatrix(n);
+            for (int i = 0; i < n; i++) {
+                next[i] = initial[i];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            MyObjIntMap<V> row = adjList.get(vertices.get(i));
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to != null) {
+                    FloydWarshall.seedEdge(dist, next, i, index.get(to, -1), row.valueAt(slot));
+                }
+            }
+        }
+        if (GraphMetrics.enabled) GraphMetrics.recordFloydWarshallSeed(System.nanoTime() - seedStart);
+        
+        // Основной алгоритм
+        FloydWarshall.run(dist, next, progress);
+        return dist;
+    }
+    
+    // Алгоритм Джонсона: та же матрица в порядке getVertices(), что у floydWarshall(),
+    // но за O(n * m * log n) - на разреженных графах намного быстрее.
+    // Бросает IllegalStateException, если в графе есть цикл отрицательного веса
+    public int[][] johnson() {
+        return johnson((AlgorithmProgress) null);
+    }
+    
+    public int[][] johnson(AlgorithmProgress progress) {
+        return toCsr().johnson(progress);
+    }
+    
+    // Строки матрицы Джонсона отдаются rows по мере готовности, вся матрица не
+    // хранится; столбцы - индексы в getVertices()
+    public void johnson(DistanceRowConsumer<V> rows, AlgorithmProgress progress) {
+        toCsr().johnson(rows, progress);
+    }
+    
+    // Кратчайший путь from -> to по матрице next из floydWarshall(next)
+    public MyArrayList<V> getFloydWarshallPath(int[][] next, V from, V to) {
+        MyArrayList<V> vertices = getVertices();
+        MyArrayList<V> result = new MyArrayList<>();
+        int i = vertices.indexOf(from);
+        int j = vertices.indexOf(to);
+        if (i < 0 || j < 0) return result;
+        
+        int[] path = FloydWarshall.path(next, i, j);
+        for (int k = 0; k < path.length; k++) {
+            result.add(vertices.get(path[k]));
+        }
+        return result;
+    }
+    
+    // Алгоритм Беллмана-Форда
+    public MyHashMap<V, Integer> bellmanFord(V start) {
+        return bellmanFord(start, null);
+    }
+    
+    // Беллман-Форд с очередью (SPFA) на CSR-снимке графа.
+    // Если predecessors != null, туда записываются предки вершин на кратчайших путях.
+    // При отрицательном цикле расстояния не определены, сам цикл можно получить
+    // через findNegativeCycle
+    public MyHashMap<V, Integer> bellmanFord(V start, MyHashMap<V, V> predecessors) {
+        return bellmanFord(start, predecessors, null);
+    }
+    
+    // То же с отчётом о ходе вычисления и возможностью отмены; progress может быть null
+    public MyHashMap<V, Integer> bellmanFord(V start, MyHashMap<V, V> predecessors, AlgorithmProgress progress) {
+        if (pathCache == null) return computeBellmanFord(start, predecessors, progress);
+        return cachedDistances(ShortestPathCache.BELLMAN_FORD, start, predecessors, progress);
+    }
+    
+    private MyHashMap<V, Integer> computeBellmanFord(V start, MyHashMap<V, V> predecessors, AlgorithmProgress progress) {
+        CsrGraph<V> csr = toCsr();
+        int n = csr.getVertexCount();
+        int s = csr.idOf(start);
+        MyHashMap<V, Integer> distances = new MyHashMap<>(n + 1);
+        if (s < 0) {
+            for (int i = 0; i < n; i++) {
+                distances.put(csr.vertexOf(i), Integer.MAX_VALUE);
+            }
+            distances.put(start, 0);
+            return distances;
+        }
+        
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        IdGraphAlgorithms.bellmanFord(csr, s, dist, prev, progress);
+        for (int i = 0; i < n; i++) {
+            distances.put(csr.vertexOf(i), dist[i]);
+            if (predecessors != null && prev[i] >= 0) {
+                predecessors.put(csr.vertexOf(i), csr.vertexOf(prev[i]));
+            }
+        }
+        return distances;
+    }
+    
+    // Цикл отрицательного веса, достижимый из start; пустой список, если его нет
+    public MyArrayList<V> findNegativeCycle(V start) {
+        return findNegativeCycle(start, null);
+    }
+    
+    public MyArrayList<V> findNegativeCycle(V start, AlgorithmProgress progress) {
+        return findNegativeCycle(start, null, progress);
+    }
+    
+    // То же за один проход Беллмана-Форда: если цикла нет, distances (если не null)
+    // заполняется расстояниями из start, как в bellmanFord(start)
+    public MyArrayList<V> findNegativeCycle(V start, MyHashMap<V, Integer> distances, AlgorithmProgress progress) {
+        MyArrayList<V> result = new MyArrayList<>();
+        CsrGraph<V> csr = toCsr();
+        int n = csr.getVertexCount();
+        int s = csr.idOf(start);
+        if (s < 0) {
+            if (distances != null) {
+                for (int i = 0; i < n; i++) {
+                    distances.put(csr.vertexOf(i), Integer.MAX_VALUE);
+                }
+                distances.put(start, 0);
+            }
+            return result;
+        }
+        
+        int[] dist = new int[n];
+        int[] prev = new int[n];
+        int witness = IdGraphAlgorithms.bellmanFord(csr, s, dist, prev, progress);
+        if (witness < 0) {
+            if (distances != null) {
+                for (int i = 0; i < n; i++) {
+                    distances.put(csr.vertexOf(i), dist[i]);
+                }
+            }
+            return result;
+        }
+        
+        int[] cycle = csr.negativeCycleById(prev, witness);
+        for (int i = 0; i < cycle.length; i++) {
+            result.add(csr.vertexOf(cycle[i]));
+        }
+        return result;
+    }
+    
+    // Кратчайший путь from -> to двунаправленным Дейкстрой: поиск идёт с обоих
+    // концов и останавливается, как только пути встретились, не обходя весь граф
+    public PathResult<V> shortestPath(V from, V to) {
+        return PointToPoint.bidirectional(arcs(), from, to, containsVertex(from), containsVertex(to));
+    }
+    
+    // A*: heuristic(v) - нижняя оценка расстояния от v до to
+    // (например, LandmarkHeuristic.toward(to)); v -> 0 даёт обычный Дейкстра
+    public PathResult<V> shortestPath(V from, V to, ToIntFunction<V> heuristic) {
+        return PointToPoint.astar(arcs(), from, to, heuristic, containsVertex(from), containsVertex(to));
+    }
+    
+    private PointToPoint.ArcSource<V> arcs() {
+        return new PointToPoint.ArcSource<V>() {
+            public void forEachOut(V v, ObjIntConsumer<V> action) {
+                forEachArc(adjList.get(v), action);
+            }
+            
+            public void forEachIn(V v, ObjIntConsumer<V> action) {
+                forEachArc(directed ? inList.get(v) : adjList.get(v), action);
+            }
+        };
+    }
+    
+    private static <V> void forEachArc(MyObjIntMap<V> row, ObjIntConsumer<V> action) {
+        for (int slot = 0; slot < row.capacity(); slot++) {
+            V to = row.keyAt(slot);
+            if (to != null) action.accept(to, row.valueAt(slot));
+        }
+    }
+    
+    public int getVertexCount() {
+        return adjList.size();
+    }
+    
+    public int getEdgeCount() {
+        if (!directed) {  
+            return arcCount / 2;
+        } else {
+            return arcCount; 
+        }
+    }
+    
+    // Приблизительный объём памяти структур графа в байтах без объектов самих вершин
+    public long estimateMemoryBytes() {
+        long[] memory = memoryEstimate();
+        return memory[0] + memory[1];
+    }
+    
+    // {байты таблиц вершин и пустых строк, байты ячеек строк смежности}
+    long[] memoryEstimate() {
+        long[] memory = new long[2];
+        addMemory(adjList, memory);
+        if (directed) {
+            addMemory(inList, memory);
+        }
+        return memory;
+    }
+    
+    private static <V> void addMemory(MyHashMap<V, MyObjIntMap<V>> rows, long[] memory) {
+        memory[0] += GraphMetrics.hashTableBytes(rows.capacity());
+        MyArrayList<MyObjIntMap<V>> values = rows.values();
+        for (int i = 0; i < values.size(); i++) {
+            long bytes = GraphMetrics.hashTableBytes(values.get(i).capacity());
+            long empty = GraphMetrics.hashTableBytes(0);
+            memory[0] += empty;
+            memory[1] += bytes - empty;
+        }
+    }
+    
+    public String getAdjacencyMatrixString() {
+        MyArrayList<V> vertices = getVertices();
+        StringBuilder sb = new StringBuilder();
+        
+        sb.append("Матрица смежности:\n  ");
+        for (int i = 0; i < vertices.size(); i++) {
+            V vertex = vertices.get(i);
+            sb.append(vertex).append(" ");
+        }
+        sb.append("\n");
+        
+        for (int i = 0; i < vertices.size(); i++) {
+            sb.append(vertices.get(i)).append(" ");
+            for (int j = 0; j < vertices.size(); j++) {
+                V from = vertices.get(i);
+                V to = vertices.get(j);
+                Integer weight = getEdgeWeight(from, to);
+                sb.append(weight != null ? weight : "0").append(" ");
+            }
+            sb.append("\n");
+        }
+        
+        return sb.toString();
+    }
+    
+    public String getFloydWarshallString() {
+        int[][] dist = floydWarshall();
+        MyArrayList<V> vertices = getVertices();
+        StringBuilder sb = new StringBuilder();
+        
+        if (FloydWarshall.hasNegativeCycle(dist)) {
+            sb.append("Внимание: в графе есть цикл отрицательного веса, расстояния некорректны\n");
+        }
+        sb.append("Матрица кратчайших путей (Флойд-Уоршелл):\n  ");
+        for (int i = 0; i < vertices.size(); i++) {
+            V vertex = vertices.get(i);
+            sb.append(vertex).append(" ");
+        }
+        sb.append("\n");
+        
+        for (int i = 0; i < vertices.size(); i++) {
+            sb.append(vertices.get(i)).append(" ");
+            for (int j = 0; j < vertices.size(); j++) {
+                if (dist[i][j] == FloydWarshall.INF) {
+                    sb.append("INF ");
+                } else {
+                    sb.append(dist[i][j]).append(" ");
+                }
+            }
+            sb.append("\n");
+        }
+        
+        return sb.toString();
+    }
+    
+    public String getBellmanFordString(V start) {
+        StringBuilder sb = new StringBuilder();
+        MyHashMap<V, Integer> distances = new MyHashMap<>(getVertexCount() + 1);
+        MyArrayList<V> cycle = findNegativeCycle(start, distances, null);
+        if (!cycle.isEmpty()) {
+            sb.append("Из ").append(start).append(" достижим цикл отрицательного веса: ");
+            for (int i = 0; i < cycle.size(); i++) {
+                sb.append(cycle.get(i)).append(" -> ");
+            }
+            sb.append(cycle.get(0)).append("\n");
+            return sb.toString();
+        }
+        
+        sb.append("Кратчайшие пути (Беллман-Форд) из ").append(start).append(":\n");
+        MyArrayList<MyHashMap.Entry<V, Integer>> entries = distances.entrySet(); 
+        for (int i = 0; i < entries.size(); i++) {
+            MyHashMap.Entry<V, Integer> entry = entries.get(i);
+            sb.append("До ").append(entry.key).append(": ");  
+            if (entry.value == Integer.MAX_VALUE) {
+                sb.append("INF\n");
+            } else {
+                sb.append(entry.value).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    public String getDijkstraString(V start) {
+        MyHashMap<V, V> predecessors = new MyHashMap<>();
+        MyHashMap<V, Integer> distances = dijkstra(start, predecessors);
+        StringBuilder sb = new StringBuilder();
+
+        sb.append("Кратчайшие пути (Дейкстра) из ").append(start).append(":\n");
+        MyArrayList<MyHashMap.Entry<V, Integer>> entries = distances.entrySet();
+        for (int i = 0; i < entries.size(); i++) {
+            MyHashMap.Entry<V, Integer> entry = entries.get(i);
+            sb.append("До ").append(entry.key).append(": ");
+            if (entry.value == Integer.MAX_VALUE) {
+                sb.append("INF\n");
+            } else {
+                MyArrayList<V> path = buildPath(predecessors, start, entry.key);
+                sb.append(entry.value).append(" (путь: ");
+                for (int j = 0; j < path.size(); j++) {
+                    sb.append(path.get(j));
+                    if (j < path.size() - 1) {
+                        sb.append(" -> ");
+                    }
+                }
+                sb.append(")\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    // Снимок графа в формате CSR; номера вершин совпадают с порядком getVertices()
+    public CsrGraph<V> toCsr() {
+        MyArrayList<V> vertices = getVertices();
+        int n = vertices.size();
+        Object[] idToVertex = new Object[n];
+        MyObjIntMap<V> ids = new MyObjIntMap<>(n);
+        int arcs = 0;
+        for (int i = 0; i < n; i++) {
+            V vertex = vertices.get(i);
+            idToVertex[i] = vertex;
+            ids.put(vertex, i);
+            arcs += adjList.get(vertex).size();
+        }
+
+        int[] offsets = new int[n + 1];
+        int[] targets = new int[arcs];
+        int[] weights = new int[arcs];
+        int pos = 0;
+        for (int i = 0; i < n; i++) {
+            offsets[i] = pos;
+            MyObjIntMap<V> row = adjList.get(vertices.get(i));
+            for (int slot = 0; slot < row.capacity(); slot++) {
+                V to = row.keyAt(slot);
+                if (to != null) {
+                    targets[pos] = ids.get(to, -1);
+                    weights[pos] = row.valueAt(slot);
+                    pos++;
+                }
+            }
+        }
+        offsets[n] = pos;
+
+        return new CsrGraph<>(idToVertex, ids, offsets, targets, weights, directed);
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+}
\ No newline at end of file
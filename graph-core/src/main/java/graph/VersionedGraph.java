@@ -0,0 +1,198 @@
+package graph;
+
+import java.util.function.ToIntFunction;
+
+// Граф с версиями (MVCC): каждое изменение публикует новую неизменяемую
+// версию GraphView, построенную копированием пути в персистентных таблицах.
+// snapshot() за O(1) отдаёт текущую версию; читатели работают с ней без
+// замков сколько угодно долго, а писатели не ждут читателей.
+// Писатели упорядочены одним замком, версии идут строго по очереди
+public class VersionedGraph<V> implements Graph<V> {
+    private final Object writeLock = new Object();
+    private volatile GraphView<V> current;
+
+    public VersionedGraph() {
+        this(false);
+    }
+
+    public VersionedGraph(boolean directed) {
+        current = new GraphView<>(PersistentMap.empty(), 0, directed, 0);
+    }
+
+    public GraphView<V> snapshot() {
+        return current;
+    }
+
+    public long getVersion() {
+        return current.getVersion();
+    }
+
+    public boolean isDirected() {
+        return current.directed;
+    }
+
+    public void addVertex(V v) {
+        if (v == null) throw new IllegalArgumentException("Вершина не может быть null");
+        synchronized (writeLock) {
+            GraphView<V> view = current;
+            if (view.vertices.containsKey(v)) return;
+            publish(view, withVertex(view, view.vertices, v), view.arcCount);
+        }
+    }
+
+    private GraphView.Rows<V> emptyRows(GraphView<V> view) {
+        return new GraphView.Rows<>(PersistentMap.empty(), view.directed ? PersistentMap.empty() : null);
+    }
+
+    private PersistentMap<V, GraphView.Rows<V>> withVertex(GraphView<V> view, PersistentMap<V, GraphView.Rows<V>> vertices, V v) {
+        return vertices.containsKey(v) ? vertices : vertices.with(v, emptyRows(view));
+    }
+
+    private void publish(GraphView<V> view, PersistentMap<V, GraphView.Rows<V>> vertices, int arcCount) {
+        current = new GraphView<>(vertices, arcCount, view.directed, view.getVersion() + 1);
+    }
+
+    public void addEdge(V from, V to, int weight) {
+        if (from == null || to == null) throw new IllegalArgumentException("Вершины не могут быть null");
+        synchronized (writeLock) {
+            GraphView<V> view = current;
+            PersistentMap<V, GraphView.Rows<V>> vertices = withVertex(view, view.vertices, from);
+            vertices = withVertex(view, vertices, to);
+            int arcs = view.arcCount;
+
+            GraphView.Rows<V> fromRows = vertices.get(from);
+            if (!fromRows.out.containsKey(to)) arcs++;
+            fromRows = new GraphView.Rows<>(fromRows.out.with(to, weight), fromRows.in);
+            vertices = vertices.with(from, fromRows);
+
+            GraphView.Rows<V> toRows = vertices.get(to);
+            if (view.directed) {
+                toRows = new GraphView.Rows<>(toRows.out, toRows.in.with(from, weight));
+            } else {
+                if (!toRows.out.containsKey(from)) arcs++;
+                toRows = new GraphView.Rows<>(toRows.out.with(from, weight), null);
+            }
+            vertices = vertices.with(to, toRows);
+            publish(view, vertices, arcs);
+        }
+    }
+
+    // O(степень вершины · log n): дуги к v убираются только у её соседей
+    public void removeVertex(V v) {
+        synchronized (writeLock) {
+            GraphView<V> view = current;
+            GraphView.Rows<V> rows = v == null ? null : view.vertices.get(v);
+            if (rows == null) return;
+
+            PersistentMap<V, GraphView.Rows<V>> vertices = view.vertices.without(v);
+            int arcs = view.arcCount - rows.out.size();
+            MyArrayList<V> sources = (view.directed ? rows.in : rows.out).keySet();
+            for (int i = 0; i < sources.size(); i++) {
+                V from = sources.get(i);
+                GraphView.Rows<V> r = vertices.get(from);
+                if (r != null) {
+                    vertices = vertices.with(from, new GraphView.Rows<>(r.out.without(v), r.in));
+                    arcs--;
+                }
+            }
+            if (view.directed) {
+                MyArrayList<V> targets = rows.out.keySet();
+                for (int i = 0; i < targets.size(); i++) {
+                    V to = targets.get(i);
+                    GraphView.Rows<V> r = vertices.get(to);
+                    if (r != null) {
+                        vertices = vertices.with(to, new GraphView.Rows<>(r.out, r.in.without(v)));
+                    }
+                }
+            }
+            publish(view, vertices, arcs);
+        }
+    }
+
+    public void removeEdge(V from, V to) {
+        synchronized (writeLock) {
+            GraphView<V> view = current;
+            if (!view.containsEdge(from, to)) return;
+            PersistentMap<V, GraphView.Rows<V>> vertices = view.vertices;
+            int arcs = view.arcCount - 1;
+
+            GraphView.Rows<V> fromRows = vertices.get(from);
+            vertices = vertices.with(from, new GraphView.Rows<>(fromRows.out.without(to), fromRows.in));
+            GraphView.Rows<V> toRows = vertices.get(to);
+            if (view.directed) {
+                vertices = vertices.with(to, new GraphView.Rows<>(toRows.out, toRows.in.without(from)));
+            } else if (toRows.out.containsKey(from)) {
+                vertices = vertices.with(to, new GraphView.Rows<>(toRows.out.without(from), null));
+                arcs--;
+            }
+            publish(view, vertices, arcs);
+        }
+    }
+
+    // Чтение и алгоритмы выполняются на текущей версии
+    public MyArrayList<V> getAdjacent(V v) {
+        return current.getAdjacent(v);
+    }
+
+    public MyArrayList<V> getPredecessors(V v) {
+        return current.getPredecessors(v);
+    }
+
+    public MyArrayList<V> getVertices() {
+        return current.getVertices();
+    }
+
+    public boolean containsVertex(V v) {
+        return current.containsVertex(v);
+    }
+
+    public boolean containsEdge(V from, V to) {
+        return current.containsEdge(from, to);
+    }
+
+    public Integer getEdgeWeight(V from, V to) {
+        return current.getEdgeWeight(from, to);
+    }
+
+    public void dfs(V start) {
+        current.dfs(start);
+    }
+
+    public void bfs(V start) {
+        current.bfs(start);
+    }
+
+    public MyHashMap<V, Integer> dijkstra(V start) {
+        return current.dijkstra(start);
+    }
+
+    // Номера вершин в матрице - порядок snapshot().getVertices() той же версии;
+    // чтобы сопоставить их, вызывайте snapshot().floydWarshall()
+    public int[][] floydWarshall() {
+        return current.floydWarshall();
+    }
+
+    public MyHashMap<V, Integer> bellmanFord(V start) {
+        return current.bellmanFord(start);
+    }
+
+    public PathResult<V> shortestPath(V from, V to) {
+        return current.shortestPath(from, to);
+    }
+
+    public PathResult<V> shortestPath(V from, V to, ToIntFunction<V> heuristic) {
+        return current.shortestPath(from, to, heuristic);
+    }
+
+    public int getVertexCount() {
+        return current.getVertexCount();
+    }
+
+    public int getEdgeCount() {
+        return current.getEdgeCount();
+    }
+
+    public CsrGraph<V> toCsr() {
+        return current.toCsr();
+    }
+}
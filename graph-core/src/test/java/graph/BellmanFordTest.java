@@ -0,0 +1,133 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class BellmanFordTest {
+    // Небольшие веса: примерно в половине графов есть отрицательный цикл
+    @Test
+    void matchesPlainBellmanFordSmallWeights() {
+        Random random = new Random(71);
+        for (int run = 0; run < 300; run++) {
+            SimpleGraph<Integer> graph = new SimpleGraph<>(run % 4 != 0);
+            int vertices = 2 + random.nextInt(25);
+            for (int e = 0; e < vertices * 2; e++) {
+                graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), random.nextInt(40) - 4);
+            }
+            check(graph, random.nextInt(vertices));
+        }
+    }
+
+    // Веса около 10^9: расстояния уходят за границы int, и цикл должен
+    // находиться, даже когда прижатые к Integer.MIN_VALUE расстояния перестают уменьшаться
+    @Test
+    void matchesPlainBellmanFordLargeWeights() {
+        Random random = new Random(72);
+        for (int run = 0; run < 200; run++) {
+            SimpleGraph<Integer> graph = new SimpleGraph<>(true);
+            int vertices = 2 + random.nextInt(40);
+            for (int e = 0; e < vertices * 2; e++) {
+                graph.addEdge(random.nextInt(vertices), random.nextInt(vertices),
+                    random.nextInt(2_000_000_000) - 1_000_000_000);
+            }
+            check(graph, random.nextInt(vertices));
+        }
+    }
+
+    @Test
+    void cycleBehindLongNegativeChain() {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("s", "a", -2_000_000_000);
+        graph.addEdge("a", "b", -2_000_000_000);
+        graph.addEdge("b", "c", 1_000_000_000);
+        graph.addEdge("c", "b", -1_000_000_001);
+        // Изолированные вершины увеличивают n: в графе из четырёх вершин счётчик
+        // рёбер в пути дошёл бы до n и без уменьшения расстояний
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex("x" + i);
+        }
+        MyArrayList<String> cycle = graph.findNegativeCycle("s");
+        assertEquals(2, cycle.size());
+        assertTrue(cycle.contains("b") && cycle.contains("c"));
+    }
+
+    @Test
+    void noCycleWithoutNegativeWeights() {
+        SimpleGraph<String> graph = new SimpleGraph<>(false);
+        graph.addEdge("a", "b", 1);
+        assertEquals(0, graph.findNegativeCycle("a").size());
+        assertEquals(0, graph.findNegativeCycle("x").size());
+    }
+
+    private static <V> void check(SimpleGraph<V> graph, V start) {
+        MyArrayList<V> vertices = graph.getVertices();
+        long[] expected = plainBellmanFord(graph, vertices, start);
+        boolean hasCycle = expected == null;
+
+        MyHashMap<V, Integer> distances = new MyHashMap<>();
+        MyArrayList<V> cycle = graph.findNegativeCycle(start, distances, null);
+        assertEquals(hasCycle, cycle.size() > 0, "cycle from " + start);
+        if (hasCycle) {
+            checkCycle(graph, start, cycle);
+            return;
+        }
+
+        MyHashMap<V, Integer> spfa = graph.bellmanFord(start);
+        for (int i = 0; i < vertices.size(); i++) {
+            V v = vertices.get(i);
+            int value = expected[i] >= Integer.MAX_VALUE ? Integer.MAX_VALUE
+                : (int) Math.max(expected[i], Integer.MIN_VALUE);
+            assertEquals(value, spfa.get(v), start + " -> " + v);
+            assertEquals(value, distances.get(v), start + " -> " + v);
+        }
+    }
+
+    // Цикл - замкнутый обход по существующим рёбрам с отрицательным весом,
+    // до которого можно дойти из start
+    private static <V> void checkCycle(SimpleGraph<V> graph, V start, MyArrayList<V> cycle) {
+        long weight = 0;
+        for (int i = 0; i < cycle.size(); i++) {
+            V from = cycle.get(i);
+            V to = cycle.get((i + 1) % cycle.size());
+            Integer w = graph.getEdgeWeight(from, to);
+            assertTrue(w != null, "no edge " + from + " -> " + to);
+            weight += w;
+        }
+        assertTrue(weight < 0, "cycle weight " + weight);
+        assertTrue(graph.getBFSResult(start).contains(cycle.get(0)), "cycle is not reachable from " + start);
+    }
+
+    // |V| - 1 проходов по всем рёбрам в long; null, если после них ещё
+    // что-то релаксируется, то есть из start достижим отрицательный цикл
+    private static <V> long[] plainBellmanFord(SimpleGraph<V> graph, MyArrayList<V> vertices, V start) {
+        int n = vertices.size();
+        long[] dist = new long[n];
+        for (int i = 0; i < n; i++) {
+            dist[i] = Integer.MAX_VALUE;
+        }
+        dist[vertices.indexOf(start)] = 0;
+        for (int pass = 0; pass < n; pass++) {
+            boolean changed = false;
+            for (int i = 0; i < n; i++) {
+                if (dist[i] == Integer.MAX_VALUE) continue;
+                V from = vertices.get(i);
+                MyArrayList<V> adjacent = graph.getAdjacent(from);
+                for (int k = 0; k < adjacent.size(); k++) {
+                    int j = vertices.indexOf(adjacent.get(k));
+                    long candidate = dist[i] + graph.getEdgeWeight(from, adjacent.get(k));
+                    if (candidate < dist[j]) {
+                        dist[j] = candidate;
+                        changed = true;
+                    }
+                }
+            }
+            if (!changed) return dist;
+            if (pass == n - 1) return null;
+        }
+        return dist;
+    }
+}
@@ -0,0 +1,136 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrentGraphTest {
+    private static final int THREADS = 8;
+    private static final int VERTICES = 40;
+
+    @Test
+    void concurrentChangesKeepCountsConsistentDirected() throws Exception {
+        concurrentChanges(true);
+    }
+
+    @Test
+    void concurrentChangesKeepCountsConsistentUndirected() throws Exception {
+        concurrentChanges(false);
+    }
+
+    // Писатели добавляют и удаляют рёбра и вершины в маленьком наборе вершин,
+    // чтобы часто попадать на одни полосы и на удаляемые вершины; читатель
+    // тем временем собирает CSR-снимки
+    private void concurrentChanges(boolean directed) throws Exception {
+        ConcurrentGraph<Integer> graph = new ConcurrentGraph<>(directed);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            AtomicBoolean writing = new AtomicBoolean(true);
+            Future<?>[] writers = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                long seed = t;
+                writers[t] = pool.submit(() -> {
+                    Random random = new Random(seed);
+                    start.await();
+                    for (int i = 0; i < 20000; i++) {
+                        int from = random.nextInt(VERTICES);
+                        int to = random.nextInt(VERTICES);
+                        if (from == to) continue;
+                        int op = random.nextInt(100);
+                        if (op < 60) {
+                            graph.addEdge(from, to, random.nextInt(10));
+                        } else if (op < 98) {
+                            graph.removeEdge(from, to);
+                        } else {
+                            graph.removeVertex(to);
+                        }
+                    }
+                    return null;
+                });
+            }
+            Future<?> reader = pool.submit(() -> {
+                start.await();
+                while (writing.get()) {
+                    CsrGraph<Integer> csr = graph.toCsr();
+                    assertTrue(csr.getArcCount() >= 0);
+                }
+                return null;
+            });
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+            writing.set(false);
+            reader.get(60, TimeUnit.SECONDS);
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertConsistent(graph);
+        // Удаление по входящим дугам проверяет, что они не разошлись с исходящими
+        for (int v = 0; v < VERTICES; v += 2) {
+            graph.removeVertex(v);
+        }
+        assertConsistent(graph);
+    }
+
+    // Рёбра раздаются потокам без пересечений, поэтому итог известен заранее
+    @Test
+    void concurrentDisjointInsertsAreAllCounted() throws Exception {
+        ConcurrentGraph<Integer> graph = new ConcurrentGraph<>(true);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<?>[] writers = new Future<?>[THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                writers[t] = pool.submit(() -> {
+                    for (int e = thread; e < VERTICES * VERTICES; e += THREADS) {
+                        graph.addEdge(e / VERTICES, e % VERTICES, e);
+                    }
+                });
+            }
+            for (Future<?> writer : writers) {
+                writer.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(VERTICES * VERTICES, graph.getEdgeCount());
+        CsrGraph<Integer> csr = graph.toCsr();
+        assertEquals(VERTICES * VERTICES, csr.getArcCount());
+        for (int e = 0; e < VERTICES * VERTICES; e++) {
+            assertEquals(Integer.valueOf(e), csr.getEdgeWeight(e / VERTICES, e % VERTICES));
+        }
+    }
+
+    private static void assertConsistent(ConcurrentGraph<Integer> graph) {
+        CsrGraph<Integer> csr = graph.toCsr();
+        int arcs = 0;
+        MyArrayList<Integer> vertices = graph.getVertices();
+        for (int i = 0; i < vertices.size(); i++) {
+            Integer u = vertices.get(i);
+            MyArrayList<Integer> adjacent = graph.getAdjacent(u);
+            for (int j = 0; j < adjacent.size(); j++) {
+                Integer v = adjacent.get(j);
+                assertTrue(graph.containsVertex(v), u + " -> removed " + v);
+                if (!graph.isDirected()) {
+                    assertEquals(graph.getEdgeWeight(u, v), graph.getEdgeWeight(v, u), u + " <-> " + v);
+                }
+            }
+            arcs += adjacent.size();
+        }
+        assertEquals(graph.getVertexCount(), csr.getVertexCount());
+        assertEquals(arcs, csr.getArcCount());
+        assertEquals(graph.isDirected() ? arcs : arcs / 2, graph.getEdgeCount());
+    }
+}
@@ -0,0 +1,155 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ContractionHierarchyTest {
+    private static final int MAGIC = 0x48435247;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void readBackAnswersLikeDijkstra() throws IOException {
+        Random random = new Random(11);
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        for (int e = 0; e < 400; e++) {
+            graph.addEdge("v" + random.nextInt(100), "v" + random.nextInt(100), random.nextInt(20));
+        }
+        Path file = dir.resolve("graph.ch");
+        ContractionHierarchy.build(graph).write(file);
+        ContractionHierarchy<String> hierarchy = ContractionHierarchy.read(file);
+
+        MyArrayList<String> vertices = graph.getVertices();
+        for (int i = 0; i < 10; i++) {
+            String from = vertices.get(random.nextInt(vertices.size()));
+            MyHashMap<String, Integer> expected = graph.dijkstra(from);
+            for (int j = 0; j < vertices.size(); j++) {
+                String to = vertices.get(j);
+                assertEquals((int) expected.get(to), hierarchy.distance(from, to), from + " -> " + to);
+            }
+        }
+    }
+
+    // Состояние запроса живёт в ThreadLocal потока; оно не должно удерживать
+    // иерархию, пока поток (EDT, пул) продолжает работать
+    @Test
+    void queriedHierarchyIsCollectedWhileThreadLives() throws Exception {
+        ExecutorService worker = Executors.newSingleThreadExecutor();
+        try {
+            WeakReference<ContractionHierarchy<String>> ref = worker.submit(() -> {
+                SimpleGraph<String> graph = new SimpleGraph<>(true);
+                graph.addEdge("a", "b", 1);
+                graph.addEdge("b", "c", 2);
+                ContractionHierarchy<String> hierarchy = ContractionHierarchy.build(graph);
+                assertEquals(3, hierarchy.distance("a", "c"));
+                return new WeakReference<>(hierarchy);
+            }).get();
+            for (int i = 0; i < 50 && ref.get() != null; i++) {
+                System.gc();
+                Thread.sleep(20);
+            }
+            assertTrue(ref.get() == null, "hierarchy is still reachable from the worker thread");
+        } finally {
+            worker.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsNegativeAndOversizedVertexCount() throws IOException {
+        for (int n : new int[] {-1, Integer.MAX_VALUE}) {
+            Path file = write(out -> out.writeInt(n));
+            assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.read(file));
+        }
+    }
+
+    @Test
+    void rejectsOversizedArrayLength() throws IOException {
+        Path file = write(out -> {
+            out.writeInt(1);
+            out.writeUTF("a");
+            out.writeInt(Integer.MAX_VALUE);
+        });
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.read(file));
+    }
+
+    // Контрольная сумма верна, но смещений меньше n + 1
+    @Test
+    void rejectsInconsistentArraysWithValidChecksum() throws IOException {
+        Path file = write(out -> {
+            out.writeInt(2);
+            out.writeUTF("a");
+            out.writeUTF("b");
+            writeInts(out, 0, 1);
+            writeInts(out, 0, 0);
+            writeInts(out);
+            writeInts(out);
+            writeInts(out);
+            writeInts(out, 0, 0, 0);
+            writeInts(out);
+            writeInts(out);
+            writeInts(out);
+        });
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.read(file));
+    }
+
+    // Дуга вниз по рангу: запрос по такой иерархии мог бы не завершиться
+    @Test
+    void rejectsArcAgainstRankOrder() throws IOException {
+        Path file = write(out -> {
+            out.writeInt(2);
+            out.writeUTF("a");
+            out.writeUTF("b");
+            writeInts(out, 1, 0);
+            writeInts(out, 0, 1, 1);
+            writeInts(out, 1);
+            writeInts(out, 5);
+            writeInts(out, -1);
+            writeInts(out, 0, 0, 0);
+            writeInts(out);
+            writeInts(out);
+            writeInts(out);
+        });
+        assertThrows(IllegalArgumentException.class, () -> ContractionHierarchy.read(file));
+    }
+
+    private interface Body {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    // Файл в формате ContractionHierarchy.write с правильной контрольной суммой
+    private Path write(Body body) throws IOException {
+        Path file = Files.createTempFile(dir, "corrupt", ".ch");
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(Files.newOutputStream(file), crc))) {
+            out.writeInt(MAGIC);
+            out.writeInt(1);
+            body.write(out);
+            out.flush();
+            out.writeLong(crc.getValue());
+        }
+        return file;
+    }
+
+    private static void writeInts(DataOutputStream out, int... values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+}
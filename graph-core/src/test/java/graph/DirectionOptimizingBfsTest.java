@@ -0,0 +1,93 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class DirectionOptimizingBfsTest {
+    @Test
+    void levelsMatchCsrBfsDirected() {
+        check(randomGraph(true, 41), 41);
+    }
+
+    @Test
+    void levelsMatchCsrBfsUndirected() {
+        check(randomGraph(false, 42), 42);
+    }
+
+    // Средняя степень 8 на 20000 вершинах: фронт быстро набирает больше 1/14
+    // непросмотренных дуг, и обход переходит к шагам снизу вверх и обратно.
+    // Вершины с номерами от 19000 получают только входящие рёбра, так что в
+    // ориентированном графе часть вершин недостижима
+    private static CsrGraph<Integer> randomGraph(boolean directed, long seed) {
+        Random random = new Random(seed);
+        int n = 20000;
+        SimpleGraph<Integer> graph = new SimpleGraph<>(directed, n);
+        for (int v = 0; v < n; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < n * 8; e++) {
+            graph.addEdge(random.nextInt(19000), random.nextInt(n), 1);
+        }
+        return graph.toCsr();
+    }
+
+    private static void check(CsrGraph<Integer> graph, long seed) {
+        Random random = new Random(seed);
+        int n = graph.getVertexCount();
+        for (boolean parallel : new boolean[] {false, true}) {
+            DirectionOptimizingBfs bfs = new DirectionOptimizingBfs(graph, parallel);
+            for (int i = 0; i < 5; i++) {
+                int source = i == 0 ? graph.idOf(19500) : random.nextInt(n);
+                int[] expected = levels(graph, source);
+                int[] levels = new int[n];
+                int[] parents = new int[n];
+                int reached = bfs.run(source, levels, parents);
+
+                assertArrayEquals(expected, levels, "levels from " + source);
+                assertEquals(graph.bfsById(source).length, reached);
+                for (int v = 0; v < n; v++) {
+                    if (levels[v] <= 0) continue;
+                    int parent = parents[v];
+                    assertEquals(levels[v] - 1, levels[parent], "parent of " + v);
+                    assertTrue(hasArc(graph, parent, v), parent + " -> " + v);
+                }
+            }
+        }
+    }
+
+    // Обычный BFS с очередью по дугам CSR-снимка
+    private static int[] levels(CsrGraph<?> graph, int source) {
+        int n = graph.getVertexCount();
+        int[] levels = new int[n];
+        Arrays.fill(levels, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        levels[source] = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = graph.firstArc(u); a < graph.endArc(u); a++) {
+                int v = graph.target(a);
+                if (levels[v] < 0) {
+                    levels[v] = levels[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return levels;
+    }
+
+    private static boolean hasArc(CsrGraph<?> graph, int from, int to) {
+        for (int a = graph.firstArc(from); a < graph.endArc(from); a++) {
+            if (graph.target(a) == to) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class EdgeListLoaderTest {
+    // Повторы (в том числе в обратную сторону), петля и комментарии
+    private static final String EDGES = String.join("\n",
+        "# from to weight",
+        "a b 3",
+        "b c 4",
+        "a b 7",
+        "c c 2",
+        "b a 5",
+        "c;d;1",
+        "d\tb",
+        "c d 9",
+        "");
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void loadCsrMatchesSimpleGraphDirected() throws IOException {
+        loadCsrMatchesSimpleGraph(true);
+    }
+
+    @Test
+    void loadCsrMatchesSimpleGraphUndirected() throws IOException {
+        loadCsrMatchesSimpleGraph(false);
+    }
+
+    private void loadCsrMatchesSimpleGraph(boolean directed) throws IOException {
+        Path file = dir.resolve("edges.txt");
+        Files.write(file, EDGES.getBytes(StandardCharsets.UTF_8));
+
+        CsrGraph<String> expected = new EdgeListLoader().loadGraph(file, directed).toCsr();
+        CsrGraph<String> actual = new EdgeListLoader().loadCsr(file, directed);
+
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getArcCount(), actual.getArcCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        String[] names = {"a", "b", "c", "d"};
+        for (String from : names) {
+            assertEquals(expected.degree(expected.idOf(from)), actual.degree(actual.idOf(from)), from);
+            for (String to : names) {
+                assertEquals(expected.getEdgeWeight(from, to), actual.getEdgeWeight(from, to), from + " -> " + to);
+            }
+        }
+    }
+}
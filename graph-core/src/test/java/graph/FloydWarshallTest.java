@@ -0,0 +1,134 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class FloydWarshallTest {
+    // Размеры около BLOCK = 64 дают неполные и ровные блоки, 300 - параллельный путь
+    @Test
+    void negativeWeightsAroundBlockSize() {
+        for (int n : new int[] {1, 63, 64, 65}) {
+            check(potentialGraph(n, n), n);
+        }
+    }
+
+    @Test
+    void negativeWeightsParallel() {
+        check(potentialGraph(300, 8), 300);
+    }
+
+    // Длинные цепочки рёбер около 10^9: настоящие расстояния больше int,
+    // матрица прижимает их к INF - 1, не путая с "пути нет"
+    @Test
+    void saturatesLongDistances() {
+        Random random = new Random(91);
+        SimpleGraph<Integer> graph = new SimpleGraph<>(true);
+        for (int v = 0; v < 270; v++) {
+            graph.addVertex(v);
+        }
+        for (int v = 0; v + 1 < 260; v++) {
+            graph.addEdge(v, v + 1, 900_000_000 + random.nextInt(100_000_000));
+        }
+        for (int e = 0; e < 200; e++) {
+            graph.addEdge(random.nextInt(260), random.nextInt(260), random.nextInt(Integer.MAX_VALUE - 1));
+        }
+        check(graph, 20);
+    }
+
+    // Веса w(u, v) = c + p[u] - p[v] с c >= 0 (в том числе нулевые): отрицательных
+    // циклов нет. Последние вершины изолированы, поэтому в матрице есть и INF
+    private static SimpleGraph<Integer> potentialGraph(int vertices, long seed) {
+        Random random = new Random(seed);
+        int[] p = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            p[v] = random.nextInt(2000) - 1000;
+        }
+        SimpleGraph<Integer> graph = new SimpleGraph<>(seed % 2 == 0);
+        for (int v = 0; v < vertices; v++) {
+            graph.addVertex(v);
+        }
+        int connected = Math.max(1, vertices - 2);
+        for (int e = 0; e < connected * 3; e++) {
+            int from = random.nextInt(connected);
+            int to = random.nextInt(connected);
+            int c = random.nextInt(4) == 0 ? 0 : random.nextInt(50);
+            // В неориентированном графе ребро с отрицательным весом само по себе цикл
+            int weight = graph.isDirected() ? c + p[from] - p[to] : c;
+            graph.addEdge(from, to, weight);
+        }
+        return graph;
+    }
+
+    // Обе матрицы совпадают с тройным циклом; пути из next для первых
+    // pathRows строк идут по рёбрам и имеют длину из матрицы
+    private static void check(SimpleGraph<Integer> graph, int pathRows) {
+        MyArrayList<Integer> vertices = graph.getVertices();
+        int n = vertices.size();
+        int[][] expected = plainFloydWarshall(graph, vertices);
+
+        int[][] dist = graph.floydWarshall();
+        int[][] next = new int[n][];
+        int[][] distWithPaths = graph.floydWarshall(next);
+        for (int i = 0; i < n; i++) {
+            assertArrayEquals(expected[i], dist[i], "row " + i);
+            assertArrayEquals(expected[i], distWithPaths[i], "row with paths " + i);
+        }
+
+        for (int i = 0; i < Math.min(n, pathRows); i++) {
+            for (int j = 0; j < n; j++) {
+                Integer from = vertices.get(i);
+                Integer to = vertices.get(j);
+                MyArrayList<Integer> path = graph.getFloydWarshallPath(next, from, to);
+                if (expected[i][j] == FloydWarshall.INF) {
+                    assertEquals(0, path.size(), from + " -> " + to);
+                    continue;
+                }
+                assertEquals(from, path.get(0));
+                assertEquals(to, path.get(path.size() - 1));
+                long length = 0;
+                for (int k = 1; k < path.size(); k++) {
+                    Integer weight = graph.getEdgeWeight(path.get(k - 1), path.get(k));
+                    assertTrue(weight != null, "no edge " + path.get(k - 1) + " -> " + path.get(k));
+                    length += weight;
+                }
+                assertEquals(expected[i][j], Math.min(length, FloydWarshall.INF - 1), from + " -> " + to);
+            }
+        }
+    }
+
+    // Обычный Флойд-Уоршелл в long; расстояния за границей int прижимаются к INF - 1
+    private static int[][] plainFloydWarshall(SimpleGraph<Integer> graph, MyArrayList<Integer> vertices) {
+        int n = vertices.size();
+        long none = Long.MAX_VALUE;
+        long[][] d = new long[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                Integer weight = graph.getEdgeWeight(vertices.get(i), vertices.get(j));
+                d[i][j] = weight == null ? none : weight;
+            }
+            d[i][i] = Math.min(d[i][i], 0);
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                if (d[i][k] == none) continue;
+                for (int j = 0; j < n; j++) {
+                    if (d[k][j] != none && d[i][k] + d[k][j] < d[i][j]) {
+                        d[i][j] = d[i][k] + d[k][j];
+                    }
+                }
+            }
+        }
+        int[][] result = new int[n][n];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                result[i][j] = d[i][j] == none ? FloydWarshall.INF : (int) Math.min(d[i][j], FloydWarshall.INF - 1);
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,128 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class GraphExportTest {
+    @Test
+    void binaryEdgesRoundTripDirected() throws IOException {
+        roundTrip(true);
+    }
+
+    @Test
+    void binaryEdgesRoundTripUndirected() throws IOException {
+        roundTrip(false);
+    }
+
+    // Вершин достаточно, чтобы данные не поместились в один буфер канала
+    private void roundTrip(boolean directed) throws IOException {
+        Random random = new Random(directed ? 1 : 2);
+        SimpleGraph<String> graph = new SimpleGraph<>(directed);
+        for (int e = 0; e < 20000; e++) {
+            graph.addEdge("вершина " + random.nextInt(5000), "v," + random.nextInt(5000), random.nextInt() >> random.nextInt(32));
+        }
+        graph.addEdge("min", "max", Integer.MIN_VALUE);
+        graph.addEdge("max", "max", Integer.MAX_VALUE);
+        graph.addVertex("isolated");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        GraphExport.writeEdgesBinary(graph, Channels.newChannel(bytes));
+        SimpleGraph<String> read = GraphExport.readEdgesBinary(
+            Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(graph.isDirected(), read.isDirected());
+        assertEquals(graph.getVertexCount(), read.getVertexCount());
+        assertEquals(graph.getEdgeCount(), read.getEdgeCount());
+        MyArrayList<String> vertices = graph.getVertices();
+        for (int i = 0; i < vertices.size(); i++) {
+            String from = vertices.get(i);
+            assertTrue(read.containsVertex(from), from);
+            MyArrayList<String> adjacent = graph.getAdjacent(from);
+            for (int j = 0; j < adjacent.size(); j++) {
+                String to = adjacent.get(j);
+                assertEquals(graph.getEdgeWeight(from, to), read.getEdgeWeight(from, to), from + " -> " + to);
+            }
+        }
+    }
+
+    // Длина имени 1, записанная пятью байтами с лишним битом 32: раньше этот
+    // бит молча отбрасывался
+    @Test
+    void rejectsVarintWiderThanInt() {
+        ByteBuffer data = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        data.putInt(GraphExport.EDGES_MAGIC).putInt(GraphExport.VERSION).putInt(0).putInt(1);
+        data.put((byte) 0x81).put((byte) 0x80).put((byte) 0x80).put((byte) 0x80).put((byte) 0x10);
+        data.put((byte) 'a').put((byte) 0);
+        byte[] bytes = new byte[data.position()];
+        data.flip().get(bytes);
+        assertThrows(IllegalArgumentException.class,
+            () -> GraphExport.readEdgesBinary(Channels.newChannel(new ByteArrayInputStream(bytes))));
+    }
+
+    @Test
+    void csvQuotesSpecialNames() throws IOException {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a,b", "say \"hi\"", 1);
+        graph.addEdge("line\nbreak", "plain", -2);
+        StringWriter out = new StringWriter();
+        GraphExport.writeEdgesCsv(graph, out);
+
+        List<List<String>> rows = parseCsv(out.toString());
+        assertEquals(List.of("from", "to", "weight"), rows.get(0));
+        Set<List<String>> edges = new HashSet<>(rows.subList(1, rows.size()));
+        assertEquals(Set.of(List.of("a,b", "say \"hi\"", "1"), List.of("line\nbreak", "plain", "-2")), edges);
+        // Имя без особых символов в кавычки не берётся
+        assertTrue(out.toString().contains(",plain,-2\n"));
+    }
+
+    // Разбор CSV по RFC 4180: поле в кавычках может содержать запятые,
+    // переводы строк и удвоенные кавычки
+    private static List<List<String>> parseCsv(String text) {
+        List<List<String>> rows = new ArrayList<>();
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                row.add(field.toString());
+                field.setLength(0);
+                rows.add(row);
+                row = new ArrayList<>();
+            } else {
+                field.append(c);
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,134 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class GraphSnapshotTest {
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTrip() throws Exception {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 3);
+        graph.addEdge("b", "c", -1);
+        Path file = dir.resolve("graph.snap");
+        GraphSnapshot.write(graph, file);
+
+        MappedGraph mapped = GraphSnapshot.open(file, true);
+        assertEquals(3, mapped.getVertexCount());
+        assertEquals(Integer.valueOf(-1), mapped.getEdgeWeight("b", "c"));
+    }
+
+    // Огромное число вершин в заголовке раньше зацикливало tableSize
+    @Test
+    void rejectsOversizedVertexCount() throws Exception {
+        for (int n : new int[] {(1 << 30) + 1, Integer.MAX_VALUE, GraphSnapshot.MAX_VERTICES + 1, -1}) {
+            Path file = corruptHeader(n);
+            assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(file)));
+        }
+    }
+
+    // Без проверки CRC испорченные массивы всё равно отклоняются при открытии
+    @Test
+    void rejectsCorruptOffsetsWithoutChecksum() throws Exception {
+        Path file = corruptInt(0, 5);
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(file));
+        // offsets[1] больше числа дуг: следующее смещение обязательно меньше
+        Path decreasing = corruptInt(1, 3);
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(decreasing));
+    }
+
+    @Test
+    void rejectsTargetOutOfRangeWithoutChecksum() throws Exception {
+        // offsets[4], затем targets[0]
+        Path file = corruptInt(4, 3);
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(file));
+        Path negative = corruptInt(5, -1);
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(negative));
+    }
+
+    // Таблица имён без пустых ячеек: раньше open() проходил, а idOf для
+    // отсутствующего имени пробировал таблицу бесконечно
+    @Test
+    void rejectsNameTableWithoutEmptySlots() throws Exception {
+        // Словарь из 8 ячеек лежит после смещений, целей, весов и смещений имён
+        Path file = corruptInts(12, 20, 1);
+        assertTimeoutPreemptively(Duration.ofSeconds(5),
+            () -> assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(file)));
+    }
+
+    @Test
+    void rejectsNameTableWithMissingVertex() throws Exception {
+        Path file = dir.resolve("missing.snap");
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 3);
+        graph.addEdge("b", "c", 4);
+        GraphSnapshot.write(graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = 12; i < 20; i++) {
+            int pos = GraphSnapshot.HEADER_SIZE + i * 4;
+            if (buffer.getInt(pos) != 0) {
+                buffer.putInt(pos, 0);
+                break;
+            }
+        }
+        Files.write(file, bytes);
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.open(file));
+    }
+
+    @Test
+    void rejectsDuplicateVertexNames() {
+        SimpleGraph<Object> graph = new SimpleGraph<>(true);
+        graph.addEdge(1, "1", 1);
+        Path file = dir.resolve("names.snap");
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.write(graph, file));
+    }
+
+    @Test
+    void tableSizeRejectsOversizedCount() {
+        assertEquals(1 << 30, GraphSnapshot.tableSize(GraphSnapshot.MAX_VERTICES));
+        assertThrows(IllegalArgumentException.class, () -> GraphSnapshot.tableSize(GraphSnapshot.MAX_VERTICES + 1));
+    }
+
+    // Снимок графа a -> b -> c с заменённым int-ом номер index после заголовка
+    private Path corruptInt(int index, int value) throws Exception {
+        return corruptInts(index, index + 1, value);
+    }
+
+    // То же для int-ов с номерами из [from, to)
+    private Path corruptInts(int from, int to, int value) throws Exception {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 3);
+        graph.addEdge("b", "c", 4);
+        Path file = dir.resolve("corrupt-" + from + "-" + to + "-" + value + ".snap");
+        GraphSnapshot.write(graph, file);
+        byte[] bytes = Files.readAllBytes(file);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        for (int i = from; i < to; i++) {
+            buffer.putInt(GraphSnapshot.HEADER_SIZE + i * 4, value);
+        }
+        Files.write(file, bytes);
+        return file;
+    }
+
+    private Path corruptHeader(int n) throws Exception {
+        ByteBuffer header = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(GraphSnapshot.MAGIC).putInt(GraphSnapshot.VERSION).putInt(0).putInt(n);
+        Path file = dir.resolve("corrupt-" + n + ".snap");
+        Files.write(file, header.array());
+        return file;
+    }
+}
@@ -0,0 +1,67 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class GraphTraversalTest {
+    // Вершина 1 сначала снимается через 2 на глубине 2, а 5 лежит на глубине 2 через 0 -> 1
+    @Test
+    void depthLimitedDfsReachesVertexFoundByShorterPathLater() {
+        SimpleGraph<Integer> graph = new SimpleGraph<>(true);
+        for (int to : new int[] {4, 6, 7, 2, 1}) {
+            graph.addEdge(0, to, 1);
+        }
+        graph.addEdge(1, 5, 1);
+        graph.addEdge(2, 3, 1);
+        graph.addEdge(2, 1, 1);
+
+        Set<Integer> found = collect(new GraphTraversal<>(graph, 0, false, 2, null));
+        assertEquals(Set.of(0, 1, 2, 3, 4, 5, 6, 7), found);
+    }
+
+    // DFS с ограничением выдаёт ровно вершины не дальше maxDepth рёбер, каждую один раз
+    @Test
+    void depthLimitedDfsMatchesHopDistances() {
+        Random random = new Random(7);
+        for (int run = 0; run < 500; run++) {
+            SimpleGraph<Integer> graph = new SimpleGraph<>(run % 2 == 0);
+            int vertices = 2 + random.nextInt(12);
+            for (int v = 0; v < vertices; v++) {
+                graph.addVertex(v);
+            }
+            int edges = random.nextInt(vertices * 3);
+            for (int e = 0; e < edges; e++) {
+                graph.addEdge(random.nextInt(vertices), random.nextInt(vertices), 1);
+            }
+            int maxDepth = random.nextInt(4);
+
+            Set<Integer> expected = new HashSet<>();
+            GraphTraversal<Integer> bfs = new GraphTraversal<>(graph, 0, true, maxDepth, null);
+            while (bfs.hasNext()) {
+                expected.add(bfs.next());
+            }
+
+            GraphTraversal<Integer> dfs = new GraphTraversal<>(graph, 0, false, maxDepth, null);
+            Set<Integer> found = new HashSet<>();
+            while (dfs.hasNext()) {
+                assertTrue(found.add(dfs.next()), "вершина выдана дважды");
+                assertTrue(dfs.depth() <= maxDepth);
+            }
+            assertEquals(expected, found);
+        }
+    }
+
+    private static Set<Integer> collect(GraphTraversal<Integer> traversal) {
+        Set<Integer> result = new HashSet<>();
+        while (traversal.hasNext()) {
+            result.add(traversal.next());
+        }
+        return result;
+    }
+}
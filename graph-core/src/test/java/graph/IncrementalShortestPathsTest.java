@@ -0,0 +1,80 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IncrementalShortestPathsTest {
+    // Удаление ребра разрывает отрицательный цикл: матрица должна пересчитаться
+    @Test
+    void removingEdgeBreaksNegativeCycle() {
+        IncrementalShortestPaths<String> paths = new IncrementalShortestPaths<>(new SimpleGraph<>(true));
+        paths.addEdge("a", "b", -1);
+        paths.addEdge("b", "a", 0);
+        assertTrue(paths.hasNegativeCycle());
+
+        paths.removeEdge("b", "a");
+        assertFalse(paths.hasNegativeCycle());
+        assertEquals(IncrementalShortestPaths.INF, paths.distance("b", "a"));
+        assertEquals(-1, paths.distance("a", "b"));
+    }
+
+    @Test
+    void removingVertexBreaksNegativeCycle() {
+        IncrementalShortestPaths<String> paths = new IncrementalShortestPaths<>(new SimpleGraph<>(true));
+        paths.addEdge("a", "b", 2);
+        paths.addEdge("b", "c", -3);
+        paths.addEdge("c", "b", 1);
+        assertTrue(paths.hasNegativeCycle());
+
+        paths.removeVertex("c");
+        assertFalse(paths.hasNegativeCycle());
+        assertEquals(2, paths.distance("a", "b"));
+    }
+
+    // Случайные изменения с отрицательными весами сверяются с Флойдом-Уоршеллом с нуля
+    @Test
+    void matchesFreshFloydWarshall() {
+        Random random = new Random(1);
+        for (int run = 0; run < 300; run++) {
+            SimpleGraph<Integer> graph = new SimpleGraph<>(run % 3 != 0);
+            IncrementalShortestPaths<Integer> paths = new IncrementalShortestPaths<>(graph);
+            int vertices = 2 + random.nextInt(6);
+            for (int step = 0; step < 20; step++) {
+                int from = random.nextInt(vertices);
+                int to = random.nextInt(vertices);
+                switch (random.nextInt(4)) {
+                    case 0:
+                    case 1:
+                        if (from != to) paths.addEdge(from, to, random.nextInt(10) - 3);
+                        break;
+                    case 2:
+                        paths.removeEdge(from, to);
+                        break;
+                    default:
+                        paths.removeVertex(from);
+                }
+                assertMatches(graph, paths);
+            }
+        }
+    }
+
+    private static void assertMatches(SimpleGraph<Integer> graph, IncrementalShortestPaths<Integer> paths) {
+        int[][] expected = graph.floydWarshall();
+        boolean cycle = FloydWarshall.hasNegativeCycle(expected);
+        assertEquals(cycle, paths.hasNegativeCycle());
+        if (cycle) return;
+
+        MyArrayList<Integer> vertices = graph.getVertices();
+        for (int i = 0; i < vertices.size(); i++) {
+            for (int j = 0; j < vertices.size(); j++) {
+                assertEquals(expected[i][j], paths.distance(vertices.get(i), vertices.get(j)),
+                    vertices.get(i) + " -> " + vertices.get(j));
+            }
+        }
+    }
+}
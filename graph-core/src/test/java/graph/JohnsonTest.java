@@ -0,0 +1,92 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class JohnsonTest {
+    // Расстояние укладывается в int, а изменённое d + h[s] - h[v] - нет
+    @Test
+    void reweightedDistanceAboveIntRange() {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("s", "v", 1_000_000_000);
+        graph.addEdge("x", "v", -2_000_000_000);
+        assertMatchesFloydWarshall(graph);
+    }
+
+    // Маленький граф считается в одном потоке, большой - пачками в пуле
+    @Test
+    void matchesFloydWarshallSmall() {
+        assertMatchesFloydWarshall(randomGraph(40, 2));
+    }
+
+    @Test
+    void matchesFloydWarshallParallel() {
+        assertMatchesFloydWarshall(randomGraph(300, 3));
+    }
+
+    @Test
+    void undirectedNonNegative() {
+        Random random = new Random(4);
+        SimpleGraph<Integer> graph = new SimpleGraph<>(false);
+        for (int e = 0; e < 600; e++) {
+            graph.addEdge(random.nextInt(260), random.nextInt(260), random.nextInt(1_000_000_000));
+        }
+        assertMatchesFloydWarshall(graph);
+    }
+
+    @Test
+    void negativeCycleIsRejected() {
+        SimpleGraph<Integer> graph = randomGraph(300, 5);
+        graph.addEdge(7, 8, -1_000_000_000);
+        graph.addEdge(8, 7, 999_999_999);
+        assertTrue(FloydWarshall.hasNegativeCycle(graph.floydWarshall()));
+
+        assertThrows(IllegalStateException.class, graph::johnson);
+        assertThrows(IllegalStateException.class, () -> graph.johnson((source, row) -> { }, null));
+    }
+
+    // Веса w(u, v) = c + p[u] - p[v] с c >= 0: по модулю до 10^9, отрицательных
+    // циклов нет, а кратчайшие расстояния помещаются в int. Несколько вершин
+    // изолированы, поэтому в матрице есть и INF
+    private static SimpleGraph<Integer> randomGraph(int vertices, long seed) {
+        Random random = new Random(seed);
+        int[] p = new int[vertices];
+        for (int v = 0; v < vertices; v++) {
+            p[v] = random.nextInt(1_000_000_000) - 500_000_000;
+        }
+        SimpleGraph<Integer> graph = new SimpleGraph<>(true);
+        int connected = vertices - 3;
+        for (int v = 0; v < vertices; v++) {
+            graph.addVertex(v);
+        }
+        for (int e = 0; e < connected * 3; e++) {
+            int from = random.nextInt(connected);
+            int to = random.nextInt(connected);
+            graph.addEdge(from, to, random.nextInt(1000) + p[from] - p[to]);
+        }
+        return graph;
+    }
+
+    // johnson() и потоковый johnson(rows, progress) дают ту же матрицу, что floydWarshall()
+    private static <V> void assertMatchesFloydWarshall(SimpleGraph<V> graph) {
+        int[][] expected = graph.floydWarshall();
+        int[][] matrix = graph.johnson();
+        assertEquals(expected.length, matrix.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], matrix[i], "row " + i);
+        }
+
+        MyArrayList<V> vertices = graph.getVertices();
+        int[][] streamed = new int[vertices.size()][];
+        graph.johnson((source, row) -> streamed[vertices.indexOf(source)] = row.clone(), null);
+        for (int i = 0; i < expected.length; i++) {
+            assertArrayEquals(expected[i], streamed[i], "streamed row " + i);
+        }
+    }
+}
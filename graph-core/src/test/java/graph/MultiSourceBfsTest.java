@@ -0,0 +1,88 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class MultiSourceBfsTest {
+    @Test
+    void matchesSingleSourceBfsDirected() {
+        check(true, 51);
+    }
+
+    @Test
+    void matchesSingleSourceBfsUndirected() {
+        check(false, 52);
+    }
+
+    // 150 источников с повторами: при ширине в одно слово это три пачки, в два
+    // слова - две, причём последняя уже полной. 3000 вершин - три куска для
+    // параллельного шага снизу вверх
+    private static void check(boolean directed, long seed) {
+        Random random = new Random(seed);
+        int n = 3000;
+        SimpleGraph<Integer> simple = new SimpleGraph<>(directed, n);
+        for (int v = 0; v < n; v++) {
+            simple.addVertex(v);
+        }
+        for (int e = 0; e < n * 3; e++) {
+            simple.addEdge(random.nextInt(n - 100), random.nextInt(n), 1);
+        }
+        CsrGraph<Integer> graph = simple.toCsr();
+
+        int[] sources = new int[150];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = i % 7 == 3 ? sources[i - 1] : random.nextInt(n);
+        }
+        sources[sources.length - 1] = graph.idOf(n - 1);
+
+        int[][] expected = new int[sources.length][];
+        for (int i = 0; i < sources.length; i++) {
+            expected[i] = levels(graph, sources[i]);
+        }
+        for (int words : new int[] {1, 2, 3}) {
+            for (boolean parallel : new boolean[] {false, true}) {
+                int[][] hops = new MultiSourceBfs(graph, words, parallel).run(sources);
+                assertEquals(sources.length, hops.length);
+                for (int i = 0; i < sources.length; i++) {
+                    assertArrayEquals(expected[i], hops[i],
+                        "source " + sources[i] + " (#" + i + "), words " + words + ", parallel " + parallel);
+                }
+            }
+        }
+    }
+
+    @Test
+    void emptySourceListGivesNoRows() {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 1);
+        assertEquals(0, new MultiSourceBfs(graph.toCsr()).run(new int[0]).length);
+    }
+
+    // Обычный BFS с очередью по дугам CSR-снимка
+    private static int[] levels(CsrGraph<?> graph, int source) {
+        int n = graph.getVertexCount();
+        int[] levels = new int[n];
+        Arrays.fill(levels, -1);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = source;
+        levels[source] = 0;
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = graph.firstArc(u); a < graph.endArc(u); a++) {
+                int v = graph.target(a);
+                if (levels[v] < 0) {
+                    levels[v] = levels[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return levels;
+    }
+}
@@ -0,0 +1,140 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OffHeapGraphTest {
+    private static final int VERTICES = 80;
+    private static final int HUB = 0;
+
+    @Test
+    void randomChangesMatchSimpleGraphDirected() {
+        randomChanges(true, 21);
+    }
+
+    @Test
+    void randomChangesMatchSimpleGraphUndirected() {
+        randomChanges(false, 22);
+    }
+
+    // Вершина HUB получает почти каждое третье ребро, поэтому её строки
+    // переходят порог INDEXED_CLASS и обратно по мере удалений
+    private void randomChanges(boolean directed, long seed) {
+        Random random = new Random(seed);
+        SimpleGraph<Integer> expected = new SimpleGraph<>(directed);
+        try (OffHeapGraph<Integer> actual = new OffHeapGraph<>(directed)) {
+            for (int step = 1; step <= 6000; step++) {
+                int from = random.nextInt(3) == 0 ? HUB : random.nextInt(VERTICES);
+                int to = random.nextInt(VERTICES);
+                int op = random.nextInt(100);
+                if (op < 65) {
+                    int weight = random.nextInt(50);
+                    expected.addEdge(from, to, weight);
+                    actual.addEdge(from, to, weight);
+                } else if (op < 97) {
+                    expected.removeEdge(from, to);
+                    actual.removeEdge(from, to);
+                } else {
+                    expected.removeVertex(to);
+                    actual.removeVertex(to);
+                }
+                if (step % 500 == 0) assertSame(expected, actual, random);
+            }
+        }
+    }
+
+    // Удаление из середины проиндексированной строки переносит на его место
+    // последнюю дугу; её запись в хеш-таблице должна указывать на новую позицию
+    @Test
+    void removalMovesLastArcOfIndexedRow() {
+        int degree = 1 << (OffHeapRows.INDEXED_CLASS + 1);
+        try (OffHeapGraph<Integer> graph = new OffHeapGraph<>(true)) {
+            for (int v = 1; v <= degree; v++) {
+                graph.addEdge(HUB, v, v);
+            }
+            graph.removeEdge(HUB, 5);
+            graph.removeEdge(HUB, 1);
+            graph.removeEdge(HUB, degree);
+            for (int v = 1; v <= degree; v++) {
+                if (v == 1 || v == 5 || v == degree) {
+                    assertNull(graph.getEdgeWeight(HUB, v), "removed " + v);
+                } else {
+                    assertEquals(Integer.valueOf(v), graph.getEdgeWeight(HUB, v), "kept " + v);
+                }
+            }
+            assertEquals(degree - 3, graph.getEdgeCount());
+            assertEquals(degree - 3, graph.getAdjacent(HUB).size());
+        }
+    }
+
+    // Номер удалённой вершины переходит новой; старые рёбра к нему не возвращаются
+    @Test
+    void reusedVertexIdStartsEmpty() {
+        try (OffHeapGraph<String> graph = new OffHeapGraph<>(false)) {
+            graph.addEdge("a", "b", 1);
+            graph.addEdge("b", "c", 2);
+            graph.removeVertex("b");
+            graph.addVertex("d");
+            assertEquals(3, graph.getVertexCount());
+            assertEquals(0, graph.getEdgeCount());
+            assertNull(graph.getEdgeWeight("a", "d"));
+            assertEquals(0, graph.getAdjacent("d").size());
+            assertEquals(0, graph.getAdjacent("a").size());
+        }
+    }
+
+    @Test
+    void useAfterCloseThrows() {
+        OffHeapGraph<String> graph = new OffHeapGraph<>(true);
+        graph.addEdge("a", "b", 1);
+        graph.close();
+        graph.close();
+        assertEquals(0, graph.getOffHeapBytes());
+        assertThrows(IllegalStateException.class, () -> graph.addEdge("a", "c", 1));
+        assertThrows(IllegalStateException.class, () -> graph.removeEdge("a", "b"));
+        assertThrows(IllegalStateException.class, () -> graph.removeVertex("a"));
+        assertThrows(IllegalStateException.class, () -> graph.getEdgeWeight("a", "b"));
+        assertThrows(IllegalStateException.class, () -> graph.getAdjacent("a"));
+        assertThrows(IllegalStateException.class, () -> graph.getBFSResult("a"));
+        assertThrows(IllegalStateException.class, () -> graph.dijkstra("a"));
+        assertThrows(IllegalStateException.class, () -> graph.toCsr());
+    }
+
+    private static void assertSame(SimpleGraph<Integer> expected, OffHeapGraph<Integer> actual, Random random) {
+        assertEquals(expected.getVertexCount(), actual.getVertexCount());
+        assertEquals(expected.getEdgeCount(), actual.getEdgeCount());
+        for (int u = 0; u < VERTICES; u++) {
+            assertEquals(expected.containsVertex(u), actual.containsVertex(u));
+            for (int v = 0; v < VERTICES; v++) {
+                assertEquals(expected.getEdgeWeight(u, v), actual.getEdgeWeight(u, v), u + " -> " + v);
+            }
+        }
+        MyArrayList<Integer> vertices = expected.getVertices();
+        for (int i = 0; i < 5 && vertices.size() > 0; i++) {
+            Integer start = i == 0 && expected.containsVertex(HUB) ? HUB : vertices.get(random.nextInt(vertices.size()));
+            MyHashMap<Integer, Integer> distances = actual.dijkstra(start);
+            MyHashMap<Integer, Integer> expectedDistances = expected.dijkstra(start);
+            for (int j = 0; j < vertices.size(); j++) {
+                Integer v = vertices.get(j);
+                assertEquals(expectedDistances.get(v), distances.get(v), start + " -> " + v);
+            }
+            // Порядок соседей у графов разный, поэтому сравнивается множество посещённых
+            assertEquals(sorted(expected.getBFSResult(start)), sorted(actual.getBFSResult(start)), "BFS from " + start);
+        }
+    }
+
+    private static String sorted(MyArrayList<Integer> list) {
+        int[] values = new int[list.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = list.get(i);
+        }
+        Arrays.sort(values);
+        return Arrays.toString(values);
+    }
+}
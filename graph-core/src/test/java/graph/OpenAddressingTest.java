@@ -0,0 +1,52 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class OpenAddressingTest {
+    // Ключи из маленького диапазона: таблица остаётся плотной, удаления часто
+    // сдвигают цепочки, в том числе через конец массива
+    @Test
+    void bothMapsMatchHashMapUnderRandomChanges() {
+        Random random = new Random(61);
+        MyHashMap<Integer, Integer> boxed = new MyHashMap<>(0);
+        MyObjIntMap<Integer> primitive = new MyObjIntMap<>(0);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 50000; step++) {
+            int key = random.nextInt(step < 25000 ? 200 : 2000);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), boxed.remove(key));
+                primitive.remove(key);
+            } else {
+                int value = random.nextInt();
+                assertEquals(expected.put(key, value), boxed.put(key, value));
+                primitive.put(key, value);
+            }
+            if (step % 1000 == 0) {
+                assertEquals(expected.size(), boxed.size());
+                assertEquals(expected.size(), primitive.size());
+                for (int k = 0; k < 2000; k++) {
+                    Integer value = expected.get(k);
+                    assertEquals(value, boxed.get(k), "MyHashMap " + k);
+                    assertEquals(value == null ? -1 : value, primitive.get(k, -1), "MyObjIntMap " + k);
+                }
+            }
+        }
+    }
+
+    @Test
+    void nullKeyInMyHashMap() {
+        MyHashMap<String, Integer> map = new MyHashMap<>();
+        map.put(null, 1);
+        map.put("a", 2);
+        assertEquals(Integer.valueOf(1), map.get(null));
+        assertEquals(Integer.valueOf(1), map.remove(null));
+        assertEquals(null, map.get(null));
+        assertEquals(1, map.size());
+    }
+}
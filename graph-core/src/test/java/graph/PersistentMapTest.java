@@ -0,0 +1,141 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class PersistentMapTest {
+    // Ключ с заданным хешем, чтобы получать полные коллизии
+    private static final class Key {
+        final int id;
+        final int hash;
+
+        Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).id == id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public String toString() {
+            return "k" + id;
+        }
+    }
+
+    @Test
+    void collidingKeysAreKeptApart() {
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 5; i++) {
+            map = map.with(new Key(i, 7), i);
+        }
+        map = map.with(new Key(100, 8), 100);
+        map = map.with(new Key(2, 7), 20);
+        assertEquals(6, map.size());
+        assertEquals(Integer.valueOf(20), map.get(new Key(2, 7)));
+        assertNull(map.get(new Key(5, 7)));
+
+        map = map.without(new Key(0, 7)).without(new Key(3, 7)).without(new Key(42, 7));
+        assertEquals(4, map.size());
+        assertNull(map.get(new Key(0, 7)));
+        assertEquals(Integer.valueOf(1), map.get(new Key(1, 7)));
+        assertEquals(Integer.valueOf(4), map.get(new Key(4, 7)));
+        assertEquals(Integer.valueOf(100), map.get(new Key(100, 8)));
+    }
+
+    // Коллизия из двух ключей лежит уровнем ниже; после удаления одного из них
+    // оставшаяся пара должна подняться обратно в корень
+    @Test
+    void withoutCollapsesCollision() {
+        PersistentMap<Key, Integer> map = PersistentMap.<Key, Integer>empty()
+            .with(new Key(1, 7), 1)
+            .with(new Key(2, 7), 2);
+        assertEquals(2, map.depth());
+        map = map.without(new Key(1, 7));
+        assertEquals(1, map.depth());
+        assertEquals(Integer.valueOf(2), map.get(new Key(2, 7)));
+        map = map.without(new Key(2, 7));
+        assertEquals(0, map.depth());
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    void withoutCollapsesNestedNodes() {
+        PersistentMap<Integer, Integer> map = PersistentMap.empty();
+        for (int i = 0; i < 2000; i++) {
+            map = map.with(i, i);
+        }
+        for (int i = 0; i < 2000; i++) {
+            if (i != 1234) map = map.without(i);
+        }
+        assertEquals(1, map.size());
+        assertEquals(1, map.depth());
+        assertEquals(Integer.valueOf(1234), map.get(1234));
+    }
+
+    @Test
+    void unchangedMapIsReturnedAsIs() {
+        PersistentMap<String, Integer> map = PersistentMap.<String, Integer>empty().with("a", 1);
+        Integer one = map.get("a");
+        assertSame(map, map.with("a", one));
+        assertSame(map, map.without("b"));
+    }
+
+    // Каждая версия сравнивается со своей копией в HashMap после всех
+    // последующих with/without: старые версии не должны меняться
+    @Test
+    void oldVersionsStayUnchanged() {
+        Random random = new Random(5);
+        List<PersistentMap<Key, Integer>> versions = new ArrayList<>();
+        List<Map<Key, Integer>> expected = new ArrayList<>();
+        PersistentMap<Key, Integer> map = PersistentMap.empty();
+        Map<Key, Integer> reference = new HashMap<>();
+        for (int step = 0; step < 3000; step++) {
+            // Мало различных хешей: много коллизий и общих путей
+            int id = random.nextInt(300);
+            Key key = new Key(id, id % 40);
+            if (random.nextInt(3) == 0) {
+                map = map.without(key);
+                reference.remove(key);
+            } else {
+                int value = random.nextInt(1000);
+                map = map.with(key, value);
+                reference.put(key, value);
+            }
+            if (step % 50 == 0) {
+                versions.add(map);
+                expected.add(new HashMap<>(reference));
+            }
+        }
+        for (int i = 0; i < versions.size(); i++) {
+            assertContents(expected.get(i), versions.get(i));
+        }
+    }
+
+    private static void assertContents(Map<Key, Integer> expected, PersistentMap<Key, Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int id = 0; id < 300; id++) {
+            Key key = new Key(id, id % 40);
+            assertEquals(expected.get(key), actual.get(key), key.toString());
+        }
+        Map<Key, Integer> seen = new HashMap<>();
+        actual.forEach(seen::put);
+        assertEquals(expected, seen);
+    }
+}
@@ -0,0 +1,97 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import java.util.function.ToIntFunction;
+
+import org.junit.jupiter.api.Test;
+
+class PointToPointTest {
+    private static final int VERTICES = 60;
+
+    @Test
+    void matchesDijkstraDirected() {
+        matchesDijkstra(true, 31);
+    }
+
+    @Test
+    void matchesDijkstraUndirected() {
+        matchesDijkstra(false, 32);
+    }
+
+    // Разреженный граф: часть пар недостижима, а вершины v60 и v61 изолированы
+    private void matchesDijkstra(boolean directed, long seed) {
+        Random random = new Random(seed);
+        SimpleGraph<String> graph = new SimpleGraph<>(directed);
+        for (int e = 0; e < VERTICES * 2; e++) {
+            graph.addEdge("v" + random.nextInt(VERTICES), "v" + random.nextInt(VERTICES), random.nextInt(30));
+        }
+        graph.addVertex("v" + VERTICES);
+        graph.addVertex("v" + (VERTICES + 1));
+        LandmarkHeuristic<String> landmarks = new LandmarkHeuristic<>(graph.toCsr(), 4);
+
+        MyArrayList<String> vertices = graph.getVertices();
+        int unreachable = 0;
+        for (int i = 0; i < vertices.size(); i += 3) {
+            String from = vertices.get(i);
+            MyHashMap<String, Integer> expected = graph.dijkstra(from);
+            for (int j = 0; j < vertices.size(); j++) {
+                String to = vertices.get(j);
+                int distance = expected.get(to);
+                if (distance == PathResult.INF) unreachable++;
+                check(graph, from, to, distance, graph.shortestPath(from, to));
+                check(graph, from, to, distance, graph.shortestPath(from, to, landmarks.toward(to)));
+                check(graph, from, to, distance, graph.shortestPath(from, to, v -> 0));
+            }
+        }
+        assertTrue(unreachable > 0, "no unreachable pairs were tested");
+    }
+
+    @Test
+    void sameVertexAndMissingVertices() {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 2);
+        graph.addEdge("b", "a", 2);
+        ToIntFunction<String> zero = v -> 0;
+
+        PathResult<String> self = graph.shortestPath("a", "a");
+        assertEquals(0, self.getDistance());
+        assertEquals(1, self.getPath().size());
+        assertEquals("a", self.getPath().get(0));
+        assertEquals(0, graph.shortestPath("a", "a", zero).getDistance());
+
+        assertNotFound(graph.shortestPath("a", "x"));
+        assertNotFound(graph.shortestPath("x", "a"));
+        assertNotFound(graph.shortestPath("x", "x", zero));
+    }
+
+    private static void assertNotFound(PathResult<String> result) {
+        assertFalse(result.isFound());
+        assertEquals(0, result.getPath().size());
+    }
+
+    // Путь начинается в from, кончается в to, идёт по существующим рёбрам
+    // и имеет заявленную длину
+    private static void check(SimpleGraph<String> graph, String from, String to, int expected, PathResult<String> result) {
+        String pair = from + " -> " + to;
+        assertEquals(expected, result.getDistance(), pair);
+        MyArrayList<String> path = result.getPath();
+        if (expected == PathResult.INF) {
+            assertFalse(result.isFound(), pair);
+            assertEquals(0, path.size(), pair);
+            return;
+        }
+        assertEquals(from, path.get(0), pair);
+        assertEquals(to, path.get(path.size() - 1), pair);
+        long length = 0;
+        for (int i = 1; i < path.size(); i++) {
+            Integer weight = graph.getEdgeWeight(path.get(i - 1), path.get(i));
+            assertTrue(weight != null, pair + ": no edge " + path.get(i - 1) + " -> " + path.get(i));
+            length += weight;
+        }
+        assertEquals(expected, length, pair);
+    }
+}
@@ -0,0 +1,196 @@
+package graph;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class ShortestPathCacheTest {
+    // Вытесняется запись, к которой дольше всего не обращались, а не самая старая
+    @Test
+    void evictsLeastRecentlyUsedByCells() {
+        ShortestPathCache<String> cache = new ShortestPathCache<>(10);
+        Object a = new Object();
+        Object b = new Object();
+        Object c = new Object();
+        cache.put(0, ShortestPathCache.DIJKSTRA, "a", a, 4);
+        cache.put(0, ShortestPathCache.DIJKSTRA, "b", b, 4);
+        assertSame(a, cache.get(0, ShortestPathCache.DIJKSTRA, "a"));
+
+        cache.put(0, ShortestPathCache.DIJKSTRA, "c", c, 4);
+        assertEquals(1, cache.getEvictions());
+        assertEquals(8, cache.getUsedCells());
+        assertNull(cache.get(0, ShortestPathCache.DIJKSTRA, "b"));
+        assertSame(a, cache.get(0, ShortestPathCache.DIJKSTRA, "a"));
+        assertSame(c, cache.get(0, ShortestPathCache.DIJKSTRA, "c"));
+
+        // Одна большая запись вытесняет обе; запись больше всего кэша не сохраняется
+        cache.put(0, ShortestPathCache.FLOYD_WARSHALL, null, b, 9);
+        assertEquals(3, cache.getEvictions());
+        assertEquals(1, cache.size());
+        cache.put(0, ShortestPathCache.BELLMAN_FORD, "a", a, 11);
+        assertNull(cache.get(0, ShortestPathCache.BELLMAN_FORD, "a"));
+        assertEquals(9, cache.getUsedCells());
+
+        // Замена записи с тем же ключом освобождает её прежние ячейки
+        cache.put(0, ShortestPathCache.FLOYD_WARSHALL, null, c, 2);
+        assertEquals(2, cache.getUsedCells());
+        assertEquals(3, cache.getEvictions());
+    }
+
+    @Test
+    void newEpochDropsAllEntries() {
+        ShortestPathCache<String> cache = new ShortestPathCache<>(100);
+        cache.put(0, ShortestPathCache.DIJKSTRA, "a", "x", 4);
+        cache.put(0, ShortestPathCache.BELLMAN_FORD, "a", "y", 4);
+        assertEquals(2, cache.size());
+
+        assertNull(cache.get(1, ShortestPathCache.DIJKSTRA, "a"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getUsedCells());
+        assertEquals(1, cache.getInvalidations());
+        // Пустой кэш при смене эпохи сбросом не считается
+        assertNull(cache.get(2, ShortestPathCache.DIJKSTRA, "a"));
+        assertEquals(1, cache.getInvalidations());
+    }
+
+    @Test
+    void countsHitsMissesAndInvalidations() {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 1);
+        ShortestPathCache<String> cache = new ShortestPathCache<>(1000);
+        graph.setShortestPathCache(cache);
+
+        graph.dijkstra("a");
+        graph.dijkstra("a");
+        graph.bellmanFord("a");
+        graph.floydWarshall();
+        graph.floydWarshall();
+        assertEquals(2, cache.getHits());
+        assertEquals(3, cache.getMisses());
+        assertEquals(0.4, cache.getHitRate(), 1e-9);
+
+        graph.addEdge("b", "c", 2);
+        assertEquals(Integer.valueOf(3), graph.dijkstra("a").get("c"));
+        assertEquals(1, cache.getInvalidations());
+        assertEquals(4, cache.getMisses());
+        assertEquals(1, cache.size());
+
+        cache.clear();
+        assertEquals(0, cache.getHits());
+        assertEquals(0, cache.getMisses());
+        assertEquals(0, cache.size());
+    }
+
+    // Изменение выданных карт и матриц не портит записи кэша
+    @Test
+    void returnsCopies() {
+        SimpleGraph<String> graph = new SimpleGraph<>(true);
+        graph.addEdge("a", "b", 1);
+        graph.addEdge("b", "c", 2);
+        graph.setShortestPathCache(new ShortestPathCache<>(1000));
+
+        MyHashMap<String, String> predecessors = new MyHashMap<>();
+        MyHashMap<String, Integer> dist = graph.dijkstra("a", predecessors);
+        dist.put("c", -100);
+        predecessors.put("c", "a");
+        MyHashMap<String, String> again = new MyHashMap<>();
+        assertEquals(Integer.valueOf(3), graph.dijkstra("a", again).get("c"));
+        assertEquals("b", again.get("c"));
+
+        int a = graph.getVertices().indexOf("a");
+        int c = graph.getVertices().indexOf("c");
+        int[][] next = new int[3][];
+        int[][] matrix = graph.floydWarshall(next);
+        matrix[a][c] = -100;
+        next[a][c] = -1;
+        int[][] nextAgain = new int[3][];
+        int[][] matrixAgain = graph.floydWarshall(nextAgain);
+        assertEquals(3, matrixAgain[a][c]);
+        assertEquals(3, graph.getFloydWarshallPath(nextAgain, "a", "c").size());
+        assertTrue(graph.getShortestPathCache().getHits() >= 2);
+    }
+
+    @Test
+    void cacheBelongsToOneGraph() {
+        SimpleGraph<String> first = new SimpleGraph<>(true);
+        SimpleGraph<String> second = new SimpleGraph<>(true);
+        ShortestPathCache<String> cache = new ShortestPathCache<>(1000);
+        first.setShortestPathCache(cache);
+        first.setShortestPathCache(cache);
+
+        assertThrows(IllegalStateException.class, () -> second.setShortestPathCache(cache));
+        assertNull(second.getShortestPathCache());
+
+        first.setShortestPathCache(null);
+        second.setShortestPathCache(cache);
+        assertSame(cache, second.getShortestPathCache());
+    }
+
+    // Граф с маленьким кэшем (много вытеснений) и такой же граф без кэша
+    // после каждого случайного изменения отвечают одинаково
+    @Test
+    void matchesUncachedGraphUnderRandomChanges() {
+        Random random = new Random(81);
+        for (int run = 0; run < 20; run++) {
+            boolean directed = run % 2 == 0;
+            SimpleGraph<Integer> cached = new SimpleGraph<>(directed);
+            SimpleGraph<Integer> plain = new SimpleGraph<>(directed);
+            ShortestPathCache<Integer> cache = new ShortestPathCache<>(80);
+            cached.setShortestPathCache(cache);
+            int vertices = 8;
+            for (int step = 0; step < 150; step++) {
+                int from = random.nextInt(vertices);
+                int to = random.nextInt(vertices);
+                switch (random.nextInt(8)) {
+                    case 0:
+                        int weight = random.nextInt(20);
+                        cached.addEdge(from, to, weight);
+                        plain.addEdge(from, to, weight);
+                        break;
+                    case 1:
+                        cached.removeEdge(from, to);
+                        plain.removeEdge(from, to);
+                        break;
+                    case 2:
+                        cached.removeVertex(from);
+                        plain.removeVertex(from);
+                        break;
+                    default:
+                        compare(cached, plain, from);
+                }
+            }
+            assertTrue(cache.getHits() > 0);
+            assertTrue(cache.getEvictions() > 0);
+        }
+    }
+
+    private static void compare(SimpleGraph<Integer> cached, SimpleGraph<Integer> plain, int start) {
+        MyArrayList<Integer> vertices = plain.getVertices();
+        MyHashMap<Integer, Integer> expected = plain.dijkstra(start);
+        MyHashMap<Integer, Integer> dijkstra = cached.dijkstra(start);
+        MyHashMap<Integer, Integer> bellmanFord = cached.bellmanFord(start);
+        assertEquals(expected.size(), dijkstra.size());
+        for (int i = 0; i < vertices.size(); i++) {
+            Integer v = vertices.get(i);
+            assertEquals(expected.get(v), dijkstra.get(v), start + " -> " + v);
+            assertEquals(expected.get(v), bellmanFord.get(v), start + " -> " + v);
+        }
+
+        int[][] expectedMatrix = plain.floydWarshall();
+        int[][] matrix = cached.floydWarshall();
+        int[][] next = new int[vertices.size()][];
+        int[][] matrixWithPaths = cached.floydWarshall(next);
+        assertEquals(expectedMatrix.length, matrix.length);
+        for (int i = 0; i < expectedMatrix.length; i++) {
+            assertArrayEquals(expectedMatrix[i], matrix[i]);
+            assertArrayEquals(expectedMatrix[i], matrixWithPaths[i]);
+        }
+    }
+}
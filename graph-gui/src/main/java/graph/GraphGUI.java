@@ -0,0 +1,710 @@
+package graph;
+
+import javax.swing.*;
+import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+
+public class GraphGUI extends JFrame {
+    private SimpleGraph<String> graph;
+    private JTextArea outputArea;
+    private JTextField vertexField;
+    private JTextField fromField;
+    private JTextField toField;
+    private JTextField weightField;
+    private JProgressBar progressBar;
+    private JButton cancelBtn;
+    // Кнопки, которые отключаются на время фонового вычисления
+    private JButton[] graphButtons;
+    private AlgorithmTask currentTask;
+    
+    // Цвета для темной темы
+    private final Color DARK_BG = new Color(45, 45, 48);
+    private final Color DARK_PANEL = new Color(62, 62, 66);
+    private final Color TEXT_COLOR = new Color(241, 241, 241);
+    private final Color ACCENT_COLOR = new Color(0, 122, 204);
+    
+    public GraphGUI() {
+        String[] options = {"Неориентированный", "Ориентированный"};
+        int choice = JOptionPane.showOptionDialog(this,
+            "Выберите тип графа:",
+            "Тип графа",
+            JOptionPane.DEFAULT_OPTION,
+            JOptionPane.QUESTION_MESSAGE,
+            null,
+            options,
+            options[0]);
+        
+        boolean directed = (choice == 1);
+        graph = new SimpleGraph<>(directed);
+        // Повторные запросы путей на неизменённом графе берутся из кэша
+        graph.setShortestPathCache(new ShortestPathCache<>(1 << 20));
+        // Метрики видны в jconsole; сбор включается там же или -Dgraph.metrics=true
+        GraphMetrics.registerMBean();
+        publishMetrics();
+        
+        setupInterface();
+        setupDarkTheme();
+    }
+    
+    private void setupInterface() {
+        setTitle("Граф - Лабораторная работа");
+        setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+        setSize(800, 600);
+        setLocationRelativeTo(null);
+        
+        // Основная панель
+        JPanel mainPanel = new JPanel(new BorderLayout());
+        mainPanel.setBackground(DARK_BG);
+        
+        // Панель для ввода данных
+        JPanel inputPanel = new JPanel(new GridLayout(4, 2, 5, 5));
+        inputPanel.setBackground(DARK_BG);
+        inputPanel.setBorder(BorderFactory.createTitledBorder("Управление графом"));
+        
+        // Создаем поля ввода
+        vertexField = new JTextField();
+        fromField = new JTextField();
+        toField = new JTextField();
+        weightField = new JTextField();
+        
+        // Метки для полей
+        JLabel vertexLabel = new JLabel("Вершина:");
+        JLabel fromLabel = new JLabel("Из вершины:");
+        JLabel toLabel = new JLabel("В вершину:");
+        JLabel weightLabel = new JLabel("Вес:");
+        
+        inputPanel.add(vertexLabel);
+        inputPanel.add(vertexField);
+        inputPanel.add(fromLabel);
+        inputPanel.add(fromField);
+        inputPanel.add(toLabel);
+        inputPanel.add(toField);
+        inputPanel.add(weightLabel);
+        inputPanel.add(weightField);
+        
+        // Кнопки для работы с графом
+        JButton addVertexBtn = new JButton("Добавить вершину");
+        JButton addEdgeBtn = new JButton("Добавить ребро");
+        JButton removeVertexBtn = new JButton("Удалить вершину");
+        JButton removeEdgeBtn = new JButton("Удалить ребро");
+        
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 4, 5, 5));
+        buttonPanel.setBackground(DARK_BG);
+        buttonPanel.add(addVertexBtn);
+        buttonPanel.add(addEdgeBtn);
+        buttonPanel.add(removeVertexBtn);
+        buttonPanel.add(removeEdgeBtn);
+        
+        // Панель с алгоритмами
+        JPanel algoPanel = new JPanel(new GridLayout(2, 4, 5, 5));
+        algoPanel.setBackground(DARK_BG);
+        algoPanel.setBorder(BorderFactory.createTitledBorder("Алгоритмы"));
+        
+        JButton showMatrixBtn = new JButton("Матрица смежности");
+        JButton floydBtn = new JButton("Флойд-Уоршелл");
+        JButton bellmanBtn = new JButton("Беллман-Форд");
+        JButton dijkstraBtn = new JButton("Дейкстра");
+        JButton dfsBtn = new JButton("DFS обход");
+        JButton bfsBtn = new JButton("BFS обход");
+        JButton showGraphBtn = new JButton("Показать граф");
+        JButton exportBtn = new JButton("Экспорт");
+        
+        algoPanel.add(showMatrixBtn);
+        algoPanel.add(floydBtn);
+        algoPanel.add(bellmanBtn);
+        algoPanel.add(dijkstraBtn);
+        algoPanel.add(dfsBtn);
+        algoPanel.add(bfsBtn);
+        algoPanel.add(showGraphBtn);
+        algoPanel.add(exportBtn);
+        
+        // Область для вывода результатов
+        outputArea = new JTextArea();
+        outputArea.setEditable(false);
+        outputArea.setFont(new Font("Consolas", Font.PLAIN, 12));
+        JScrollPane scrollPane = new JScrollPane(outputArea);
+        scrollPane.setBorder(BorderFactory.createTitledBorder("Результаты"));
+        
+        // Ход фонового вычисления и его отмена
+        progressBar = new JProgressBar(0, 100);
+        progressBar.setStringPainted(true);
+        progressBar.setString("");
+        cancelBtn = new JButton("Отмена");
+        cancelBtn.setEnabled(false);
+        JPanel statusPanel = new JPanel(new BorderLayout(5, 5));
+        statusPanel.setBackground(DARK_BG);
+        statusPanel.add(progressBar, BorderLayout.CENTER);
+        statusPanel.add(cancelBtn, BorderLayout.EAST);
+        
+        // Собираем интерфейс
+        JPanel topPanel = new JPanel(new BorderLayout());
+        topPanel.setBackground(DARK_BG);
+        topPanel.add(inputPanel, BorderLayout.NORTH);
+        topPanel.add(buttonPanel, BorderLayout.CENTER);
+        topPanel.add(algoPanel, BorderLayout.SOUTH);
+        
+        mainPanel.add(topPanel, BorderLayout.NORTH);
+        mainPanel.add(scrollPane, BorderLayout.CENTER);
+        mainPanel.add(statusPanel, BorderLayout.SOUTH);
+        
+        add(mainPanel);
+        
+        // Назначаем действия для кнопок
+        addVertexBtn.addActionListener(e -> addVertex());
+        addEdgeBtn.addActionListener(e -> addEdge());
+        removeVertexBtn.addActionListener(e -> removeVertex());
+        removeEdgeBtn.addActionListener(e -> removeEdge());
+        showMatrixBtn.addActionListener(e -> showAdjacencyMatrix());
+        floydBtn.addActionListener(e -> showFloydWarshall());
+        bellmanBtn.addActionListener(e -> showBellmanFord());
+        dijkstraBtn.addActionListener(e -> showDijkstra());
+        dfsBtn.addActionListener(e -> doDFS());
+        bfsBtn.addActionListener(e -> doBFS());
+        showGraphBtn.addActionListener(e -> showGraphInfo());
+        exportBtn.addActionListener(e -> exportGraph());
+        cancelBtn.addActionListener(e -> {
+            if (currentTask != null) currentTask.cancel(true);
+        });
+        
+        graphButtons = new JButton[] {addVertexBtn, addEdgeBtn, removeVertexBtn, removeEdgeBtn,
+            showMatrixBtn, floydBtn, bellmanBtn, dijkstraBtn, dfsBtn, bfsBtn, showGraphBtn, exportBtn};
+    }
+    
+    private void setupDarkTheme() {
+        Color darkPanel = new Color(62, 62, 66);
+        Color textColor = new Color(241, 241, 241);
+        
+        // Настраиваем внешний вид полей ввода
+        vertexField.setBackground(darkPanel);
+        vertexField.setForeground(textColor);
+        vertexField.setCaretColor(textColor);
+        
+        fromField.setBackground(darkPanel);
+        fromField.setForeground(textColor);
+        fromField.setCaretColor(textColor);
+        
+        toField.setBackground(darkPanel);
+        toField.setForeground(textColor);
+        toField.setCaretColor(textColor);
+        
+        weightField.setBackground(darkPanel);
+        weightField.setForeground(textColor);
+        weightField.setCaretColor(textColor);
+        
+        // Настраиваем текстовую область
+        outputArea.setBackground(darkPanel);
+        outputArea.setForeground(textColor);
+        outputArea.setCaretColor(textColor);
+        
+        // Применяем тему ко всем компонентам
+        applyThemeToComponents(getContentPane().getComponents());
+        
+        // Настраиваем скролл панель
+        JScrollPane scrollPane = (JScrollPane) ((JPanel) getContentPane().getComponent(0)).getComponent(1);
+        scrollPane.getViewport().setBackground(darkPanel);
+    }
+    
+    private void applyThemeToComponents(Component[] components) {
+        for (Component component : components) {
+            if (component instanceof JPanel) {
+                JPanel panel = (JPanel) component;
+                panel.setBackground(DARK_BG);
+                applyThemeToComponents(panel.getComponents());
+            } else if (component instanceof JButton) {
+                JButton button = (JButton) component;
+                button.setBackground(ACCENT_COLOR);
+                button.setForeground(TEXT_COLOR);
+                button.setFocusPainted(false);
+            } else if (component instanceof JLabel) {
+                JLabel label = (JLabel) component;
+                label.setForeground(TEXT_COLOR);
+            } else if (component instanceof JScrollPane) {
+                JScrollPane scrollPane = (JScrollPane) component;
+                scrollPane.getViewport().setBackground(DARK_PANEL);
+            }
+        }
+    }
+    
+    private void addVertex() {
+        String vertex = vertexField.getText().trim();
+        if (vertex.isEmpty()) {
+            showError("Введите название вершины");
+            return;
+        }
+        
+        if (graph.containsVertex(vertex)) {
+            showError("Вершина " + vertex + " уже существует");
+            return;
+        }
+        
+        graph.addVertex(vertex);
+        publishMetrics();
+        outputArea.append("Добавлена вершина: " + vertex + "\n");
+        vertexField.setText("");
+    }
+    
+    private void addEdge() {
+        String from = fromField.getText().trim();
+        String to = toField.getText().trim();
+        String weightStr = weightField.getText().trim();
+        
+        if (from.isEmpty() || to.isEmpty() || weightStr.isEmpty()) {
+            showError("Заполните все поля для ребра");
+            return;
+        }
+        
+        try {
+            int weight = Integer.parseInt(weightStr);
+            
+            if (!graph.containsVertex(from)) {
+                showError("Вершина " + from + " не существует");
+                return;
+            }
+            
+            if (!graph.containsVertex(to)) {
+                showError("Вершина " + to + " не существует");
+                return;
+            }
+            
+            graph.addEdge(from, to, weight);
+            publishMetrics();
+            outputArea.append("Добавлено ребро: " + from + " - " + to + " (вес: " + weight + ")\n");
+            
+            fromField.setText("");
+            toField.setText("");
+            weightField.setText("");
+            
+        } catch (NumberFormatException e) {
+            showError("Вес должен быть числом");
+        }
+    }
+    
+    private void removeVertex() {
+        String vertex = vertexField.getText().trim();
+        if (vertex.isEmpty()) {
+            showError("Введите название вершины для удаления");
+            return;
+        }
+        
+        if (!graph.containsVertex(vertex)) {
+            showError("Вершина " + vertex + " не существует");
+            return;
+        }
+        
+        graph.removeVertex(vertex);
+        publishMetrics();
+        outputArea.append("Удалена вершина: " + vertex + "\n");
+        vertexField.setText("");
+    }
+    
+    private void removeEdge() {
+        String from = fromField.getText().trim();
+        String to = toField.getText().trim();
+        
+        if (from.isEmpty() || to.isEmpty()) {
+            showError("Заполните поля Из вершины и В вершину");
+            return;
+        }
+        
+        if (!graph.containsEdge(from, to)) {
+            showError("Ребро " + from + " - " + to + " не существует");
+            return;
+        }
+        
+        graph.removeEdge(from, to);
+        publishMetrics();
+        outputArea.append("Удалено ребро: " + from + " - " + to + "\n");
+        
+        fromField.setText("");
+        toField.setText("");
+    }
+    
+    private void showAdjacencyMatrix() {
+        if (graph.getVertexCount() == 0) {
+            showError("Граф пустой. Добавьте вершины");
+            return;
+        }
+        
+        MyArrayList<String> vertices = graph.getVertices();
+        showMatrixWindow("Матрица смежности", MatrixTableModel.adjacency(graph, vertices));
+        outputArea.append("Матрица смежности " + vertices.size() + " x " + vertices.size() + " открыта в отдельном окне\n");
+    }
+    
+    private void showFloydWarshall() {
+        if (graph.getVertexCount() == 0) {
+            showError("Граф пустой. Добавьте вершины");
+            return;
+        }
+        
+        runTask(new AlgorithmTask("Флойд-Уоршелл") {
+            private MyArrayList<String> vertices;
+            private int[][] dist;
+            
+            protected void compute() {
+                vertices = graph.getVertices();
+                dist = graph.floydWarshall(null, this);
+                if (FloydWarshall.hasNegativeCycle(dist)) {
+                    publish("\nВнимание: в графе есть цикл отрицательного веса, расстояния некорректны\n");
+                }
+            }
+            
+            protected void succeeded() {
+                showMatrixWindow("Кратчайшие пути (Флойд-Уоршелл)", MatrixTableModel.distances(vertices, dist));
+                outputArea.append("Матрица кратчайших путей " + vertices.size() + " x " + vertices.size()
+                    + " открыта в отдельном окне\n");
+            }
+        });
+    }
+    
+    // Окно с таблицей матрицы: имена вершин в заголовках строк и столбцов
+    // остаются на месте при прокрутке, ячейки рисуются только видимые
+    private void showMatrixWindow(String title, MatrixTableModel model) {
+        JTable table = new JTable(model);
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.setCellSelectionEnabled(true);
+        table.setBackground(DARK_PANEL);
+        table.setForeground(TEXT_COLOR);
+        table.setGridColor(DARK_BG);
+        for (int i = 0; i < model.getColumnCount(); i++) {
+            table.getColumnModel().getColumn(i).setPreferredWidth(60);
+        }
+        
+        JList<String> rowHeader = new JList<>(new AbstractListModel<String>() {
+            public int getSize() {
+                return model.getRowCount();
+            }
+            
+            public String getElementAt(int index) {
+                return model.getRowName(index);
+            }
+        });
+        rowHeader.setFixedCellWidth(80);
+        rowHeader.setFixedCellHeight(table.getRowHeight());
+        rowHeader.setBackground(DARK_BG);
+        rowHeader.setForeground(TEXT_COLOR);
+        
+        JScrollPane scrollPane = new JScrollPane(table);
+        scrollPane.setRowHeaderView(rowHeader);
+        scrollPane.getViewport().setBackground(DARK_PANEL);
+        
+        JFrame frame = new JFrame(title + " (" + model.getRowCount() + " x " + model.getColumnCount() + ")");
+        frame.setDefaultCloseOperation(JFrame.DISPOSE_ON_CLOSE);
+        frame.add(scrollPane);
+        frame.setSize(700, 500);
+        frame.setLocationRelativeTo(this);
+        frame.setVisible(true);
+    }
+    
+    private void showBellmanFord() {
+        if (graph.getVertexCount() == 0) {
+            showError("Граф пустой. Добавьте вершины");
+            return;
+        }
+        
+        String start = JOptionPane.showInputDialog(this, "Введите стартовую вершину для Беллман-Форда:");
+        if (start != null && !start.trim().isEmpty()) {
+            String source = start.trim();
+            if (!graph.containsVertex(source)) {
+                showError("Вершина " + start + " не существует");
+                return;
+            }
+            
+            runTask(new AlgorithmTask("Беллман-Форд") {
+                protected void compute() {
+                    MyHashMap<String, Integer> distances = new MyHashMap<>(graph.getVertexCount());
+                    MyArrayList<String> cycle = graph.findNegativeCycle(source, distances, this);
+                    if (!cycle.isEmpty()) {
+                        StringBuilder sb = new StringBuilder();
+                        sb.append("\nИз ").append(source).append(" достижим цикл отрицательного веса: ");
+                        for (int i = 0; i < cycle.size(); i++) {
+                            sb.append(cycle.get(i)).append(" -> ");
+                        }
+                        sb.append(cycle.get(0)).append("\n\n");
+                        publish(sb.toString());
+                        return;
+                    }
+                    publish("\nКратчайшие пути (Беллман-Форд) из " + source + ":\n");
+                    publishDistances(source, distances, null);
+                }
+            });
+        }
+    }
+    
+    private void showDijkstra() {
+        if (graph.getVertexCount() == 0) {
+            showError("Граф пустой. Добавьте вершины");
+            return;
+        }
+        
+        String start = JOptionPane.showInputDialog(this, "Введите стартовую вершину для Дейкстры:");
+        if (start != null && !start.trim().isEmpty()) {
+            String source = start.trim();
+            if (!graph.containsVertex(source)) {
+                showError("Вершина " + start + " не существует");
+                return;
+            }
+            
+            runTask(new AlgorithmTask("Дейкстра") {
+                protected void compute() {
+                    MyHashMap<String, String> predecessors = new MyHashMap<>();
+                    MyHashMap<String, Integer> distances = graph.dijkstra(source, predecessors, this);
+                    publish("\nКратчайшие пути (Дейкстра) из " + source + ":\n");
+                    publishDistances(source, distances, predecessors);
+                }
+            });
+        }
+    }
+    
+    private void doDFS() {
+        String start = JOptionPane.showInputDialog(this, "Введите стартовую вершину для DFS:");
+        if (start != null && !start.trim().isEmpty()) {
+            runTraversal("DFS", start, graph.dfsIterator(start.trim()));
+        }
+    }
+    
+    private void doBFS() {
+        String start = JOptionPane.showInputDialog(this, "Введите стартовую вершину для BFS:");
+        if (start != null && !start.trim().isEmpty()) {
+            runTraversal("BFS", start, graph.bfsIterator(start.trim()));
+        }
+    }
+    
+    // Вершины обхода выводятся порциями по мере выдачи итератором
+    private void runTraversal(String name, String start, GraphTraversal<String> traversal) {
+        runTask(new AlgorithmTask(name) {
+            protected void compute() {
+                int total = graph.getVertexCount();
+                StringBuilder sb = new StringBuilder(name + " обход из " + start + ": ");
+                int count = 0;
+                while (traversal.hasNext()) {
+                    if (count > 0) sb.append(" -> ");
+                    sb.append(traversal.next());
+                    count++;
+                    if ((count & IdGraphAlgorithms.REPORT_MASK) == 0) {
+                        IdGraphAlgorithms.report(this, count, total);
+                        publish(sb.toString());
+                        sb.setLength(0);
+                    }
+                }
+                sb.append("\n");
+                publish(sb.toString());
+            }
+        });
+    }
+    
+    private void showGraphInfo() {
+        outputArea.append("\n=== Информация о графе ===\n");
+        outputArea.append("Тип: " + (graph.isDirected() ? "Ориентированный" : "Неориентированный") + "\n");
+        outputArea.append("Вершин: " + graph.getVertexCount() + "\n");
+        outputArea.append("Ребер: " + graph.getEdgeCount() + "\n");
+        outputArea.append(graph.getShortestPathCache() + "\n");
+        if (GraphMetrics.isEnabled()) {
+            publishMetrics();
+            outputArea.append(GraphMetrics.snapshot() + "\n");
+        }
+        outputArea.append("Вершины: " + graph.getVertices() + "\n");
+        
+        MyArrayList<String> vertices = graph.getVertices();
+        for (int i = 0; i < vertices.size(); i++) {
+            String vertex = vertices.get(i);
+            outputArea.append("Смежные с " + vertex + ": " + graph.getAdjacent(vertex) + "\n");
+        }
+        outputArea.append("==========================\n\n");
+    }
+    
+    // Выгрузка в файл потоком, без сборки всего текста в памяти
+    private void exportGraph() {
+        if (graph.getVertexCount() == 0) {
+            showError("Граф пустой. Добавьте вершины");
+            return;
+        }
+        
+        String[] formats = {"Рёбра (CSV)", "Матрица смежности (CSV)", "Флойд-Уоршелл (CSV)", "Граф (DOT)", "Рёбра (двоичный)"};
+        int format = JOptionPane.showOptionDialog(this, "Выберите формат:", "Экспорт",
+            JOptionPane.DEFAULT_OPTION, JOptionPane.QUESTION_MESSAGE, null, formats, formats[0]);
+        if (format < 0) return;
+        
+        String[] extensions = {"csv", "csv", "csv", "dot", "bin"};
+        JFileChooser chooser = new JFileChooser();
+        chooser.setSelectedFile(new File("graph." + extensions[format]));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) return;
+        Path file = chooser.getSelectedFile().toPath();
+        
+        runTask(new AlgorithmTask("Экспорт") {
+            protected void compute() throws IOException {
+                if (format == 4) {
+                    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                            StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        GraphExport.writeEdgesBinary(graph, channel);
+                    }
+                } else {
+                    try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+                        if (format == 0) {
+                            GraphExport.writeEdgesCsv(graph, writer);
+                        } else if (format == 1) {
+                            GraphExport.writeAdjacencyCsv(graph, writer);
+                        } else if (format == 2) {
+                            GraphExport.writeDistanceMatrixCsv(graph.getVertices(), graph.floydWarshall(null, this), writer);
+                        } else {
+                            GraphExport.writeDot(graph, writer);
+                        }
+                    }
+                }
+                publish(formats[format] + " сохранено в " + file + "\n");
+            }
+        });
+    }
+    
+    // Запуск фоновой задачи; пока она идёт, граф не меняется: кнопки отключены
+    private void runTask(AlgorithmTask task) {
+        currentTask = task;
+        setButtonsEnabled(false);
+        cancelBtn.setEnabled(true);
+        progressBar.setIndeterminate(true);
+        progressBar.setString(task.name);
+        task.addPropertyChangeListener(e -> {
+            if ("progress".equals(e.getPropertyName()) && task == currentTask) {
+                progressBar.setIndeterminate(false);
+                progressBar.setValue((Integer) e.getNewValue());
+            }
+        });
+        task.execute();
+    }
+    
+    private void finishTask(AlgorithmTask task) {
+        if (task != currentTask) return;
+        currentTask = null;
+        setButtonsEnabled(true);
+        cancelBtn.setEnabled(false);
+        progressBar.setIndeterminate(false);
+        progressBar.setValue(0);
+        progressBar.setString("");
+    }
+    
+    private void setButtonsEnabled(boolean enabled) {
+        for (JButton button : graphButtons) {
+            button.setEnabled(enabled);
+        }
+    }
+    
+    // Алгоритм в фоновом потоке. Сам алгоритм получает задачу как AlgorithmProgress:
+    // отчёты двигают индикатор, а отмена (cancel(true)) прерывает вычисление
+    // на ближайшей проверке. Готовые части результата передаются через publish
+    // и дописываются в область вывода по мере вычисления
+    private abstract class AlgorithmTask extends SwingWorker<Void, String> implements AlgorithmProgress {
+        final String name;
+        // Запущен ли compute(); после отмены кнопки включаются только когда
+        // фоновый поток действительно перестал читать граф
+        private boolean running;
+        
+        AlgorithmTask(String name) {
+            this.name = name;
+        }
+        
+        protected abstract void compute() throws IOException;
+        
+        // Вызывается в потоке интерфейса после успешного завершения compute()
+        protected void succeeded() {
+        }
+        
+        protected Void doInBackground() throws IOException {
+            synchronized (this) {
+                if (isCancelled()) return null;
+                running = true;
+            }
+            try {
+                compute();
+            } finally {
+                SwingUtilities.invokeLater(() -> finishTask(this));
+            }
+            return null;
+        }
+        
+        public void update(long done, long total) {
+            if (total > 0) setProgress((int) Math.min(100, done * 100 / total));
+        }
+        
+        // Расстояния (и пути, если predecessors != null) порциями по REPORT_MASK + 1 строк
+        void publishDistances(String source, MyHashMap<String, Integer> distances, MyHashMap<String, String> predecessors) {
+            MyArrayList<MyHashMap.Entry<String, Integer>> entries = distances.entrySet();
+            StringBuilder sb = new StringBuilder();
+            for (int i = 0; i < entries.size(); i++) {
+                MyHashMap.Entry<String, Integer> entry = entries.get(i);
+                sb.append("До ").append(entry.key).append(": ");
+                if (entry.value == Integer.MAX_VALUE) {
+                    sb.append("INF\n");
+                } else if (predecessors == null) {
+                    sb.append(entry.value).append("\n");
+                } else {
+                    MyArrayList<String> path = graph.buildPath(predecessors, source, entry.key);
+                    sb.append(entry.value).append(" (путь: ");
+                    for (int j = 0; j < path.size(); j++) {
+                        sb.append(path.get(j));
+                        if (j < path.size() - 1) {
+                            sb.append(" -> ");
+                        }
+                    }
+                    sb.append(")\n");
+                }
+                if (((i + 1) & IdGraphAlgorithms.REPORT_MASK) == 0) {
+                    IdGraphAlgorithms.report(this, i + 1, entries.size());
+                    publish(sb.toString());
+                    sb.setLength(0);
+                }
+            }
+            publish(sb.append("\n").toString());
+        }
+        
+        protected void process(List<String> chunks) {
+            // После отмены хвост результата уже не нужен
+            if (isCancelled()) return;
+            for (String chunk : chunks) {
+                outputArea.append(chunk);
+            }
+        }
+        
+        protected void done() {
+            try {
+                get();
+                succeeded();
+            } catch (CancellationException e) {
+                outputArea.append("\n" + name + ": вычисление отменено\n");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                showError(cause.getMessage() != null ? cause.getMessage() : "Ошибка при выполнении: " + name);
+            }
+            synchronized (this) {
+                // Задачу отменили до запуска: compute() не выполнялся
+                if (!running) finishTask(this);
+            }
+        }
+    }
+    
+    // Оценка памяти графа для JMX считается здесь, в потоке событий, который
+    // владеет графом; MBean видит только опубликованный результат
+    private void publishMetrics() {
+        if (GraphMetrics.isEnabled()) GraphMetrics.publishMemory(graph);
+    }
+    
+    private void showError(String message) {
+        JOptionPane.showMessageDialog(this, message, "Ошибка", JOptionPane.ERROR_MESSAGE);
+    }
+    
+    public static void main(String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            new GraphGUI().setVisible(true);
+        });
+    }
+}
\ No newline at end of file
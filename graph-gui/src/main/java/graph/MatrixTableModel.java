@@ -0,0 +1,59 @@
+package graph;
+
+import javax.swing.table.AbstractTableModel;
+
+// Модель таблицы n x n для просмотра матриц графа. Значения ячеек нигде не
+// копируются и не превращаются в строки заранее: JTable запрашивает только
+// видимые ячейки, и модель вычисляет их в момент отрисовки. Поэтому окно с
+// матрицей на тысячи вершин открывается сразу и прокручивается плавно
+class MatrixTableModel extends AbstractTableModel {
+    // Источник значения ячейки (row, column)
+    interface Cells {
+        Object get(int row, int column);
+    }
+
+    private final MyArrayList<String> vertices;
+    private final Cells cells;
+
+    MatrixTableModel(MyArrayList<String> vertices, Cells cells) {
+        this.vertices = vertices;
+        this.cells = cells;
+    }
+
+    // Матрица смежности: вес ребра берётся из графа при отрисовке ячейки (0 - ребра нет).
+    // Список вершин фиксируется при открытии, веса всегда текущие
+    static MatrixTableModel adjacency(SimpleGraph<String> graph, MyArrayList<String> vertices) {
+        return new MatrixTableModel(vertices, (row, column) -> {
+            Integer weight = graph.getEdgeWeight(vertices.get(row), vertices.get(column));
+            return weight != null ? weight : 0;
+        });
+    }
+
+    // Готовая матрица расстояний; номера строк и столбцов - индексы в vertices
+    static MatrixTableModel distances(MyArrayList<String> vertices, int[][] dist) {
+        return new MatrixTableModel(vertices, (row, column) -> {
+            int d = dist[row][column];
+            return d == FloydWarshall.INF ? "INF" : d;
+        });
+    }
+
+    public int getRowCount() {
+        return vertices.size();
+    }
+
+    public int getColumnCount() {
+        return vertices.size();
+    }
+
+    public String getColumnName(int column) {
+        return vertices.get(column);
+    }
+
+    public Object getValueAt(int row, int column) {
+        return cells.get(row, column);
+    }
+
+    String getRowName(int row) {
+        return vertices.get(row);
+    }
+}